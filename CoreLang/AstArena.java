@@ -0,0 +1,307 @@
+package CoreLang;
+
+import static CoreLang.Core.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import CoreLang.Symbol.SymbolType;
+
+/* This class stores the nodes of a parse tree
+ * in parallel int arrays instead of one object
+ * per node.
+ * Each node has a kind, its first child, its next
+ * sibling, and a payload. Non-terminal nodes use
+ * the ordinal of their SymbolType as their kind.
+ * Terminal nodes use TERMINAL plus the ordinal of
+ * their Core token, so punctuation and keywords
+ * are stored as a kind alone and no String is
+ * kept for them. The payload is the NameTable ID
+ * of the name of an ID terminal, the NameTable ID
+ * of the quoted value of a STRING terminal, and
+ * the value of a CONST terminal.
+ * Both parsers add nodes to the arena directly.
+ * The Symbol objects of the tree are views of
+ * the nodes: a new view is built every time one
+ * is asked for, and only the view of the root and
+ * the views the Specializer replaced nodes with
+ * are kept in the arena.
+ * Once the tree is finished, the Resolver gives
+ * each node a slot: the frame slot of the variable
+ * an ID terminal names, the number of slots the
+ * frame of a procedure or function node needs, or
+ * the number of objects a stmt-seq node of an if
+ * or loop statement declares in its scope. An
+ * ID terminal is also marked if it names an integer
+ * variable, since integers and objects are kept in
+ * separate arrays of a frame. */
+public class AstArena{
+	public static final int TERMINAL = SymbolType.Terminal.ordinal();
+	public static final int NO_SLOT = Integer.MIN_VALUE;
+	private static final int NONE = -1;
+	private static final SymbolType[] TYPES = SymbolType.values();
+	private static final Core[] TOKENS = Core.values();
+	private static final String[] TOKEN_TEXT = new String[TOKENS.length];
+
+	// Precompute the string representation of every symbol and keyword terminal
+	static {
+		for(Core token : TOKENS) {
+			TOKEN_TEXT[token.ordinal()] = token.toString().toLowerCase();
+		}
+		for(Map.Entry<Core, Character> entry : CoreCollections.getSymbolsMap().entrySet()) {
+			TOKEN_TEXT[entry.getKey().ordinal()] = String.valueOf(entry.getValue());
+		}
+		TOKEN_TEXT[EQUAL.ordinal()] = "==";
+	}
+
+	private int[] kinds;
+	private int[] firstChild;
+	private int[] nextSibling;
+	private int[] payloads;
+	private int[] lastChild;
+	private int[] parents;
+	private int[] slots;
+	private boolean[] integers;
+	private final Map<Integer, Symbol> views;
+	private int size;
+	private boolean finished;
+
+	// Constructor
+	public AstArena(){
+		this.kinds = new int[1024];
+		this.firstChild = new int[1024];
+		this.nextSibling = new int[1024];
+		this.payloads = new int[1024];
+		this.lastChild = new int[1024];
+		this.parents = new int[1024];
+		this.slots = new int[1024];
+		this.integers = new boolean[1024];
+		this.views = new HashMap<>();
+		this.size = 0;
+		this.finished = false;
+	}
+
+	// Adds a node for a non-terminal symbol of a given type and returns it
+	public int addNonTerminal(SymbolType type) {
+		return this.addNode(type.ordinal(), NONE);
+	}
+
+	// Adds a node for a terminal token with a given payload and returns it
+	public int addTerminal(Core token, int payload) {
+		return this.addNode(TERMINAL + token.ordinal(), payload);
+	}
+
+	// Adds a node without a parent and returns it
+	private int addNode(int kind, int payload) {
+
+		// Grow the arrays if they are full
+		if(this.size == this.kinds.length) {
+			int capacity = this.size * 2;
+			this.kinds = Arrays.copyOf(this.kinds, capacity);
+			this.firstChild = Arrays.copyOf(this.firstChild, capacity);
+			this.nextSibling = Arrays.copyOf(this.nextSibling, capacity);
+			this.payloads = Arrays.copyOf(this.payloads, capacity);
+			this.lastChild = Arrays.copyOf(this.lastChild, capacity);
+			this.parents = Arrays.copyOf(this.parents, capacity);
+			this.slots = Arrays.copyOf(this.slots, capacity);
+			this.integers = Arrays.copyOf(this.integers, capacity);
+		}
+		int node = this.size++;
+		this.kinds[node] = kind;
+		this.firstChild[node] = NONE;
+		this.nextSibling[node] = NONE;
+		this.payloads[node] = payload;
+		this.lastChild[node] = NONE;
+		this.parents[node] = NONE;
+		this.slots[node] = NO_SLOT;
+		return node;
+	}
+
+	// Makes a node the last child of another node
+	public void appendChild(int parent, int child) {
+
+		// Link the child after the current last child, if there is one
+		if(this.lastChild[parent] == NONE) {
+			this.firstChild[parent] = child;
+		} else {
+			this.nextSibling[this.lastChild[parent]] = child;
+		}
+		this.lastChild[parent] = child;
+		this.parents[child] = parent;
+	}
+
+	/* Marks the tree as finished once it has been parsed and
+	 * shrinks the arrays down to the number of nodes.
+	 * NOTE: no children can be added after this, and the
+	 * parents of the nodes are only kept while parsing. */
+	public void finish() {
+		this.finished = true;
+		this.kinds = Arrays.copyOf(this.kinds, this.size);
+		this.firstChild = Arrays.copyOf(this.firstChild, this.size);
+		this.nextSibling = Arrays.copyOf(this.nextSibling, this.size);
+		this.payloads = Arrays.copyOf(this.payloads, this.size);
+		this.slots = Arrays.copyOf(this.slots, this.size);
+		this.integers = Arrays.copyOf(this.integers, this.size);
+		this.lastChild = null;
+		this.parents = null;
+	}
+
+	// Tells whether the tree is finished
+	public boolean isFinished() {
+		return this.finished;
+	}
+
+	// Returns the number of nodes in the arena
+	public int size() {
+		return this.size;
+	}
+
+	// Returns the kind of a node
+	public int getKind(int node) {
+		return this.kinds[node];
+	}
+
+	// Tells whether a node is a terminal
+	public boolean isTerminal(int node) {
+		return this.kinds[node] >= TERMINAL;
+	}
+
+	/* Returns the symbol type of a node (Terminal for
+	 * every terminal node). */
+	public SymbolType getType(int node) {
+		return this.isTerminal(node) ? SymbolType.Terminal : TYPES[this.kinds[node]];
+	}
+
+	// Returns the token of a terminal node
+	public Core getToken(int node) {
+		return TOKENS[this.kinds[node] - TERMINAL];
+	}
+
+	// Returns the first child of a node, or -1 if it has no children
+	public int getFirstChild(int node) {
+		return this.firstChild[node];
+	}
+
+	// Returns the next sibling of a node, or -1 if it is the last child
+	public int getNextSibling(int node) {
+		return this.nextSibling[node];
+	}
+
+	// Returns the parent of a node, or -1 for the root (only while parsing)
+	public int getParent(int node) {
+		return this.parents[node];
+	}
+
+	// Returns the number of children of a node
+	public int getChildCount(int node) {
+		int count = 0;
+		for(int child = this.firstChild[node]; child != NONE; child = this.nextSibling[child]) {
+			count++;
+		}
+		return count;
+	}
+
+	// Returns the child of a node at a given index
+	public int getChild(int node, int index) {
+		int child = this.firstChild[node];
+		for(int i = 0; i < index; i++) {
+			child = this.nextSibling[child];
+		}
+		return child;
+	}
+
+	// Returns the non-terminal child of a node at a given index
+	public int getNonTerminalChild(int node, int index) {
+		int count = 0;
+		for(int child = this.firstChild[node]; child != NONE; child = this.nextSibling[child]) {
+			if(!this.isTerminal(child) && count++ == index) {
+				return child;
+			}
+		}
+		return NONE;
+	}
+
+	// Returns the string representations of the terminal children of a node
+	public List<String> getTerminalTexts(int node) {
+		List<String> texts = new ArrayList<>();
+		for(int child = this.firstChild[node]; child != NONE; child = this.nextSibling[child]) {
+			if(this.isTerminal(child)) {
+				texts.add(this.getText(child));
+			}
+		}
+		return texts;
+	}
+
+	// Counts the terminal children of a node with a given string representation
+	public int countTerminals(int node, String text) {
+		int count = 0;
+		for(int child = this.firstChild[node]; child != NONE; child = this.nextSibling[child]) {
+			if(this.isTerminal(child) && this.getText(child).equals(text)) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	// Returns the payload of a node
+	public int getPayload(int node) {
+		return this.payloads[node];
+	}
+
+	/* Returns the slot of a node, or NO_SLOT if it doesn't
+	 * have one (a slot of zero or more is a slot of the
+	 * current frame, and a negative slot s is global slot
+	 * -1 - s). */
+	public int getSlot(int node) {
+		return this.slots[node];
+	}
+
+	// Sets the slot of a node
+	public void setSlot(int node, int slot) {
+		this.slots[node] = slot;
+	}
+
+	// Tells whether the slot of a node holds an integer variable
+	public boolean isInteger(int node) {
+		return this.integers[node];
+	}
+
+	// Marks whether the slot of a node holds an integer variable
+	public void setInteger(int node, boolean integer) {
+		this.integers[node] = integer;
+	}
+
+	/* Returns the string representation of a terminal node,
+	 * which is the value the terminal had in the parse tree.
+	 * NOTE: the value of a STRING includes its single quotes,
+	 * which were interned with it when the node was added. */
+	public String getText(int node) {
+		Core token = this.getToken(node);
+
+		// Build the text of names and constants from the payload
+		if(token.equals(ID) || token.equals(STRING)) {
+			return NameTable.getName(this.payloads[node]);
+		}
+		else if(token.equals(CONST)) {
+			return String.valueOf(this.payloads[node]);
+		}
+		return TOKEN_TEXT[token.ordinal()];
+	}
+
+	/* Returns the Symbol view of a node: the view that was
+	 * kept for it, or a new view that isn't kept. */
+	public Symbol getSymbol(int node) {
+		Symbol view = this.views.get(node);
+		if(view == null) {
+			view = SymbolFactory.createSymbol(this, node);
+		}
+		return view;
+	}
+
+	/* Keeps the Symbol view of a node (the root and the
+	 * replacements of the Specializer). */
+	public void setSymbol(int node, Symbol symbol) {
+		this.views.put(node, symbol);
+	}
+}
@@ -2,49 +2,60 @@ package CoreLang;
 
 import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.List;
 import CoreLang.CoreVar.*;
 import static CoreLang.Core.*;
 import static CoreLang.Symbol.SymbolType.*;
 
 /* This class is a generalized implementation
- * of a symbol from the Core language grammar. */
+ * of a symbol from the Core language grammar. 
+ * A symbol is a view of a node of an AstArena,
+ * which holds the actual tree. The children of 
+ * a symbol are only turned into Symbol objects 
+ * when they are asked for, and those objects
+ * aren't kept unless they replaced a node. */
 public abstract class BaseSymbol implements Symbol{
 	protected final SymbolType type;
-	protected Symbol parent;
-	protected InstructionManager manager;
-	protected ArrayList<Symbol> children;
-	protected StringBuilder value;
+	protected AstArena arena;
+	protected int node;
+	private String value;
 	
 	// Constructor for non-terminal symbols
 	public BaseSymbol(SymbolType type){
 		
-		// Register the root of the tree if the symbol is of type procedure
+		/* Register the root of the tree and start a new arena
+		 * for the tree if the symbol is of type procedure. */
 		if(type.equals(Procedure)) {
 			MemManagementUnit.registerRoot(this);
+			this.arena = new AstArena();
+			this.node = this.arena.addNonTerminal(type);
+			this.arena.setSymbol(this.node, this);
 		}
 		
 		// Initialize members
 		this.type = type;
-		this.parent = null;
-		this.manager = new InstructionManager(this);
-		SymbolFactory.createInstructionSet(this);
-		this.children = new ArrayList<>();
 	}
 	
-	// Overloaded constructor for a terminal symbol
-	public BaseSymbol(String value) {
+	// Overloaded constructor for a terminal symbol of an arena
+	public BaseSymbol(AstArena arena, int node) {
 		this.type = Terminal;
-		this.value = new StringBuilder().append(value);
+		this.bind(arena, node);
 	}
 	
 	@Override
-	public final InstructionManager getInstructionManager() {
-		
-		// Terminal symbols do not have an instruction manager
-		if(this.type.equals(Terminal)) {
-			return null;
-		}
-		return this.manager;
+	public final void bind(AstArena arena, int node) {
+		this.arena = arena;
+		this.node = node;
+	}
+	
+	@Override
+	public final AstArena getArena() {
+		return this.arena;
+	}
+	
+	@Override
+	public final int getNode() {
+		return this.node;
 	}
 	
 	@Override
@@ -52,7 +63,10 @@ public abstract class BaseSymbol implements Symbol{
 		
 		// Return value of a terminal symbol
 		if(this.type.equals(Terminal)){
-			return this.value.toString();
+			if(this.value == null) {
+				this.value = this.arena.getText(this.node);
+			}
+			return this.value;
 		}
 		return this.type.toString().toLowerCase();
 	}
@@ -63,34 +77,57 @@ public abstract class BaseSymbol implements Symbol{
 	}
 	
 	@Override
-	public final ArrayList<Symbol> getChildren(){
+	public final List<Symbol> getChildren(){
 		
 		// Terminal symbols do not have children
 		if(this.type.equals(Terminal)) {
 			return null;
 		}
-		return this.children;
+		
+		List<Symbol> children = new ArrayList<>();
+		for(int child = this.arena.getFirstChild(this.node); child != -1; child = this.arena.getNextSibling(child)) {
+			children.add(this.arena.getSymbol(child));
+		}
+		return this.freeze(children);
 	}
 	
-	@Override
-	public final void addNonTerminalChild(Symbol child) {
-		
-		// Terminal symbols do not have children
-		if(this.type.equals(Terminal)) {
-			return;
+	// Returns the slot the Resolver gave to the child at a given index
+	protected final int getChildSlot(int index) {
+		return this.arena.getSlot(this.getChildren().get(index).getNode());
+	}
+	
+	// Returns the NameTable ID of the identifier of the child at a given index
+	protected final int getChildNameId(int index) {
+		return this.arena.getPayload(this.getChildren().get(index).getNode());
+	}
+	
+	// Tells whether the child at a given index names an integer variable
+	protected final boolean isChildInteger(int index) {
+		return this.arena.isInteger(this.getChildren().get(index).getNode());
+	}
+	
+	/* Executes a stmt-seq symbol in a scope of its own.
+	 * NOTE: a scope that declares no objects has no
+	 * references to update when it is left, so no
+	 * memory is allocated for it. */
+	protected final void executeBlock(Symbol stmtSeq, NumericInputReader input) {
+		if(this.arena.getSlot(stmtSeq.getNode()) > 0) {
+			CallStack.allocateScopeMem();
+			stmtSeq.execute(input);
+			CallStack.deallocateScopeMem();
+		} else {
+			stmtSeq.execute(input);
 		}
-		this.children.add(child);
-		child.setParent(this);
 	}
 	
-	@Override
-	public final Symbol getParent() {
-		return this.parent;
+	// Returns a list that can't be modified once the tree is finished
+	private <T> List<T> freeze(List<T> list) {
+		return this.arena.isFinished() ? List.copyOf(list) : list;
 	}
 	
 	@Override
-	public final void setParent(Symbol parent) {
-		this.parent = parent;
+	public final void replaceChild(Symbol child, Symbol replacement) {
+		this.arena.setSymbol(child.getNode(), replacement);
 	}
 	
 	@Override
@@ -103,35 +140,33 @@ public abstract class BaseSymbol implements Symbol{
 		if(this.type.equals(Terminal)) {
 			return;
 		}
-		this.manager.executeParseInstructions(scanner);
+		new InstructionManager(this.arena, this.node).executeParseInstructions(scanner);
 	}
 	
 	@Override
-	public void execute(CoreScanner reader) {
+	public void execute(NumericInputReader input) {
 		
 		// Terminal symbols do not execute
 		if(this.type.equals(Terminal)) {
 			return;
 		}
 		
-		Iterator<Symbol> iterator = this.getNonTerminalChildren().iterator();
+		List<Symbol> nonTerminalChildren = this.getNonTerminalChildren();
 		
 		// Execute all of a symbol's non-terminal children
-		while(iterator.hasNext()) {
-			Symbol currChild = iterator.next();
+		for(int i = 0; i < nonTerminalChildren.size(); i++) {
+			Symbol currChild = nonTerminalChildren.get(i);
 			
 			/* Check if child needs to be executed
 			 * Note: We do not want to execute the function
 			 * children unless a procedure call has been made. */
 			if(!currChild.getType().equals(Function)) {
 				
-				/* Allocate memory for local scope and change 
-				 * where variables are allocated to.*/
+				// Allocate memory for the local scope of the main procedure
 				if(this.type.equals(Procedure) && currChild.getType().equals(StmtSeq)) {
 					CallStack.allocateScopeMem();
-					CallStack.stopGlobalMemAlloc();
 				}
-				currChild.execute(reader);
+				currChild.execute(input);
 			}
 		}
 		
@@ -146,213 +181,68 @@ public abstract class BaseSymbol implements Symbol{
 	
 	@Override
 	public final void executeWithFrame(Frame frame) {
-		Iterator<String> iterator = this.getTerminalChildren().iterator();
 		
-		// Allocate space for formal parameters
-		while(iterator.hasNext()) {
-			String currId = iterator.next();
-			
-			/* Only allocate space for identifiers
-			 * NOTE: the last child will never be a
-			 * comma as that violates the rules of
-			 * the grammar. Thus, we can always
-			 * assume that if the current child
-			 * is a comma, then there will be a child
-			 * to get after that and thus we will not
-			 * call the .next() method when there isn't
-			 * any remaining strings. */
-			if(currId.equals(",")) {
-				currId = iterator.next();
+		/* Allocate space for formal parameters
+		 * NOTE: only the identifiers have slots, the
+		 * commas between them are skipped. */
+		for(Symbol child : this.getChildren()) {
+			int slot = this.arena.getSlot(child.getNode());
+			if(slot != AstArena.NO_SLOT) {
+				frame.allocateMem(slot, new ObjectVar(this.arena.getPayload(child.getNode())));
 			}
-			frame.allocateMem(new ObjectVar(currId));
 		}
 	}
 	
 	@Override
 	public boolean executeReturnBool(boolean negateResult) {
-		CondHelper helper = new CondHelper(this);
-		boolean outerNegation = helper.leadingNegationPresent();
-		Symbol currChild = this.children.get(helper.getCurrChildIndex());
-		boolean result = currChild.executeReturnBool(false);
-		helper.setCurrChildIndex(helper.getCurrChildIndex() + 1);
-		
-		// Conduct all comparisons
-		while(helper.getCurrChildIndex() < this.children.size()) {
-			boolean negationPresent = helper.leadingNegationPresent();
-			
-			// Short circuit evaluation if applicable
-			if((result && helper.getOrTheResult()) || (!result && !helper.getOrTheResult())) {
-				break;
-			}
-			currChild = this.children.get(helper.getCurrChildIndex());
-			
-			// Check if we need to "or" or "and" the result
-			if(helper.getOrTheResult()) {
-				result = result || currChild.executeReturnBool(negationPresent);
-			} else {
-				result = result && currChild.executeReturnBool(negationPresent);
-			}
-			helper.setCurrChildIndex(helper.getCurrChildIndex() + 1);
-		}
-		
-		// Apply final negation
-		if(outerNegation) {
-			result = !result;
-		}
-		
-		return result;
+		// Only the symbols the Specializer makes return booleans
+		throw new IllegalStateException(this.type + " symbol was not specialized");
 	}
 	
 	@Override
 	public int executeReturnInt() {
-		int result = this.children.get(this.children.size() - 1).executeReturnInt();
-		
-		// Perform computations
-		for(int i = this.children.size() - 2; i > 0; i -= 2) {
-			
-			/* Get next symbol to execute and what 
-			 * operation to perform on it and the 
-			 * result.*/
-			String currOp = this.children.get(i).getNameOrValue();
-			Symbol currSymbol = this.children.get(i - 1);
-			
-			// Check which operation to perform
-			if(currOp.equals("+")) {
-				result += currSymbol.executeReturnInt();
-			}
-			else if (currOp.equals("-")) {
-				result = currSymbol.executeReturnInt() - result;
-			}
-			else if (currOp.equals("*")) {
-				result *= currSymbol.executeReturnInt();
-			} 
-			else if(currOp.equals("/") && result != 0){
-				result =  currSymbol.executeReturnInt() / result;
-			} else {
-				// Report a divide by zero error
-				ErrorHandler.handleError("ERROR: Cannot divide by zero.");
-			}
-		}
-		return result;
+		// Only the symbols the Specializer makes return ints
+		throw new IllegalStateException(this.type + " symbol was not specialized");
 	}
 	
 	@Override
-	public final ArrayList<Symbol> getNonTerminalChildren(){
+	public final List<Symbol> getNonTerminalChildren(){
 		
 		// Terminal Symbols have no children
 		if(this.type.equals(Terminal)) {
 			return null;
 		}
 		
-		Iterator<Symbol> iterator = this.children.iterator();
-		ArrayList<Symbol> nonTerminalChildren = new ArrayList<>();
+		List<Symbol> nonTerminalChildren = new ArrayList<>();
 		
-		// Get all terminal children
-		while(iterator.hasNext()) {
-			Symbol currChild = iterator.next();
+		// Get all non-terminal children
+		for(int child = this.arena.getFirstChild(this.node); child != -1; child = this.arena.getNextSibling(child)) {
 			
 			// Check if the current child is non-terminal
-			if(!currChild.getType().equals(Terminal)) {
+			if(!this.arena.isTerminal(child)) {
 				
 				// Add it to the list
-				nonTerminalChildren.add(currChild);
+				nonTerminalChildren.add(this.arena.getSymbol(child));
 			}
 		}
 		
-		return nonTerminalChildren;
+		return this.freeze(nonTerminalChildren);
 	}
 	
 	@Override
-	public final ArrayList<String> getTerminalChildren(){
+	public final List<String> getTerminalChildren(){
 		
 		// Terminal symbols have no children
 		if(this.type.equals(Terminal)) {
 			return null;
 		}
-		Iterator<Symbol> iterator = this.children.iterator();
-		ArrayList<String> terminalChildren = new ArrayList<>();
-		
-		// Get all terminal children
-		while(iterator.hasNext()) {
-			Symbol currChild = iterator.next();
-			
-			// Check if the current child is terminal
-			if(currChild.getType().equals(Terminal)) {
-				
-				// Add it to the list
-				terminalChildren.add(currChild.getNameOrValue());
-			}
-		}
 		
-		return terminalChildren;
-	}
-	
-	@Override
-	public final void addTerminalChild(CoreScanner scanner) {
-		
-		// Terminal symbols do not have children
-		if(this.type.equals(Terminal)) {
-			return;
-		}
-		
-		// Add terminal symbol to the parse tree based on its token type
-		else if(scanner.currentToken().equals(ID)) {
-			this.children.add(SymbolFactory.createSymbol(scanner.getId()));
-			this.children.get(this.children.size() - 1).setParent(this);
-			SemanticChecker.IDTokenSemanticCheck(scanner.getId(), this);
-		}
-		else if(scanner.currentToken().equals(STRING)) {
-			this.children.add(SymbolFactory.createSymbol("\'" + scanner.getString() + "\'"));
-			this.children.get(this.children.size() - 1).setParent(this);
-		}
-		else if(scanner.currentToken().equals(CONST)) {
-			this.children.add(SymbolFactory.createSymbol(scanner.getConst() + ""));
-			this.children.get(this.children.size() - 1).setParent(this);
-		}
-		
-		// Check for a symbol token
-		else if(CoreCollections.getSymbolsMap().containsKey(scanner.currentToken()) ||
-				scanner.currentToken().equals(EQUAL)) {
-			this.children.add(SymbolFactory.createSymbol(scanner.getSymbol()));
-			this.children.get(this.children.size() - 1).setParent(this);
-		}
-		else if(!scanner.currentToken().equals(EOS)) {
-			
-			// Check if we're exiting a scope
-			if(scanner.currentToken().equals(END)) {
-				SemanticChecker.leaveScope();
-			}
-			this.children.add(SymbolFactory.createSymbol(scanner.currentToken().toString().toLowerCase()));
-			this.children.get(this.children.size() - 1).setParent(this);
-		}
-	}
-	
-	@Override 
-	public final int getTerminalChildCount(String value) {
-		
-		// Terminal symbols have no children
-		if(this.type.equals(Terminal)) {
-			return 0;
-		}
-		
-		int count = 0;
-		Iterator<Symbol> iterator = this.children.iterator();
-		
-		// Count how many times a terminal child appears
-		while(iterator.hasNext()) {
-			Symbol child = iterator.next();
-			
-			// Check if the child is terminal
-			if(child.getType().equals(Terminal)&& child.getNameOrValue().equals(value)) {
-				count++;
-			}
-		}
-		return count;
+		return this.freeze(this.arena.getTerminalTexts(this.node));
 	}
 
 	@Override
 	public final void print() {
-		Iterator<Symbol> iterator = this.children.iterator();
+		Iterator<Symbol> iterator = this.getChildren().iterator();
 		
 		/* Traverse through all of the symbol's children.
 		 * Either print terminal children or call the
@@ -0,0 +1,251 @@
+package CoreLang;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+
+/* This class keeps compiled programs in a cache
+ * directory, so a program whose source hasn't
+ * changed can be run without lexing, parsing, or
+ * checking it again.
+ * Each program is stored in a file named after
+ * the SHA-256 hash of its source. The file starts
+ * with a header that holds a magic number, the
+ * version of the file format, the hash again, and
+ * a CRC-32 checksum of the rest of the file, which
+ * holds the BytecodeProgram.
+ * A file is only used if its header and checksum
+ * match and every length in it fits in the rest of
+ * the file, so a cached program is simply compiled
+ * again after the format changes or if its file
+ * was cut short or damaged.
+ * NOTE: only programs that passed the semantic
+ * checks are stored, so a program with errors is
+ * always compiled and reports its errors again. */
+public final class BytecodeCache{
+	private static final int MAGIC = 0x434F5242;
+	private static final int FORMAT_VERSION = 3;
+	private static final String EXTENSION = ".corebc";
+
+	// Private constructor to prevent instantiation
+	private BytecodeCache() {}
+
+	/* Returns the cached program of a source file, or null
+	 * if it isn't in the cache or its cache file is out of
+	 * date or can't be read. */
+	public static BytecodeProgram load(String fileName, String cacheDir) {
+		byte[] hash = hashSource(fileName);
+		if(hash == null) {
+			return null;
+		}
+		Path path = cachePath(cacheDir, hash);
+		if(!Files.isRegularFile(path)) {
+			return null;
+		}
+
+		// Map the cache file and read the program out of it
+		try(FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+			byte[] storedHash = new byte[hash.length];
+			if(buffer.getInt() != MAGIC || buffer.getInt() != FORMAT_VERSION) {
+				return null;
+			}
+			buffer.get(storedHash);
+			if(!Arrays.equals(hash, storedHash)) {
+				return null;
+			}
+
+			// Make sure the program wasn't damaged since it was stored
+			int storedChecksum = buffer.getInt();
+			CRC32 checksum = new CRC32();
+			checksum.update(buffer.duplicate());
+			if((int) checksum.getValue() != storedChecksum) {
+				return null;
+			}
+			return readProgram(buffer);
+		} catch(IOException | BufferUnderflowException | IllegalArgumentException e) {
+			return null;
+		}
+	}
+
+	/* Stores the compiled program of a source file in the cache.
+	 * NOTE: the file is written under a temporary name and then
+	 * moved into place, so a run that reads the cache at the
+	 * same time never sees a partly written file. A program
+	 * that can't be stored is simply not cached. */
+	public static void store(String fileName, String cacheDir, BytecodeProgram program) {
+		byte[] hash = hashSource(fileName);
+		if(hash == null) {
+			return;
+		}
+		Path path = cachePath(cacheDir, hash);
+
+		// Write the header and the program with its checksum
+		try {
+			ByteArrayOutputStream payload = new ByteArrayOutputStream();
+			writeProgram(new DataOutputStream(payload), program);
+			CRC32 checksum = new CRC32();
+			checksum.update(payload.toByteArray());
+			ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+			DataOutputStream out = new DataOutputStream(bytes);
+			out.writeInt(MAGIC);
+			out.writeInt(FORMAT_VERSION);
+			out.write(hash);
+			out.writeInt((int) checksum.getValue());
+			payload.writeTo(out);
+
+			Files.createDirectories(path.getParent());
+			Path temp = Files.createTempFile(path.getParent(), "core", ".tmp");
+			Files.write(temp, bytes.toByteArray());
+			Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} catch(IOException e) {
+			return;
+		}
+	}
+
+	// Writes the parts of a program in the order readProgram reads them
+	private static void writeProgram(DataOutputStream out, BytecodeProgram program) throws IOException {
+		writeInts(out, program.getCode());
+		out.writeInt(program.getStringCount());
+		for(int i = 0; i < program.getStringCount(); i++) {
+			byte[] string = program.getString(i).getBytes(StandardCharsets.UTF_8);
+			out.writeInt(string.length);
+			out.write(string);
+		}
+		out.writeInt(program.getScopeCount());
+		for(int i = 0; i < program.getScopeCount(); i++) {
+			writeInts(out, program.getScope(i));
+		}
+		out.writeInt(program.getFunctionCount());
+		for(int i = 0; i < program.getFunctionCount(); i++) {
+			out.writeInt(program.getFunctionEntry(i));
+			out.writeInt(program.getFunctionSlots(i));
+			writeInts(out, program.getFunctionParams(i));
+		}
+		out.writeInt(program.getMainSlots());
+		out.writeInt(program.getGlobalSlots());
+	}
+
+	/* Reads a program that was written by writeProgram.
+	 * Returns null if a length in the file doesn't fit in
+	 * the rest of it, so a damaged file can't make us
+	 * allocate huge arrays. */
+	private static BytecodeProgram readProgram(ByteBuffer buffer) {
+		int[] code = readInts(buffer);
+
+		// Each string takes at least the 4 bytes of its length
+		int numStrings = readLength(buffer, Integer.BYTES);
+		if(code == null || numStrings < 0) {
+			return null;
+		}
+		String[] strings = new String[numStrings];
+		for(int i = 0; i < strings.length; i++) {
+			int length = readLength(buffer, 1);
+			if(length < 0) {
+				return null;
+			}
+			byte[] string = new byte[length];
+			buffer.get(string);
+			strings[i] = new String(string, StandardCharsets.UTF_8);
+		}
+
+		// Each scope takes at least the 4 bytes of its length
+		int numScopes = readLength(buffer, Integer.BYTES);
+		if(numScopes < 0) {
+			return null;
+		}
+		int[][] scopes = new int[numScopes][];
+		for(int i = 0; i < scopes.length; i++) {
+			scopes[i] = readInts(buffer);
+			if(scopes[i] == null) {
+				return null;
+			}
+		}
+
+		// Each function takes at least its entry, its slots, and the length of its parameters
+		int numFunctions = readLength(buffer, 3 * Integer.BYTES);
+		if(numFunctions < 0) {
+			return null;
+		}
+		int[] functionEntries = new int[numFunctions];
+		int[] functionSlots = new int[numFunctions];
+		int[][] functionParams = new int[numFunctions][];
+		for(int i = 0; i < numFunctions; i++) {
+			functionEntries[i] = buffer.getInt();
+			functionSlots[i] = buffer.getInt();
+			functionParams[i] = readInts(buffer);
+			if(functionParams[i] == null) {
+				return null;
+			}
+		}
+		int mainSlots = buffer.getInt();
+		int globalSlots = buffer.getInt();
+		return new BytecodeProgram(code, strings, scopes, functionEntries, functionSlots, functionParams,
+				mainSlots, globalSlots);
+	}
+
+	// Writes an int array preceded by its length
+	private static void writeInts(DataOutputStream out, int[] values) throws IOException {
+		out.writeInt(values.length);
+		for(int value : values) {
+			out.writeInt(value);
+		}
+	}
+
+	/* Reads an int array preceded by its length.
+	 * Returns null if the length doesn't fit in the rest
+	 * of the buffer. */
+	private static int[] readInts(ByteBuffer buffer) {
+		int length = readLength(buffer, Integer.BYTES);
+		if(length < 0) {
+			return null;
+		}
+		int[] values = new int[length];
+		buffer.asIntBuffer().get(values);
+		buffer.position(buffer.position() + values.length * Integer.BYTES);
+		return values;
+	}
+
+	/* Reads the length of an array whose elements take at
+	 * least a given number of bytes each. Returns -1 if the
+	 * length is negative or the elements can't all fit in
+	 * the rest of the buffer. */
+	private static int readLength(ByteBuffer buffer, int elementBytes) {
+		int length = buffer.getInt();
+		if(length < 0 || length > buffer.remaining() / elementBytes) {
+			return -1;
+		}
+		return length;
+	}
+
+	// Returns the SHA-256 hash of a source file, or null if it can't be read
+	private static byte[] hashSource(String fileName) {
+		try {
+			return MessageDigest.getInstance("SHA-256").digest(Files.readAllBytes(Paths.get(fileName)));
+		} catch(IOException | NoSuchAlgorithmException e) {
+			return null;
+		}
+	}
+
+	// Returns the path of the cache file for a given hash
+	private static Path cachePath(String cacheDir, byte[] hash) {
+		StringBuilder name = new StringBuilder();
+		for(byte b : hash) {
+			name.append(String.format("%02x", b));
+		}
+		return Paths.get(cacheDir, name.append(EXTENSION).toString());
+	}
+}
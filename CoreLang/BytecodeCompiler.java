@@ -0,0 +1,491 @@
+package CoreLang;
+
+import static CoreLang.BytecodeProgram.*;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import CoreLang.Symbol.SymbolType;
+
+/* This class compiles a parse tree into a
+ * BytecodeProgram for the VirtualMachine.
+ * Every identifier uses the slot the Resolver
+ * gave it, so the tree has to be resolved
+ * before it is compiled.
+ * NOTE: the compiled program has to print exactly
+ * what executing the tree prints, including the
+ * gc lines, so it creates and updates the same
+ * CoreVar objects in the same order as the tree. */
+public final class BytecodeCompiler{
+	private int[] code;
+	private int size;
+	private final List<String> strings;
+	private final Map<String, Integer> stringIds;
+	private final List<int[]> scopes;
+	private final List<Integer> globalScope;
+	private final Map<String, Integer> functionIds;
+	private final List<Symbol> functions;
+	private final Deque<List<Integer>> blockSlots;
+	private final Map<Integer, Core> types;
+	private boolean inFunction;
+
+	// Private constructor to prevent instantiation outside of compile
+	private BytecodeCompiler() {
+		this.code = new int[1024];
+		this.size = 0;
+		this.strings = new ArrayList<>();
+		this.stringIds = new HashMap<>();
+		this.scopes = new ArrayList<>();
+		this.globalScope = new ArrayList<>();
+		this.functionIds = new HashMap<>();
+		this.functions = new ArrayList<>();
+		this.blockSlots = new ArrayDeque<>();
+		this.types = new HashMap<>();
+	}
+
+	// Compiles the parse tree of a procedure into a program
+	public static BytecodeProgram compile(Symbol procedure) {
+		return new BytecodeCompiler().compileProcedure(procedure);
+	}
+
+	/* Compiles the main procedure followed by each of its
+	 * functions.
+	 * NOTE: the global variables are declared first and
+	 * their references are updated before the references
+	 * of the main body, just like Procedure.execute and
+	 * Main do. */
+	private BytecodeProgram compileProcedure(Symbol procedure) {
+		List<Symbol> children = procedure.getNonTerminalChildren();
+		Symbol body = children.get(children.size() - 1);
+
+		// Declare the global variables and number the functions
+		if(children.size() > 1) {
+			for(Symbol child : children.get(0).getNonTerminalChildren()) {
+				if(child.getType().equals(SymbolType.Function)) {
+					this.functionIds.put(child.getTerminalChildren().get(1), this.functions.size());
+					this.functions.add(child);
+				} else {
+					this.compileGlobalDecl(child.getNonTerminalChildren().get(0));
+				}
+			}
+		}
+
+		// Compile the main body
+		this.enterBlock();
+		this.compileStmtSeq(body);
+		this.emit(EXIT_SCOPE, this.addScope(this.globalScope));
+		this.exitBlock();
+		this.emit(HALT);
+
+		// Compile each function in its own frame
+		int[] functionEntries = new int[this.functions.size()];
+		int[] functionSlots = new int[this.functions.size()];
+		int[][] functionParams = new int[this.functions.size()][];
+		this.inFunction = true;
+		for(int i = 0; i < this.functions.size(); i++) {
+			Symbol function = this.functions.get(i);
+			List<Symbol> params = this.identifiers(function.getNonTerminalChildren().get(0));
+			functionEntries[i] = this.size;
+			functionParams[i] = new int[params.size()];
+
+			// The formal parameters share the scope of the function body
+			this.enterBlock();
+			for(int j = 0; j < params.size(); j++) {
+				functionParams[i][j] = this.stringId(params.get(j).getNameOrValue());
+				this.declareLocal(this.resolve(params.get(j)), Core.OBJECT);
+			}
+			this.compileStmtSeq(function.getNonTerminalChildren().get(1));
+			this.exitBlock();
+			this.emit(RETURN);
+			functionSlots[i] = procedure.getArena().getSlot(function.getNode());
+		}
+
+		return new BytecodeProgram(Arrays.copyOf(this.code, this.size), this.strings.toArray(new String[0]),
+				this.scopes.toArray(new int[0][]), functionEntries, functionSlots, functionParams,
+				procedure.getArena().getSlot(procedure.getNode()), this.globalScope.size());
+	}
+
+	// Compiles a decl-integer or decl-obj symbol of the global scope
+	private void compileGlobalDecl(Symbol decl) {
+		String identifier = decl.getTerminalChildren().get(1);
+		Core type = declType(decl);
+		int slot = this.resolve(decl.getChildren().get(1));
+		this.globalScope.add(slot);
+		this.types.put(slot, type);
+		this.emit(type.equals(Core.INTEGER) ? DECL_INT : DECL_OBJ, slot, this.stringId(identifier));
+	}
+
+	// Compiles each statement of a stmt-seq symbol
+	private void compileStmtSeq(Symbol stmtSeq) {
+		for(Symbol stmt : stmtSeq.getNonTerminalChildren()) {
+			this.compileStmt(stmt.getNonTerminalChildren().get(0));
+		}
+	}
+
+	// Compiles a statement based on its type
+	private void compileStmt(Symbol stmt) {
+		switch(stmt.getType()) {
+			case Decl:
+				this.compileDecl(stmt.getNonTerminalChildren().get(0));
+				break;
+			case Assign:
+				this.compileAssign(stmt);
+				break;
+			case Print:
+				this.compileExpr(stmt.getChildren().get(2));
+				this.emit(PRINT);
+				break;
+			case Read:
+				int slot = this.resolve(stmt.getChildren().get(2));
+				this.emit(READ, slot, this.stringId(stmt.getChildren().get(2).getNameOrValue()));
+				this.emitStore(slot);
+				break;
+			case If:
+				this.compileIf(stmt);
+				break;
+			case Loop:
+				this.compileLoop(stmt);
+				break;
+			case Call:
+				this.compileCall(stmt);
+				break;
+			default:
+				ErrorHandler.handleError("ERROR: Cannot compile a " + stmt.getNameOrValue() + " statement.");
+				break;
+		}
+	}
+
+	// Compiles a decl-integer or decl-obj symbol of the current scope
+	private void compileDecl(Symbol decl) {
+		String identifier = decl.getTerminalChildren().get(1);
+		Core type = declType(decl);
+		int slot = this.declareLocal(this.resolve(decl.getChildren().get(1)), type);
+		this.emit(type.equals(Core.INTEGER) ? DECL_INT : DECL_OBJ, slot, this.stringId(identifier));
+	}
+
+	/* Compiles an assign symbol based on its form.
+	 * NOTE: an assignment to a variable that can't be
+	 * found does nothing, just like Assign.execute. */
+	private void compileAssign(Symbol assign) {
+		List<String> terminalChildren = assign.getTerminalChildren();
+		String identifier = terminalChildren.get(0);
+		int slot = assign.getArena().getSlot(assign.getChildren().get(0).getNode());
+		if(slot == AstArena.NO_SLOT) {
+			return;
+		}
+
+		// ID [ STRING ] = <expr>
+		if(terminalChildren.contains("[")) {
+			this.emit(CHECK_REF, slot);
+			this.compileExpr(assign.getNonTerminalChildren().get(0));
+			this.emit(STORE_KEY, slot, this.stringId(terminalChildren.get(2)));
+		}
+
+		/* ID = new object ( STRING , <expr> )
+		 * (a function makes a local copy of the object first,
+		 * which the Resolver already gave a slot of its own). */
+		else if(terminalChildren.contains("(")) {
+			if(this.inFunction) {
+				this.declareLocal(slot, Core.OBJECT);
+				this.emit(DECL_OBJ, slot, this.stringId(identifier));
+			}
+			this.compileExpr(assign.getNonTerminalChildren().get(0));
+			this.emit(NEW_OBJECT, slot, this.stringId(terminalChildren.get(5)));
+		}
+
+		// ID : ID
+		else if(terminalChildren.contains(":")) {
+			this.emit(ALIAS, slot, this.resolve(assign.getChildren().get(2)));
+		}
+
+		// ID = <expr>
+		else {
+			if(!this.types.get(slot).equals(Core.INTEGER)) {
+				this.emit(CHECK_REF, slot);
+			}
+			this.compileExpr(assign.getNonTerminalChildren().get(0));
+			this.emitStore(slot);
+		}
+	}
+
+	// if <cond> then <stmt-seq> end | if <cond> then <stmt-seq> else <stmt-seq> end
+	private void compileIf(Symbol ifSymbol) {
+		List<Symbol> children = ifSymbol.getNonTerminalChildren();
+		this.compileCond(children.get(0));
+		int elseJump = this.emitJump(JUMP_IF_FALSE);
+		this.compileBlock(children.get(1));
+
+		// Check if an else clause exists
+		if(children.size() > 2) {
+			int endJump = this.emitJump(JUMP);
+			this.patch(elseJump);
+			this.compileBlock(children.get(2));
+			this.patch(endJump);
+		} else {
+			this.patch(elseJump);
+		}
+	}
+
+	// for ( ID = <expr> ; <cond> ; <expr> ) do <stmt-seq> end
+	private void compileLoop(Symbol loop) {
+		List<Symbol> children = loop.getChildren();
+		int slot = this.resolve(children.get(2));
+		this.compileExpr(children.get(4));
+		this.emitStore(slot);
+
+		// Check the condition before each run of the body
+		int start = this.size;
+		this.compileCond(children.get(6));
+		int exitJump = this.emitJump(JUMP_IF_FALSE);
+		this.compileBlock(children.get(11));
+		this.compileExpr(children.get(8));
+		this.emitStore(slot);
+		this.emit(JUMP, start);
+		this.patch(exitJump);
+	}
+
+	// begin ID ( <parameters> ) ;
+	private void compileCall(Symbol call) {
+		List<Symbol> args = this.identifiers(call.getNonTerminalChildren().get(0));
+		this.emit(CALL, this.functionIds.get(call.getTerminalChildren().get(1)), args.size());
+		for(Symbol arg : args) {
+			this.emit(this.resolve(arg));
+		}
+	}
+
+	/* Compiles a cond symbol so that it leaves its result on
+	 * the stack.
+	 * NOTE: this follows BaseSymbol.executeReturnBool: the
+	 * negations in front of the first comparison negate the
+	 * whole result, and the rest of the comparisons are
+	 * skipped as soon as the result is true before an "or"
+	 * or false before an "and". */
+	private void compileCond(Symbol cond) {
+		List<Symbol> children = cond.getChildren();
+		List<Integer> endJumps = new ArrayList<>();
+		boolean orTheResult = false;
+		boolean outerNegation = false;
+		boolean firstCmpr = true;
+		int i = 0;
+
+		// Conduct all comparisons
+		while(i < children.size()) {
+			int numNegations = 0;
+
+			// Read the terminals in front of the comparison
+			for(; i < children.size() && children.get(i).getType().equals(SymbolType.Terminal); i++) {
+				Core token = cond.getArena().getToken(children.get(i).getNode());
+				if(token.equals(Core.NOT)) {
+					numNegations++;
+				}
+				else if(token.equals(Core.OR) || token.equals(Core.AND)) {
+					orTheResult = token.equals(Core.OR);
+				}
+			}
+
+			// Trailing terminals end the condition
+			if(i == children.size()) {
+				break;
+			}
+			if(firstCmpr) {
+				outerNegation = numNegations % 2 != 0;
+				this.compileCmpr(children.get(i));
+				firstCmpr = false;
+			} else {
+
+				// Short circuit evaluation if applicable
+				this.emit(DUP);
+				endJumps.add(this.emitJump(orTheResult ? JUMP_IF_TRUE : JUMP_IF_FALSE));
+				this.emit(POP);
+				this.compileCmpr(children.get(i));
+				if(numNegations % 2 != 0) {
+					this.emit(NOT);
+				}
+			}
+			i++;
+		}
+
+		// Apply final negation
+		for(int jump : endJumps) {
+			this.patch(jump);
+		}
+		if(outerNegation) {
+			this.emit(NOT);
+		}
+	}
+
+	// <expr> = <expr> | <expr> < <expr>
+	private void compileCmpr(Symbol cmpr) {
+		List<Symbol> children = cmpr.getChildren();
+		this.compileExpr(children.get(0));
+		this.compileExpr(children.get(2));
+		this.emit(cmpr.getArena().getToken(children.get(1).getNode()).equals(Core.EQUAL) ? EQUAL : LESS);
+	}
+
+	/* Compiles an expr, term, or factor symbol so that it
+	 * leaves its value on the stack.
+	 * NOTE: like BaseSymbol.executeReturnInt, the operands
+	 * are folded from right to left, and a divisor is
+	 * checked before the operand it divides is computed. */
+	private void compileExpr(Symbol expr) {
+		if(expr.getType().equals(SymbolType.Factor)) {
+			this.compileFactor(expr);
+			return;
+		}
+		List<Symbol> children = expr.getChildren();
+		this.compileExpr(children.get(children.size() - 1));
+
+		// Apply each operator to the operand on its left and the result
+		for(int i = children.size() - 2; i > 0; i -= 2) {
+			Core operator = expr.getArena().getToken(children.get(i).getNode());
+			if(operator.equals(Core.DIVIDE)) {
+				this.emit(CHECK_DIVISOR);
+			}
+			this.compileExpr(children.get(i - 1));
+			switch(operator) {
+				case ADD:
+					this.emit(ADD);
+					break;
+				case SUBTRACT:
+					this.emit(SUBTRACT);
+					break;
+				case MULTIPLY:
+					this.emit(MULTIPLY);
+					break;
+				default:
+					this.emit(DIVIDE);
+					break;
+			}
+		}
+	}
+
+	// CONST | ( <expr> ) | ID | ID [ STRING ]
+	private void compileFactor(Symbol factor) {
+		List<Symbol> children = factor.getChildren();
+		Core first = factor.getArena().getToken(children.get(0).getNode());
+		if(factor.getTerminalChildren().contains("[")) {
+			this.emit(LOAD_KEY, this.resolve(children.get(0)),
+					this.stringId(children.get(2).getNameOrValue()));
+		}
+		else if(first.equals(Core.CONST)) {
+			this.emit(CONST, factor.getArena().getPayload(children.get(0).getNode()));
+		}
+		else if(first.equals(Core.LPAREN)) {
+			this.compileExpr(children.get(1));
+		} else {
+			int slot = this.resolve(children.get(0));
+			this.emit(this.types.get(slot).equals(Core.INTEGER) ? LOAD_INT : LOAD_DEFAULT, slot);
+		}
+	}
+
+	// Compiles a stmt-seq symbol in a scope of its own
+	private void compileBlock(Symbol stmtSeq) {
+		this.enterBlock();
+		this.compileStmtSeq(stmtSeq);
+		this.exitBlock();
+	}
+
+	// Starts a new scope in the current frame
+	private void enterBlock() {
+		this.blockSlots.push(new ArrayList<>());
+	}
+
+	/* Leaves the current scope, updating the references
+	 * of the variables that were declared in it. */
+	private void exitBlock() {
+		List<Integer> slots = this.blockSlots.pop();
+		if(!slots.isEmpty()) {
+			this.emit(EXIT_SCOPE, this.addScope(slots));
+		}
+	}
+
+	// Adds the slots of a scope to the program and returns its index
+	private int addScope(List<Integer> slots) {
+		this.scopes.add(slots.stream().mapToInt(Integer::intValue).toArray());
+		return this.scopes.size() - 1;
+	}
+
+	/* Declares the variable in a slot of the current scope
+	 * and returns the slot.
+	 * NOTE: a variable that is declared again in the same
+	 * scope replaces the old one, so it keeps its slot. Only
+	 * objects are recorded for the scope, since integers
+	 * have no references to update, so a scope without
+	 * objects doesn't need an EXIT_SCOPE. */
+	private int declareLocal(int slot, Core type) {
+		if(type.equals(Core.OBJECT) && !this.blockSlots.peek().contains(slot)) {
+			this.blockSlots.peek().add(slot);
+		}
+		this.types.put(slot, type);
+		return slot;
+	}
+
+	/* Returns the slot of the variable an ID terminal names.
+	 * Prints an error message and exits the program
+	 * if the variable can't be found. */
+	private int resolve(Symbol id) {
+		int slot = id.getArena().getSlot(id.getNode());
+		if(slot == AstArena.NO_SLOT) {
+			ErrorHandler.handleError("ERROR: \'" + id.getNameOrValue() + "\' is used but never declared.");
+		}
+		return slot;
+	}
+
+	// Returns the index of a key or identifier in the strings of the program
+	private int stringId(String string) {
+		Integer id = this.stringIds.get(string);
+		if(id == null) {
+			id = this.strings.size();
+			this.strings.add(string);
+			this.stringIds.put(string, id);
+		}
+		return id;
+	}
+
+	// Returns the ID terminals of a parameters symbol
+	private List<Symbol> identifiers(Symbol parameters) {
+		List<Symbol> identifiers = new ArrayList<>();
+		for(Symbol terminal : parameters.getChildren()) {
+			if(!terminal.getNameOrValue().equals(",")) {
+				identifiers.add(terminal);
+			}
+		}
+		return identifiers;
+	}
+
+	// Returns the type of variable a decl-integer or decl-obj symbol declares
+	private static Core declType(Symbol decl) {
+		return decl.getType().equals(SymbolType.DeclInteger) ? Core.INTEGER : Core.OBJECT;
+	}
+
+	// Stores the value on top of the stack in a variable based on its type
+	private void emitStore(int slot) {
+		this.emit(this.types.get(slot).equals(Core.INTEGER) ? STORE_INT : STORE_DEFAULT, slot);
+	}
+
+	// Emits a jump whose address is patched later and returns where it is
+	private int emitJump(int opcode) {
+		this.emit(opcode, -1);
+		return this.size - 1;
+	}
+
+	// Makes a jump go to the next instruction
+	private void patch(int jump) {
+		this.code[jump] = this.size;
+	}
+
+	// Appends an instruction or operands to the bytecode
+	private void emit(int... values) {
+		for(int value : values) {
+
+			// Grow the bytecode if it is full
+			if(this.size == this.code.length) {
+				this.code = Arrays.copyOf(this.code, this.size * 2);
+			}
+			this.code[this.size++] = value;
+		}
+	}
+}
@@ -0,0 +1,154 @@
+package CoreLang;
+
+/* This class stores a Core program that was
+ * compiled by the BytecodeCompiler into a single
+ * int array of bytecode for the VirtualMachine.
+ * Each instruction is an opcode followed by its
+ * operands. Values are kept on an operand stack,
+ * and booleans are stored on it as 1 and 0.
+ * Variables are referred to by slot instead of
+ * by name. A slot of zero or more is a slot of
+ * the current frame, and a negative slot s is
+ * global slot -1 - s.
+ * Keys and identifiers are operands that index
+ * into the strings of the program, and a scope
+ * is an operand that indexes into the lists of
+ * slots that are declared in each scope. */
+public class BytecodeProgram{
+
+	// Opcodes (operands are listed after each opcode):
+
+	// CONST value: pushes a constant
+	public static final int CONST = 0;
+	// LOAD_INT slot: pushes the value of an integer variable
+	public static final int LOAD_INT = 1;
+	// LOAD_DEFAULT slot: pushes the value of the default key of an object
+	public static final int LOAD_DEFAULT = 2;
+	// LOAD_KEY slot key: pushes the value of a key of an object
+	public static final int LOAD_KEY = 3;
+	// ADD, SUBTRACT, MULTIPLY, DIVIDE: pops the left operand and then the right operand
+	public static final int ADD = 4;
+	public static final int SUBTRACT = 5;
+	public static final int MULTIPLY = 6;
+	public static final int DIVIDE = 7;
+	// CHECK_DIVISOR: reports an error if the value on top of the stack is zero
+	public static final int CHECK_DIVISOR = 8;
+	// EQUAL, LESS: pops two values and pushes whether the first was equal to or less than the second
+	public static final int EQUAL = 9;
+	public static final int LESS = 10;
+	// NOT: negates the boolean on top of the stack
+	public static final int NOT = 11;
+	// DUP, POP: duplicates or removes the value on top of the stack
+	public static final int DUP = 12;
+	public static final int POP = 13;
+	// JUMP address, JUMP_IF_TRUE address, JUMP_IF_FALSE address (the last two pop a boolean)
+	public static final int JUMP = 14;
+	public static final int JUMP_IF_TRUE = 15;
+	public static final int JUMP_IF_FALSE = 16;
+	// DECL_INT slot identifier, DECL_OBJ slot identifier: puts a new variable in a slot
+	// (an integer slot is an int that is reset to 0)
+	public static final int DECL_INT = 17;
+	public static final int DECL_OBJ = 18;
+	// STORE_INT slot: pops a value into an integer variable
+	public static final int STORE_INT = 19;
+	// STORE_DEFAULT slot: pops a value into the default key of an object
+	public static final int STORE_DEFAULT = 20;
+	// STORE_KEY slot key: pops a value into a key of an object
+	public static final int STORE_KEY = 21;
+	// NEW_OBJECT slot key: pops a value into a new object with a given default key
+	public static final int NEW_OBJECT = 22;
+	// CHECK_REF slot: reports an error if an object has a null reference value
+	public static final int CHECK_REF = 23;
+	// ALIAS slot slot: makes the first object point to the reference of the second
+	public static final int ALIAS = 24;
+	// PRINT: pops a value and prints it
+	public static final int PRINT = 25;
+	// READ slot identifier: pushes the next input value (both are only used for the error message)
+	public static final int READ = 26;
+	// EXIT_SCOPE scope: updates the references of the variables of a scope and clears them
+	public static final int EXIT_SCOPE = 27;
+	// CALL function count slot...: calls a function with the objects in count slots
+	public static final int CALL = 28;
+	// RETURN: returns from a function
+	public static final int RETURN = 29;
+	// HALT: ends the program
+	public static final int HALT = 30;
+
+	private final int[] code;
+	private final String[] strings;
+	private final int[][] scopes;
+	private final int[] functionEntries;
+	private final int[] functionSlots;
+	private final int[][] functionParams;
+	private final int mainSlots;
+	private final int globalSlots;
+
+	// Constructor
+	public BytecodeProgram(int[] code, String[] strings, int[][] scopes, int[] functionEntries,
+			int[] functionSlots, int[][] functionParams, int mainSlots, int globalSlots){
+		this.code = code;
+		this.strings = strings;
+		this.scopes = scopes;
+		this.functionEntries = functionEntries;
+		this.functionSlots = functionSlots;
+		this.functionParams = functionParams;
+		this.mainSlots = mainSlots;
+		this.globalSlots = globalSlots;
+	}
+
+	// Returns the bytecode of the program
+	public int[] getCode() {
+		return this.code;
+	}
+
+	// Returns a key or identifier of the program
+	public String getString(int index) {
+		return this.strings[index];
+	}
+
+	// Returns the number of keys and identifiers of the program
+	public int getStringCount() {
+		return this.strings.length;
+	}
+
+	// Returns the number of scopes of the program
+	public int getScopeCount() {
+		return this.scopes.length;
+	}
+
+	// Returns the slots that are declared in a scope
+	public int[] getScope(int scope) {
+		return this.scopes[scope];
+	}
+
+	// Returns the number of functions of the program
+	public int getFunctionCount() {
+		return this.functionEntries.length;
+	}
+
+	// Returns the address of the first instruction of a function
+	public int getFunctionEntry(int function) {
+		return this.functionEntries[function];
+	}
+
+	// Returns the number of slots a frame of a function needs
+	public int getFunctionSlots(int function) {
+		return this.functionSlots[function];
+	}
+
+	/* Returns the identifiers of the formal parameters of
+	 * a function (parameter i is kept in slot i). */
+	public int[] getFunctionParams(int function) {
+		return this.functionParams[function];
+	}
+
+	// Returns the number of slots the frame of the main procedure needs
+	public int getMainSlots() {
+		return this.mainSlots;
+	}
+
+	// Returns the number of global slots
+	public int getGlobalSlots() {
+		return this.globalSlots;
+	}
+}
@@ -1,12 +1,14 @@
 package CoreLang;
 
+import java.util.Arrays;
 import java.util.Stack;
 
 // This class simulates a program's call stack
 public final class CallStack{
 	private static Memory global = new Memory();
+	private static CoreVar[] globalSlots = new CoreVar[16];
+	private static int[] globalInts = new int[16];
 	private static Stack<Frame> callStack = new Stack<>();
-	private static boolean allocateToGlobal = true;
 	
 	// Private constructor to prevent instantiation
 	private CallStack() {}
@@ -14,6 +16,7 @@ public final class CallStack{
 	// Adds a frame to the call stack
 	public static void addFrame(Frame frame) {
 		callStack.push(frame);
+		GarbageCollector.enterFrame();
 	}
 	
 	// Removes a frame from the call stack
@@ -22,6 +25,9 @@ public final class CallStack{
 		// Deallocate local scope of the current frame
 		callStack.peek().deallocateScopeMem();
 		callStack.pop();
+		
+		// Sweep the objects the frame allocated
+		GarbageCollector.exitFrame();
 	}
 	
 	// Add memory for a new scope in the current stack frame
@@ -34,32 +40,83 @@ public final class CallStack{
 		callStack.peek().deallocateScopeMem();
 	}
 	
-	// Stops variables from being allocated to global space
-	public static void stopGlobalMemAlloc() {
-		allocateToGlobal = false;
+	/* Allocate memory for a given object variable in a slot of the current 
+	 * stack frame, or in the global scope if the slot is negative. */
+	public static void allocateMem(int slot, CoreVar var) {
+		if(slot >= 0) {
+			callStack.peek().allocateMem(slot, var);
+			return;
+		}
+		
+		// Make room for the global slot if needed
+		int globalSlot = -1 - slot;
+		if(globalSlot >= globalSlots.length) {
+			globalSlots = Arrays.copyOf(globalSlots, Math.max(globalSlots.length * 2, globalSlot + 1));
+		}
+		globalSlots[globalSlot] = var;
+		global.allocateMem(var);
 	}
 	
-	// Allocate memory for a given variable in the current stack frame
-	public static void allocateMem(CoreVar var) {
+	/* Declares an integer variable in a slot of the current stack
+	 * frame or the global scope by resetting the slot to 0. */
+	public static void declareInt(int slot) {
+		if(slot >= 0) {
+			callStack.peek().setInt(slot, 0);
+			return;
+		}
 		
-		/* Allocate the memory to the global scope or local scope
-		 * of the current frame.*/
-		if(allocateToGlobal) {
-			global.allocateMem(var);
+		// Make room for the global slot if needed
+		int globalSlot = -1 - slot;
+		if(globalSlot >= globalInts.length) {
+			globalInts = Arrays.copyOf(globalInts, Math.max(globalInts.length * 2, globalSlot + 1));
+		}
+		globalInts[globalSlot] = 0;
+	}
+	
+	// Returns the value of the integer variable in a slot
+	public static int getInt(int slot) {
+		return slot >= 0 ? callStack.peek().getInt(slot) : globalInts[-1 - slot];
+	}
+	
+	// Sets the value of the integer variable in a slot
+	public static void setInt(int slot, int value) {
+		if(slot >= 0) {
+			callStack.peek().setInt(slot, value);
 		} else {
-			callStack.peek().allocateMem(var);
+			globalInts[-1 - slot] = value;
+		}
+	}
+	
+	/* Retrieve the object variable in a slot of the current stack frame
+	 * or the global scope.
+	 * Returns null if the variable couldn't be resolved to a slot. */
+	public static CoreVar retrieveVar(int slot) {
+		if(slot == AstArena.NO_SLOT) {
+			return null;
 		}
+		return slot >= 0 ? callStack.peek().retrieveVar(slot) : globalSlots[-1 - slot];
 	}
 	
-	/* Retrieve a variable from memory in the current stack frame
-	 * Returns null if the variable isn't there. */
-	public static CoreVar retrieveVar(String identifier) {
-		return callStack.peek().retrieveVar(identifier, global);
+	// Removes a variable from the current scope of the current stack frame
+	public static void removeVar(int id) {
+		callStack.peek().removeVar(id);
 	}
 	
-	// Removes a variable from memory in the current stack frame
-	public static void removeVar(String identifier) {
-		callStack.peek().removeVar(identifier);
+	/* Marks the objects of the global variables and of the
+	 * variables of every frame on the call stack for the
+	 * GarbageCollector. */
+	public static void markRoots() {
+		markGlobals();
+		for(Frame frame : callStack) {
+			frame.markRoots();
+		}
+	}
+	
+	// Marks the objects of the global variables for the GarbageCollector
+	public static void markGlobals() {
+		for(CoreVar var : globalSlots) {
+			GarbageCollector.mark(var);
+		}
 	}
 	
 	// Tells the size of the call stack
@@ -0,0 +1,74 @@
+package CoreLang;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/* This class describes a function once, so a
+ * call doesn't have to walk the children of the
+ * function every time it is made.
+ * It holds the number of slots a frame of the
+ * function needs, the slots and identifier IDs of
+ * its formal parameters in order, and its body.
+ * NOTE: a call can be linked before the body of
+ * the function it calls is specialized, so the
+ * body is looked up the first time it is run. */
+public class CallTarget{
+	private final int numSlots;
+	private final int[] formalSlots;
+	private final int[] formalIds;
+	private final AstArena arena;
+	private final int bodyNode;
+	private Symbol body;
+
+	// Constructor that describes a given function symbol
+	public CallTarget(Symbol function) {
+		AstArena arena = function.getArena();
+		List<Symbol> formals = new ArrayList<>();
+
+		// Only the identifiers of the parameters have slots, the commas are skipped
+		for(Symbol child : function.getNonTerminalChildren().get(0).getChildren()) {
+			if(arena.getSlot(child.getNode()) != AstArena.NO_SLOT) {
+				formals.add(child);
+			}
+		}
+		this.numSlots = arena.getSlot(function.getNode());
+		this.formalSlots = new int[formals.size()];
+		this.formalIds = new int[formals.size()];
+		for(int i = 0; i < formals.size(); i++) {
+			this.formalSlots[i] = arena.getSlot(formals.get(i).getNode());
+			this.formalIds[i] = arena.getPayload(formals.get(i).getNode());
+		}
+		this.arena = arena;
+		this.bodyNode = function.getNonTerminalChildren().get(1).getNode();
+	}
+
+	/* Makes a frame for a call with the formal parameters
+	 * aliased to the objects in the given slots of the
+	 * caller's frame.
+	 * NOTE: every formal parameter is created before any
+	 * of them is aliased, just like Call.execute does. */
+	public Frame createFrame(int[] argSlots) {
+		Frame frame = new Frame(this.numSlots);
+		frame.allocateScopeMem();
+		for(int i = 0; i < this.formalSlots.length; i++) {
+			frame.allocateMem(this.formalSlots[i], new CoreVar.ObjectVar(this.formalIds[i]));
+		}
+		for(int i = 0; i < this.formalSlots.length; i++) {
+			frame.retrieveVar(this.formalSlots[i]).alias(CallStack.retrieveVar(argSlots[i]));
+		}
+		return frame;
+	}
+
+	// Returns the arity of the function
+	public int getArity() {
+		return this.formalSlots.length;
+	}
+
+	// Returns the body of the function
+	public Symbol getBody() {
+		if(this.body == null) {
+			this.body = this.arena.getSymbol(this.bodyNode);
+		}
+		return this.body;
+	}
+}
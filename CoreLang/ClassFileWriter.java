@@ -0,0 +1,177 @@
+package CoreLang;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+/* This class writes a JVM class file whose
+ * members are public static methods.
+ * It only holds the constant pool entries the
+ * JvmCompiler needs. The class file uses version
+ * 49 of the format, which is verified without a
+ * StackMapTable, so the compiler doesn't have to
+ * compute stack map frames for its jumps. */
+public class ClassFileWriter{
+	private static final int VERSION = 49;
+	private static final int UTF8 = 1;
+	private static final int INTEGER = 3;
+	private static final int CLASS = 7;
+	private static final int METHOD_REF = 10;
+	private static final int NAME_AND_TYPE = 12;
+	private static final int PUBLIC = 0x0001;
+	private static final int STATIC = 0x0008;
+	private static final int FINAL = 0x0010;
+	private static final int SUPER = 0x0020;
+
+	private final ByteArrayOutputStream poolBytes;
+	private final DataOutputStream pool;
+	private final Map<String, Integer> entries;
+	private final ByteArrayOutputStream methodBytes;
+	private final DataOutputStream methods;
+	private int poolSize;
+	private int numMethods;
+
+	// Constructor
+	public ClassFileWriter(){
+		this.poolBytes = new ByteArrayOutputStream();
+		this.pool = new DataOutputStream(this.poolBytes);
+		this.entries = new HashMap<>();
+		this.methodBytes = new ByteArrayOutputStream();
+		this.methods = new DataOutputStream(this.methodBytes);
+		this.poolSize = 1;
+		this.numMethods = 0;
+	}
+
+	// Returns the constant pool index of a UTF-8 string
+	public int utf8(String value) {
+		Integer index = this.entries.get("U" + value);
+		if(index == null) {
+			try {
+				this.pool.writeByte(UTF8);
+				this.pool.writeUTF(value);
+			} catch(IOException e) {
+				ErrorHandler.handleError("ERROR: Couldn't write the class file.", e);
+			}
+			index = this.addEntry("U" + value);
+		}
+		return index;
+	}
+
+	// Returns the constant pool index of an int constant
+	public int integer(int value) {
+		Integer index = this.entries.get("I" + value);
+		if(index == null) {
+			try {
+				this.pool.writeByte(INTEGER);
+				this.pool.writeInt(value);
+			} catch(IOException e) {
+				ErrorHandler.handleError("ERROR: Couldn't write the class file.", e);
+			}
+			index = this.addEntry("I" + value);
+		}
+		return index;
+	}
+
+	// Returns the constant pool index of a class with a given internal name
+	public int classRef(String name) {
+		return this.reference(CLASS, "C" + name, this.utf8(name), -1);
+	}
+
+	// Returns the constant pool index of a method
+	public int methodRef(String owner, String name, String descriptor) {
+		return this.reference(METHOD_REF, "M" + owner + "." + name + descriptor, this.classRef(owner),
+				this.nameAndType(name, descriptor));
+	}
+
+	// Returns the constant pool index of a name and a descriptor
+	private int nameAndType(String name, String descriptor) {
+		return this.reference(NAME_AND_TYPE, "N" + name + ":" + descriptor, this.utf8(name), this.utf8(descriptor));
+	}
+
+	/* Returns the constant pool index of an entry that refers
+	 * to one or two other entries (second is -1 if there is
+	 * only one). */
+	private int reference(int tag, String key, int first, int second) {
+		Integer index = this.entries.get(key);
+		if(index == null) {
+			try {
+				this.pool.writeByte(tag);
+				this.pool.writeShort(first);
+				if(second != -1) {
+					this.pool.writeShort(second);
+				}
+			} catch(IOException e) {
+				ErrorHandler.handleError("ERROR: Couldn't write the class file.", e);
+			}
+			index = this.addEntry(key);
+		}
+		return index;
+	}
+
+	// Records a new entry of the constant pool and returns its index
+	private int addEntry(String key) {
+		int index = this.poolSize++;
+		this.entries.put(key, index);
+		return index;
+	}
+
+	// Adds a public static method with the given bytecode to the class
+	public void addMethod(String methodName, String descriptor, int maxStack, int maxLocals, byte[] code) {
+		int name = this.utf8(methodName);
+		int type = this.utf8(descriptor);
+		int codeAttribute = this.utf8("Code");
+		try {
+			this.methods.writeShort(PUBLIC | STATIC);
+			this.methods.writeShort(name);
+			this.methods.writeShort(type);
+			this.methods.writeShort(1);
+			this.methods.writeShort(codeAttribute);
+			this.methods.writeInt(12 + code.length);
+			this.methods.writeShort(maxStack);
+			this.methods.writeShort(maxLocals);
+			this.methods.writeInt(code.length);
+			this.methods.write(code);
+			this.methods.writeShort(0);
+			this.methods.writeShort(0);
+		} catch(IOException e) {
+			ErrorHandler.handleError("ERROR: Couldn't write the class file.", e);
+		}
+		this.numMethods++;
+	}
+
+	/* Returns the bytes of a final class with a given internal
+	 * name whose members are the methods that were added. */
+	public byte[] toByteArray(String className) {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		DataOutputStream out = new DataOutputStream(bytes);
+
+		// Add the entries the class refers to before writing the pool
+		int thisClass = this.classRef(className);
+		int superClass = this.classRef("java/lang/Object");
+
+		try {
+			out.writeInt(0xCAFEBABE);
+			out.writeShort(0);
+			out.writeShort(VERSION);
+			out.writeShort(this.poolSize);
+			this.poolBytes.writeTo(out);
+			out.writeShort(PUBLIC | FINAL | SUPER);
+			out.writeShort(thisClass);
+			out.writeShort(superClass);
+			out.writeShort(0);
+			out.writeShort(0);
+
+			// Write the methods with their code attributes
+			out.writeShort(this.numMethods);
+			this.methodBytes.writeTo(out);
+
+			// The class has no attributes
+			out.writeShort(0);
+		} catch(IOException e) {
+			ErrorHandler.handleError("ERROR: Couldn't write the class file.", e);
+		}
+		return bytes.toByteArray();
+	}
+}
@@ -0,0 +1,16 @@
+package CoreLang;
+
+/* This interface defines the methods that
+ * every lexer engine used by the CoreScanner
+ * needs to implement. */
+public interface CoreLexer{
+
+	/* Builds the next token and returns it.
+	 * Returns EOS once the end of the file
+	 * has been reached. */
+	public Core nextToken();
+
+	/* Returns the string representation of the
+	 * value of the token that was built last. */
+	public String getTokenText();
+}
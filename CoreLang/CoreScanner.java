@@ -2,21 +2,69 @@ package CoreLang;
 
 import static CoreLang.Core.*;
 
-// This class implements the scanner for the Core language
+/* This class implements the scanner for the Core language.
+ * With the DFA lexer (sequential or parallel), the whole
+ * file is tokenized up front into a TokenStream and the
+ * scanner is just a cursor over it. The other lexer
+ * engines build one token at a time. */
 public class CoreScanner {
-	private Tokenizer tokenizer;
-	private CoreToken coreToken;
+	private TokenStream tokens;
+	private int cursor;
+	private CoreLexer lexer;
 	private Core currToken;
 	
     // Initialize the scanner
     public CoreScanner(String filename) {
-
-    	// Initialize the Tokenizer to build and return each token.
-    	this.tokenizer = new Tokenizer(new FileReaderHelper(filename));
+    	
+    	/* Tokenize the whole file with the DFA lexer unless
+    	 * another engine was chosen in the run options.
+    	 * NOTE: the DfaTokenizer needs the whole file in
+    	 * memory, so a streamed file always uses the
+    	 * reference Tokenizer. */
+    	if(RunOptions.streamSource() || RunOptions.getLexer().equals("reference")) {
+    		this.lexer = new Tokenizer(new FileReaderHelper(filename));
+    	}
+    	else if(RunOptions.getLexer().equals("compare")) {
+    		this.lexer = new LexerComparator(new Tokenizer(new FileReaderHelper(filename)), 
+    				new DfaTokenizer(SourceBuffer.load(filename)), filename);
+    	}
+    	else if(RunOptions.getLexer().equals("parallel")) {
+    		this.tokens = ParallelLexer.build(SourceBuffer.load(filename), RunOptions.getThreads());
+    		this.cursor = -1;
+    	} else {
+    		this.tokens = TokenStream.build(SourceBuffer.load(filename));
+    		this.cursor = -1;
+    	}
     	
     	// Build first token and store it inside of currToken
-    	this.coreToken = tokenizer.getCoreToken();
-    	this.currToken = this.coreToken.getToken();
+    	this.advance();
+    }
+    
+    // Moves to the next token of the stream or builds it with the lexer
+    private void advance() {
+    	
+    	// Build the token with the lexer if there is no stream
+    	if(this.tokens == null) {
+    		this.currToken = this.lexer.nextToken();
+    		return;
+    	}
+    	this.cursor++;
+    	this.currToken = this.tokens.getKind(this.cursor);
+    	
+    	// Report an invalid token once we reach it
+    	if(this.currToken.equals(ERROR)) {
+    		ErrorHandler.handleError(this.tokens.getErrorMessage());
+    	}
+    }
+    
+    // Returns the string representation of the value of the current token
+    private String getTokenText() {
+    	
+    	// Ask the lexer if there is no stream
+    	if(this.tokens == null) {
+    		return this.lexer.getTokenText();
+    	}
+    	return this.tokens.getText(this.cursor);
     }
 
     /* Advance to the next token. 
@@ -26,13 +74,12 @@ public class CoreScanner {
     public void nextToken() {
     	
     	// Handle case when one tries to advance past the EOS token
-    	if(this.coreToken.equals(EOS)) {
+    	if(this.currToken.equals(EOS)) {
     		ErrorHandler.handleError("ERROR: No next token. Already reached EOS.");
     	}
     	
     	// Build the next token and store it inside of currToken
-    	this.coreToken = tokenizer.getCoreToken();
-    	this.currToken = this.coreToken.getToken();
+    	this.advance();
     }
 
     // Return the current token
@@ -47,11 +94,11 @@ public class CoreScanner {
     public String getId() {
 
     	// Check if the token is a STRING token
-    	if(!this.coreToken.equals(ID)) {
+    	if(!this.currToken.equals(ID)) {
     		ErrorHandler.handleError("ERROR: Cannot use an ID token method on a " + 
     				this.currToken.toString() + " token.");
     	}
-		String str = this.coreToken.getStrRep().toString();
+		String str = this.getTokenText();
 		
     	return str;
     }
@@ -63,15 +110,31 @@ public class CoreScanner {
     public int getConst() {
 
     	// Check if the token is a CONST token
-    	if(!this.coreToken.equals(CONST)) {
+    	if(!this.currToken.equals(CONST)) {
     		ErrorHandler.handleError("ERROR: Cannot use a CONST token method on a " + 
     				this.currToken.toString() + " token.");
     	}
-		int val = Integer.parseInt(coreToken.getStrRep().toString());
+		
+		// Constants in the stream have already been parsed
+		if(this.tokens != null) {
+			return this.tokens.getPayload(this.cursor);
+		}
+		int val = Integer.parseInt(this.lexer.getTokenText());
 		
     	return val;
     }
 	
+	/* Returns the NameTable ID of an ID or STRING
+	 * token's string value. */
+    public int getNameId() {
+    	
+    	// Names in the stream have already been interned
+    	if(this.tokens != null) {
+    		return this.tokens.getPayload(this.cursor);
+    	}
+    	return NameTable.intern(this.lexer.getTokenText());
+    }
+	
 	/* Return a STRING token's string value.
 	 * Prints an error message and exits the
 	 * program if the current token is not
@@ -79,11 +142,11 @@ public class CoreScanner {
     public String getString() {
 
     	// Check if the token is a STRING token
-    	if(!this.coreToken.equals(STRING)) {
+    	if(!this.currToken.equals(STRING)) {
     		ErrorHandler.handleError("ERROR: Cannot use a STRING token method on a " + 
     				this.currToken.toString() + " token.");
     	}
-		String str = this.coreToken.getStrRep().toString();
+		String str = this.getTokenText();
 		
     	return str;
     }
@@ -95,11 +158,11 @@ public class CoreScanner {
     public String getSymbol() {
     	
     	// Check if the token is a symbol token
-    	if(!this.coreToken.isSymbol()) {
+    	if(!CoreCollections.getSymbolsMap().containsKey(this.currToken) && !this.currToken.equals(EQUAL)) {
     		ErrorHandler.handleError("ERROR: Cannot use a symbol token method on a " + 
     				this.currToken.toString() + " token.");
     	}
-    	String str = this.coreToken.getStrRep().toString();
+    	String str = this.getTokenText();
     	return str;
     }
 }
@@ -1,8 +1,6 @@
 package CoreLang;
 
 import static CoreLang.Core.*;
-import java.util.Map;
-import java.util.TreeMap;
 
 /* This interface contains all
  * of the methods that classes
@@ -12,7 +10,7 @@ import java.util.TreeMap;
 public interface CoreVar{
 	
 	// Updates the reference of the variable (for object variables)
-	public void updateVar(String key, int value, boolean replaceMap);
+	public void updateVar(int key, int value, boolean replaceMap);
 	
 	// Updates the value of the variable (for integer variables)
 	public void updateVar(int value);
@@ -23,20 +21,23 @@ public interface CoreVar{
 	// Returns the variable's identifier
 	public String getIdentifier();
 	
+	// Returns the NameTable ID of the variable's identifier
+	public int getId();
+	
 	// Returns the value of the variable (for integer variables)
 	public int getValue();
 	
 	// Checks if a key exists (for object variables)
-	public boolean keyExists(String key);
+	public boolean keyExists(int key);
 	
 	// Returns the value of the variable (for object variables)
-	public int getValue(String key);
+	public int getValue(int key);
 	
 	// Returns the default key of an object
-	public String getDefaultKey();
+	public int getDefaultKey();
 	
 	// Returns the reference of an object variable
-	public Map<String, Integer> getReference();
+	public ObjectStore getReference();
 	
 	// Make an object point to the same reference as another object
 	public void alias(CoreVar var);
@@ -52,106 +53,27 @@ public interface CoreVar{
 	
 	// Classes that implement the CoreVar interface
 	
-	public class IntegerVar implements CoreVar{
-		private int value;
-		private final String identifier;
-		
-		// Constructor
-		public IntegerVar(String identifier) {
-			this.value = 0;
-			this.identifier = identifier;
-		}
-
-		// N/A for an integer variable update
-		@Override
-		public void updateVar(String key, int value, boolean replaceMap) {
-			return;
-		}
-		
-		@Override
-		public void updateVar(int value) {
-			this.value = value;
-		}
-
-		@Override
-		public String getIdentifier() {
-			return this.identifier;
-		}
-		
-		@Override
-		public int getValue() {
-			return this.value;
-		}
-		
-		@Override
-		public Core getVarType() {
-			return INTEGER;
-		}
-		
-		// N/A for an integer variable
-		@Override
-		public int getValue(String key) {
-			return this.value;
-		}
-		
-		// N/A for an integer variable 
-		@Override
-		public void alias(CoreVar var) {
-			return;
-		}
-		
-		// N/A for an integer variable
-		@Override
-		public String getDefaultKey() {
-			return "";
-		}
-		
-		// N/A for an integer variable
-		@Override
-		public boolean keyExists(String key) {
-			return false;
-		}
-		
-		// N/A for an integer variable
-		@Override
-		public boolean refIsNull() {
-			return true;
-		}
-		
-		// N/A for an integer variable
-		@Override
-		public Map<String, Integer> getReference(){
-			return null;
-		}
-		
-		// N/A for an integer variable
-		@Override
-		public void updateRefCount(boolean increase) {
-			return;
-		}
-		
-		// N/A for an integer variable
-		@Override
-		public int getRefCount() {
-			return 0;
-		}
-	}
-	
+	/* Keys are the NameTable IDs of the key strings,
+	 * quotes included, so they are interned once when
+	 * the program is prepared instead of being hashed
+	 * or compared on every access. */
 	public class ObjectVar implements CoreVar{
-		private Map<String, Integer> reference;
-		private final String identifier;
-		private StringBuilder defaultKey = new StringBuilder();
+		private static final int NO_KEY = NameTable.intern("");
+		private static final int APPENDED_KEY = NameTable.intern("<appended key>");
+		private ObjectStore reference;
+		private final int id;
+		private int defaultKey = NO_KEY;
 		private int refCount;
 		
-		// Constructor
-		public ObjectVar(String identifier) {
+		// Constructor for the identifier with a given NameTable ID
+		public ObjectVar(int id) {
 			this.reference = null;
-			this.identifier = identifier;
+			this.id = id;
 			this.refCount = 0;
 		}
 
 		@Override
-		public void updateVar(String key, int value, boolean replaceMap) {
+		public void updateVar(int key, int value, boolean replaceMap) {
 			
 			// Conduct assignment or initialize the object
 			if(replaceMap) {
@@ -166,21 +88,16 @@ public interface CoreVar{
 				}
 				
 				// Initialize the object and the default key
-				this.reference = new TreeMap<>();
-				this.defaultKey.append(key);
+				this.reference = GarbageCollector.allocate();
+				this.defaultKey = appendKey(this.defaultKey, key);
 				this.reference.put(key, value);
 				this.refCount++;
 				
 				// Update the number of reachable objects in the program
 				GarbageCollector.update(true);
-			} 
-			else if(this.reference.containsKey(key)){
-				
-				// Update value associated with the key
-				this.reference.replace(key, value);
 			} else {
 				
-				// Add a new key value pair
+				// Update the value associated with the key or add a new key value pair
 				this.reference.put(key, value);
 			}
 		}
@@ -193,7 +110,12 @@ public interface CoreVar{
 
 		@Override
 		public String getIdentifier() {
-			return this.identifier;
+			return NameTable.getName(this.id);
+		}
+		
+		@Override
+		public int getId() {
+			return this.id;
 		}
 		
 		// N/A for an object variable
@@ -202,17 +124,18 @@ public interface CoreVar{
 			return -1;
 		}
 		
-		public int getValue(String key) {
+		@Override
+		public int getValue(int key) {
 			return this.reference.get(key);
 		}
 		
 		@Override
-		public String getDefaultKey() {
-			return this.defaultKey.toString();
+		public int getDefaultKey() {
+			return this.defaultKey;
 		}
 		
 		@Override
-		public boolean keyExists(String key) {
+		public boolean keyExists(int key) {
 			return this.reference.containsKey(key);
 		}
 		
@@ -227,7 +150,7 @@ public interface CoreVar{
 		}
 		
 		@Override
-		public Map<String, Integer> getReference(){
+		public ObjectStore getReference(){
 			return this.reference;
 		}
 		
@@ -256,7 +179,7 @@ public interface CoreVar{
 		public void alias(CoreVar var) {
 			
 			// Change reference and the default key for the given variable
-			this.defaultKey.replace(0, this.defaultKey.length(), var.getDefaultKey());
+			this.defaultKey = var.getDefaultKey();
 			this.reference = var.getReference();
 			
 			/* Update reference count and check if object is unreachable.
@@ -270,5 +193,22 @@ public interface CoreVar{
 				}
 			}
 		}
+		
+		/* Returns the ID of the default key that a new object
+		 * gets when it replaces an object that had a given
+		 * default key.
+		 * NOTE: the new key is appended to the old default
+		 * key, so only an object that never had one gets the
+		 * key of the new object as its default key. An appended
+		 * key is never the key of a STRING, and every variable
+		 * that points to an object has the same default key,
+		 * so all appended keys share one ID instead of interning
+		 * longer and longer names. */
+		private static int appendKey(int defaultKey, int key) {
+			if(defaultKey == NO_KEY) {
+				return key;
+			}
+			return APPENDED_KEY;
+		}
 	}
 }
@@ -0,0 +1,294 @@
+package CoreLang;
+
+import static CoreLang.Core.*;
+import java.util.Map;
+
+/* This class creates the tokens for the
+ * CoreScanner by running a table-driven
+ * DFA over a SourceBuffer.
+ * Every character is mapped to a character
+ * class, and the transition table tells us
+ * which state to move to or which token to
+ * emit. No CoreToken or TokenClassifier
+ * objects are created, keywords are recognized
+ * by the KeywordRecognizer straight from the
+ * character buffer, and the string
+ * representation of a token is only built
+ * when the CoreScanner asks for it.
+ * NOTE: the Tokenizer class is the reference
+ * engine; this class must produce exactly the
+ * same tokens and error messages. */
+public class DfaTokenizer implements CoreLexer{
+
+	// Character classes
+	private static final int C_WHITESPACE = 0;
+	private static final int C_LETTER = 1;
+	private static final int C_DIGIT = 2;
+	private static final int C_QUOTE = 3;
+	private static final int C_EQUAL = 4;
+	private static final int C_SYMBOL = 5;
+	private static final int C_OTHER = 6;
+	private static final int C_EOS = 7;
+
+	// States (non-negative entries in the transition table)
+	private static final int S_START = 0;
+	private static final int S_ID = 1;
+	private static final int S_CONST = 2;
+	private static final int S_STRING = 3;
+	private static final int S_ASSIGN = 4;
+
+	// Actions (negative entries in the transition table)
+	private static final int A_ID = -1;
+	private static final int A_CONST = -2;
+	private static final int A_STRING = -3;
+	private static final int A_SYMBOL = -4;
+	private static final int A_ASSIGN = -5;
+	private static final int A_EQUAL = -6;
+	private static final int A_EOS = -7;
+	private static final int A_INVALID_SYMBOL = -8;
+	private static final int A_INVALID_STRING = -9;
+
+	/* The transition table, indexed by state and then by
+	 * character class. */
+	private static final int[][] TRANSITIONS = {
+			// WHITESPACE, LETTER, DIGIT, QUOTE, EQUAL, SYMBOL, OTHER, EOS
+			{S_START, S_ID, S_CONST, S_STRING, S_ASSIGN, A_SYMBOL, A_INVALID_SYMBOL, A_EOS},
+			{A_ID, S_ID, S_ID, A_ID, A_ID, A_ID, A_ID, A_ID},
+			{A_CONST, A_CONST, S_CONST, A_CONST, A_CONST, A_CONST, A_CONST, A_CONST},
+			{S_STRING, S_STRING, S_STRING, A_STRING, S_STRING, S_STRING, S_STRING, A_INVALID_STRING},
+			{A_ASSIGN, A_ASSIGN, A_ASSIGN, A_ASSIGN, A_EQUAL, A_ASSIGN, A_ASSIGN, A_ASSIGN}};
+
+	private static final int ASCII_SIZE = 128;
+	private static final byte[] ASCII_CLASSES = new byte[ASCII_SIZE];
+	private static final Core[] SYMBOL_TOKENS = new Core[ASCII_SIZE];
+
+	// Precompute the character classes and the token tables
+	static {
+		for(char c = 0; c < ASCII_SIZE; c++) {
+			ASCII_CLASSES[c] = (byte)classifyChar(c);
+		}
+		for(Map.Entry<Core, Character> entry : CoreCollections.getSymbolsMap().entrySet()) {
+			char symbol = entry.getValue();
+
+			// The equal sign has its own class because it can start ASSIGN or EQUAL
+			if(symbol != '=') {
+				ASCII_CLASSES[symbol] = C_SYMBOL;
+				SYMBOL_TOKENS[symbol] = entry.getKey();
+			}
+		}
+		ASCII_CLASSES['\''] = C_QUOTE;
+		ASCII_CLASSES['='] = C_EQUAL;
+	}
+
+	private final char[] chars;
+	private final int length;
+	private int position;
+	private Core token;
+	private int tokenBegin;
+	private int tokenStart;
+	private int tokenEnd;
+	private String errorMessage;
+
+	// Constructor
+	public DfaTokenizer(SourceBuffer buffer){
+		this(buffer, buffer.getPosition());
+	}
+
+	// Overloaded constructor that starts at a given position of the buffer
+	public DfaTokenizer(SourceBuffer buffer, int position){
+		this.chars = buffer.getChars();
+		this.length = buffer.length();
+		this.position = position;
+	}
+
+	/* Classifies a character that isn't covered by the
+	 * precomputed ASCII table. */
+	private static int classifyChar(int c) {
+		if(Character.isWhitespace((char)c)) {
+			return C_WHITESPACE;
+		}
+		else if(Character.isDigit(c)) {
+			return C_DIGIT;
+		}
+		else if(Character.isLetter(c)) {
+			return C_LETTER;
+		}
+		return C_OTHER;
+	}
+
+	/* Builds the next token and returns it.
+	 * Prints an error message and exits the program
+	 * if the token is invalid. */
+	@Override
+	public Core nextToken() {
+		Core token = this.scan();
+
+		// Report an invalid token right away
+		if(token.equals(ERROR)) {
+			ErrorHandler.handleError(this.errorMessage);
+		}
+		return token;
+	}
+
+	/* Builds the next token and returns it.
+	 * Returns an ERROR token, without exiting the
+	 * program, if the token is invalid. The error
+	 * message can then be read with getErrorMessage(). */
+	public Core scan() {
+		int pos = this.position;
+		int start = pos;
+		int state = S_START;
+		int action;
+
+		// Run the DFA until the transition table tells us to emit a token
+		while(true) {
+			int c = pos < this.length ? this.chars[pos] : -1;
+			int charClass;
+			if(c < 0) {
+				charClass = C_EOS;
+			}
+			else if(c < ASCII_SIZE) {
+				charClass = ASCII_CLASSES[c];
+			} else {
+				charClass = classifyChar(c);
+			}
+			int next = TRANSITIONS[state][charClass];
+
+			// Stop once the current character ends the token
+			if(next < 0) {
+				action = next;
+				break;
+			}
+
+			/* Mark where the token starts when we leave the start state.
+			 * The opening single quote of a STRING is not part of its value. */
+			if(state == S_START) {
+				start = charClass == C_QUOTE ? pos + 1 : pos;
+			}
+			state = next;
+			pos++;
+		}
+
+		// Emit the token that the action stands for
+		this.tokenBegin = state == S_STRING ? start - 1 : start;
+		this.tokenStart = start;
+		this.tokenEnd = pos;
+		switch(action) {
+			case A_ID:
+				this.token = KeywordRecognizer.recognize(this.chars, start, pos - start);
+				break;
+			case A_CONST:
+				this.token = CONST;
+				this.validateConstant();
+				break;
+			case A_STRING:
+				this.token = STRING;
+
+				// Consume the closing single quote
+				pos++;
+				break;
+			case A_SYMBOL:
+				this.token = SYMBOL_TOKENS[this.chars[pos]];
+				this.tokenBegin = pos;
+				this.tokenStart = pos;
+				pos++;
+				this.tokenEnd = pos;
+				break;
+			case A_ASSIGN:
+				this.token = ASSIGN;
+				break;
+			case A_EQUAL:
+				this.token = EQUAL;
+				pos++;
+				this.tokenEnd = pos;
+				break;
+			case A_EOS:
+				this.token = EOS;
+				this.tokenBegin = pos;
+				this.tokenStart = pos;
+				break;
+			case A_INVALID_SYMBOL:
+				this.token = ERROR;
+				this.tokenBegin = pos;
+				this.tokenStart = pos;
+				this.tokenEnd = pos + 1;
+				this.errorMessage = "ERROR: \'" + this.chars[pos] + "\' is not a valid symbol token.";
+				break;
+			default:
+				this.token = ERROR;
+				this.errorMessage = "ERROR: \'" + this.getTokenText() +
+						"\' is an invalid STRING (missing closing single quote).";
+				break;
+		}
+		this.position = pos;
+		return this.token;
+	}
+
+	@Override
+	public String getTokenText() {
+		return new String(this.chars, this.tokenStart, this.tokenEnd - this.tokenStart);
+	}
+
+	/* Returns where the current token starts in the buffer.
+	 * NOTE: unlike getTokenStart(), this includes the
+	 * opening single quote of a STRING token. */
+	public int getTokenBegin() {
+		return this.tokenBegin;
+	}
+
+	// Returns the position right after the current token
+	public int getPosition() {
+		return this.position;
+	}
+
+	// Returns where the value of the current token starts in the buffer
+	public int getTokenStart() {
+		return this.tokenStart;
+	}
+
+	// Returns the length of the value of the current token
+	public int getTokenLength() {
+		return this.tokenEnd - this.tokenStart;
+	}
+
+	/* Returns the value of the current token if it is a
+	 * CONST token.
+	 * NOTE: a valid CONST has at most four digits, so this
+	 * never overflows. */
+	public int getConstValue() {
+		int value = 0;
+		for(int i = this.tokenStart; i < this.tokenEnd; i++) {
+			value = value * 10 + Character.digit(this.chars[i], 10);
+		}
+		return value;
+	}
+
+	/* Returns the error message for the current token
+	 * if it is an ERROR token. */
+	public String getErrorMessage() {
+		return this.errorMessage;
+	}
+
+	/* Checks whether a CONST token is valid and turns it
+	 * into an ERROR token if it isn't. */
+	private void validateConstant() {
+		final int MAXSTRLEN = 5;
+		final int CEILING = 8191;
+		int tokenLength = this.tokenEnd - this.tokenStart;
+		boolean leadingZero = this.chars[this.tokenStart] == '0' && tokenLength > 1;
+
+		// Check for leading zeroes or too big of a value
+		if(leadingZero || tokenLength >= MAXSTRLEN || Integer.parseInt(this.getTokenText()) > CEILING) {
+			this.token = ERROR;
+
+			// Determine which rule the CONST token violates
+			if(leadingZero) {
+				this.errorMessage = "ERROR: " + this.getTokenText() + " is an Invalid CONST. "
+						+ "CONST cannot have leading zeroes.";
+			} else {
+				this.errorMessage = "ERROR: " + this.getTokenText() + " is an Invalid CONST. "
+						+ "CONST is too big.";
+			}
+		}
+	}
+}
@@ -2,6 +2,7 @@ package CoreLang;
 
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.util.EnumSet;
 import java.util.Iterator;
 import java.util.Queue;
 import java.util.Set;
@@ -12,15 +13,21 @@ public final class ErrorHandler{
 	// Private constructor to prevent instantiation
 	private ErrorHandler() {}
 	
-	// Prints error message and exits the program
+	/* Prints error message and exits the program
+	 * (after the output the program printed so far,
+	 * and followed by the gc summary or histogram if
+	 * one was chosen). */
 	public static void handleError(String msg) {
+		OutputWriter.flush();
 		System.out.println(msg);
+		GarbageCollector.report();
 		System.exit(0);
 	}
 	
 	/* Prints an error message, gets the stack trace for an 
 	 * IOException, and exits the program. */
 	public static void handleError(String msg, IOException e) {
+		OutputWriter.flush();
 		System.out.println(msg);
 		e.getStackTrace();
 		System.exit(0);
@@ -29,6 +36,7 @@ public final class ErrorHandler{
 	/* Prints an error message, gets the stack trace for 
 	 * a file not found exception, and exits the program. */
 	public static void handleError(String msg, FileNotFoundException e) {
+		OutputWriter.flush();
 		System.out.println(msg);
 		e.getStackTrace();
 		System.exit(0);
@@ -49,14 +57,16 @@ public final class ErrorHandler{
 	}
 	
 	/* Handles when a token isn't equal to any of the possible tokens
-	 * that it can be equal to according to the grammar. */
+	 * that it can be equal to according to the grammar.
+	 * NOTE: the tokens are listed in the order of the Core enum,
+	 * since the order of a first set's keys changes between runs. */
 	public static void handleTokenNotInFirstSet(Core actualToken, Set<Core> targetTokens, String symbol) {
 		
 		// Print error message and exit from program
 		System.out.print("ERROR parsing " + symbol + ": Token must be ");
 		
 		// Print all tokens that are missing
-		Iterator<Core> iterator = targetTokens.iterator();
+		Iterator<Core> iterator = EnumSet.copyOf(targetTokens).iterator();
 		int elementsPrinted = 0;
 		while(iterator.hasNext()) {
 			
@@ -9,15 +9,33 @@ import java.io.PushbackReader;
  * characters from a file. 
  * I wrote this so I wouldn't have
  * any try-catch statements in the
- * Tokenizer class. */
+ * Tokenizer class.
+ * By default the whole file is loaded
+ * into a SourceBuffer and the characters
+ * are read from memory. The file is only
+ * read one character at a time through a
+ * PushbackReader when the source is
+ * streamed. */
 public class FileReaderHelper{
 	private PushbackReader reader;
+	private SourceBuffer buffer;
 	private final String fileName;
 	
 	// Constructor
 	public FileReaderHelper(String fileName){
+		this(fileName, RunOptions.streamSource());
+	}
+	
+	// Overloaded constructor that chooses how the file is read
+	public FileReaderHelper(String fileName, boolean streamSource){
 		this.fileName = fileName;
 		
+		// Load the file into memory unless it should be streamed
+		if(!streamSource) {
+			this.buffer = SourceBuffer.load(fileName);
+			return;
+		}
+		
 		// Initialize PushbackReader
 		try {
 			this.reader = new PushbackReader(new FileReader(fileName));
@@ -33,6 +51,11 @@ public class FileReaderHelper{
 	 * Returns -2 if an error occurs while reading the file. */
 	public int getFirstChar() {
 		
+		// Read straight from memory if the file was loaded
+		if(this.buffer != null) {
+			return this.buffer.nextNonWhitespace();
+		}
+		
 		// Read the first character of the token
 		int firstCharAsInt = -2;
 		try {
@@ -58,6 +81,12 @@ public class FileReaderHelper{
 	 * Returns -2 if a problem
 	 * occurs while reading the file. */
 	public int getNextChar() {
+		
+		// Read straight from memory if the file was loaded
+		if(this.buffer != null) {
+			return this.buffer.next();
+		}
+		
 		int nextChar = -2;
 		try {
 			nextChar = reader.read();
@@ -67,8 +96,18 @@ public class FileReaderHelper{
 		return nextChar;
 	}
 	
-	// Unreads a character
+	/* Unreads a character
+	 * NOTE: the character being unread is always
+	 * the last character that was read, so the
+	 * buffer only needs to move its cursor back. */
 	public void unreadChar(int currCharAsInt) {
+		
+		// Move back in memory if the file was loaded
+		if(this.buffer != null) {
+			this.buffer.unread();
+			return;
+		}
+		
 		try {
 			reader.unread(currCharAsInt);
 		} catch (IOException e) {
@@ -76,8 +115,20 @@ public class FileReaderHelper{
 		}
 	}
 	
+	/* Returns the buffer that holds the file.
+	 * Returns null if the file is being streamed. */
+	public SourceBuffer getBuffer() {
+		return this.buffer;
+	}
+	
 	// Closes the file
 	public void closeFile() {
+		
+		// A file loaded into memory is already closed
+		if(this.buffer != null) {
+			return;
+		}
+		
 		try {
 			
 			// Make sure we don't try to close a null reader
@@ -1,61 +1,116 @@
 package CoreLang;
 
-import java.util.Iterator;
-import java.util.Stack;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
-// This class represents a frame on the call stack
+/* This class represents a frame on the call stack.
+ * The variables of a frame are kept in slots that
+ * the Resolver assigned. Integer variables are
+ * plain ints in an int array, and object variables
+ * are kept in an array of their own. The memory
+ * of each scope remembers which objects were
+ * declared in it so their references can be
+ * updated when the scope is left, and the slots
+ * the scope filled are cleared, like the VM does,
+ * so the GarbageCollector doesn't keep the objects
+ * of a scope that was left alive.
+ * The memory of a scope is cleared and kept when
+ * the scope is left, so the next scope at the same
+ * depth (like the next run of a loop body) reuses
+ * it instead of allocating a new one. */
 public class Frame{
-	private Stack<Memory> frame;
+	private List<Memory> frame;
+	private int depth;
+	private CoreVar[] slots;
+	private int[] ints;
+	private int[] scopeSlots;
+	private int numScopeSlots;
+	private int[] scopeStarts;
 	
-	// Constructor
-	public Frame() {
-		this.frame = new Stack<>();
+	// Constructor for a frame with a given number of slots
+	public Frame(int numSlots) {
+		this.frame = new ArrayList<>();
+		this.depth = 0;
+		this.slots = new CoreVar[numSlots];
+		this.ints = new int[numSlots];
+		this.scopeSlots = new int[4];
+		this.numScopeSlots = 0;
+		this.scopeStarts = new int[4];
 	}
 	
 	// Allocates memory for a scope of the program
 	public void allocateScopeMem() {
-		this.frame.push(new Memory());
+		
+		// Only create a new memory the first time a depth is reached
+		if(this.depth == this.frame.size()) {
+			this.frame.add(new Memory());
+		}
+		
+		// Remember where the slots of the scope start
+		if(this.depth == this.scopeStarts.length) {
+			this.scopeStarts = Arrays.copyOf(this.scopeStarts, this.depth * 2);
+		}
+		this.scopeStarts[this.depth] = this.numScopeSlots;
+		this.depth++;
 	}
 	
 	// Deallocates memory for a scope of the program
 	public void deallocateScopeMem() {
+		Memory scope = this.frame.get(--this.depth);
 		
 		// Update the references before exiting scope
-		this.frame.peek().updateReferences();
-		this.frame.pop();
-	}
-	
-	// Allocates memory for a variable in the current scope
-	public void allocateMem(CoreVar var) {
-		this.frame.peek().allocateMem(var);
+		scope.updateReferences();
+		scope.clear();
+		
+		// Clear the slots the scope filled
+		int start = this.scopeStarts[this.depth];
+		for(int i = start; i < this.numScopeSlots; i++) {
+			this.slots[this.scopeSlots[i]] = null;
+		}
+		this.numScopeSlots = start;
 	}
 	
-	/* Retrieve a variable from memory in the frame
-	 * Returns null if the variable isn't there. */
-	public CoreVar retrieveVar(String identifier, Memory global) {
-		CoreVar var = null;
-		Iterator<Memory> iterator = this.frame.iterator();
+	// Allocates memory for an object variable in a slot of the current scope
+	public void allocateMem(int slot, CoreVar var) {
+		this.frame.get(this.depth - 1).allocateMem(var);
 		
-		// Conduct search
-		while(iterator.hasNext()) {
-			Memory currScopeMem = iterator.next();
-			
-			// Check if variable was found
-			if(currScopeMem.memContainsVar(identifier)) {
-				var = currScopeMem.retrieveVar(identifier);
+		/* Remember the slot so it is cleared when the scope is left
+		 * NOTE: a slot that is already filled was filled in this scope. */
+		if(this.slots[slot] == null) {
+			if(this.numScopeSlots == this.scopeSlots.length) {
+				this.scopeSlots = Arrays.copyOf(this.scopeSlots, this.numScopeSlots * 2);
 			}
+			this.scopeSlots[this.numScopeSlots++] = slot;
 		}
-		
-		// Check if variable is in global memory
-		if(var == null && global.memContainsVar(identifier)) {
-			var = global.retrieveVar(identifier);
+		this.slots[slot] = var;
+	}
+	
+	// Retrieve the object variable in a slot of the frame
+	public CoreVar retrieveVar(int slot) {
+		return this.slots[slot];
+	}
+	
+	// Returns the value of the integer variable in a slot of the frame
+	public int getInt(int slot) {
+		return this.ints[slot];
+	}
+	
+	// Sets the value of the integer variable in a slot of the frame
+	public void setInt(int slot, int value) {
+		this.ints[slot] = value;
+	}
+	
+	/* Marks the objects of the variables in the slots of the
+	 * frame for the GarbageCollector. */
+	public void markRoots() {
+		for(CoreVar var : this.slots) {
+			GarbageCollector.mark(var);
 		}
-		
-		return var;
 	}
 	
-	// Removes a variable from the frame
-	public void removeVar(String identifier) {
-		this.frame.peek().removeVar(identifier);
+	// Removes a variable from the current scope of the frame
+	public void removeVar(int id) {
+		this.frame.get(this.depth - 1).removeVar(id);
 	}
 }
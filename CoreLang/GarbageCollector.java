@@ -1,19 +1,315 @@
 package CoreLang;
 
-/* This class represents the garbage collector 
- * for the Core programming language. */
+import java.util.Arrays;
+
+/* This class represents the garbage collector
+ * for the Core programming language.
+ * Every object a program creates is allocated
+ * at the end of the nursery. When a frame is
+ * popped off the call stack, the objects that
+ * were allocated while it ran are swept: the
+ * ones a global variable points to are promoted
+ * to the mature space, and the rest are cleared
+ * and reused by later allocations. Only the
+ * globals have to be marked for this, since an
+ * object can't point to another object, and a
+ * function can't change the variables of the
+ * frames below it.
+ * The size of the heap is the number of key slots
+ * in the tables of its objects, which ObjectStore
+ * reports whenever a table grows. When the heap
+ * fills up, the collector marks every object that
+ * a variable of a frame on the call stack or a
+ * global variable still points to, sweeps the rest
+ * out of the mature space, and promotes the whole
+ * nursery. If the slots of the live objects are
+ * still more than the heap limit (the -heap
+ * option), the program is stopped with an error.
+ * The gc lines a program prints still come from
+ * the reference counts of the variables, so they
+ * are the same no matter when a collection runs.
+ * They are written by the OutputWriter, unless
+ * the -gc option asks for a summary or histogram
+ * at the end of the program instead.
+ * The collector can also time its frame sweeps
+ * and collections (see timePauses), which
+ * gc_pauses.sh uses to report the pause times. */
 public final class GarbageCollector{
+	private static final int INITIAL_THRESHOLD = 1024;
+	private static final long INITIAL_SLOT_THRESHOLD = 8192;
+	private static final int MAX_POOLED = 1024;
 	private static int numReachableObjs = 0;
-	
-	// Updates the garbage collector's number of reachable objects
+	private static int numUpdates = 0;
+	private static int peakReachableObjs = 0;
+	private static int[] histogram = new int[16];
+	private static int[] negativeHistogram = new int[1];
+	private static ObjectStore[] nursery = new ObjectStore[INITIAL_THRESHOLD];
+	private static int nurseryTop = 0;
+	private static ObjectStore[] mature = new ObjectStore[INITIAL_THRESHOLD];
+	private static int numMature = 0;
+	private static int[] frameMarks = new int[16];
+	private static int numFrames = 0;
+	private static int markPass = 0;
+	private static long numSlots = 0;
+	private static long threshold = INITIAL_SLOT_THRESHOLD;
+	private static ObjectStore[] pool = new ObjectStore[MAX_POOLED];
+	private static int numPooled = 0;
+	private static long numAllocations = 0;
+	private static boolean timed = false;
+	private static long numSweeps = 0;
+	private static long sweepNanos = 0;
+	private static long maxSweepNanos = 0;
+	private static long numCollections = 0;
+	private static long collectionNanos = 0;
+	private static long maxCollectionNanos = 0;
+	private static RootSet roots = new RootSet() {
+		@Override
+		public void markRoots() {
+			CallStack.markRoots();
+		}
+
+		@Override
+		public void markGlobals() {
+			CallStack.markGlobals();
+		}
+	};
+
+	// Private constructor to prevent instantiation
+	private GarbageCollector() {}
+
+	/* The variables a collection starts from.
+	 * The tree marks the frames of the CallStack, and
+	 * the VirtualMachine marks frames of its own. */
+	public interface RootSet{
+
+		// Passes every object variable that is in use to mark
+		public void markRoots();
+
+		// Passes every global object variable to mark
+		public void markGlobals();
+	}
+
+	/* Updates the garbage collector's number of reachable objects.
+	 * The new number is printed as a gc line by the OutputWriter,
+	 * or only counted if a summary or histogram was chosen. */
 	public static void update(boolean increaseCount) {
-		
+
 		// Check if we are adding or subtracting from the reachable object count
 		if(increaseCount) {
-			System.out.println("gc:" + ++numReachableObjs);
-		} 
+			++numReachableObjs;
+		}
 		else {
-			System.out.println("gc:" + --numReachableObjs);
+			--numReachableObjs;
+		}
+		if(RunOptions.printsGcLines()) {
+			OutputWriter.printGcLine(numReachableObjs);
+			return;
+		}
+
+		// Count how often each number of reachable objects was reached
+		numUpdates++;
+		peakReachableObjs = Math.max(peakReachableObjs, numReachableObjs);
+		if(numReachableObjs >= 0) {
+			histogram = countBin(histogram, numReachableObjs);
+		} else {
+			negativeHistogram = countBin(negativeHistogram, -numReachableObjs);
+		}
+	}
+
+	/* Prints the gc summary or histogram once the program
+	 * is finished (the gc lines were already printed). */
+	public static void report() {
+		if(RunOptions.getGcOutput().equals("summary")) {
+			System.out.println("gc: " + numUpdates + " updates, peak " + peakReachableObjs
+					+ ", final " + numReachableObjs);
+		}
+		else if(RunOptions.getGcOutput().equals("histogram")) {
+
+			// Print one line for each number of reachable objects that was reached, from the lowest
+			for(int i = negativeHistogram.length - 1; i > 0; i--) {
+				if(negativeHistogram[i] > 0) {
+					System.out.println("gc:" + -i + " x" + negativeHistogram[i]);
+				}
+			}
+			for(int i = 0; i < histogram.length; i++) {
+				if(histogram[i] > 0) {
+					System.out.println("gc:" + i + " x" + histogram[i]);
+				}
+			}
+		}
+	}
+
+	// Starts timing every frame sweep and every collection
+	public static void timePauses() {
+		timed = true;
+	}
+
+	/* Prints the number of objects that were allocated, the
+	 * number of allocations per second of a run that took the
+	 * given time, and the number, total time, and longest time
+	 * of the frame sweeps and of the collections to standard
+	 * error, so they aren't mixed with the output of the program. */
+	public static void reportPauses(long runNanos) {
+		System.err.println("allocations: " + numAllocations + " in " + runNanos / 1000000 + "ms, "
+				+ numAllocations * 1000000000 / Math.max(runNanos, 1) + " per second");
+		System.err.println("frame sweeps: " + numSweeps + ", total " + sweepNanos / 1000 + "us, max "
+				+ maxSweepNanos / 1000 + "us");
+		System.err.println("collections: " + numCollections + ", total " + collectionNanos / 1000 + "us, max "
+				+ maxCollectionNanos / 1000 + "us");
+	}
+
+	// Sets the variables that collections start from
+	public static void setRoots(RootSet rootSet) {
+		roots = rootSet;
+	}
+
+	/* Allocates an empty object in the nursery.
+	 * Runs a collection first if the slots of the object
+	 * would fill the heap, and prints an error message and
+	 * exits the program if they would still pass the heap
+	 * limit after it. */
+	public static ObjectStore allocate() {
+
+		// Reuse a swept object if there is one
+		ObjectStore object = numPooled > 0 ? pool[--numPooled] : new ObjectStore();
+		if(numSlots + object.capacity() > Math.min(threshold, RunOptions.getHeapLimit())) {
+			collect();
+			checkHeapLimit(object.capacity());
+		}
+		numSlots += object.capacity();
+		if(nurseryTop == nursery.length) {
+			nursery = Arrays.copyOf(nursery, nurseryTop * 2);
+		}
+		nursery[nurseryTop++] = object;
+		numAllocations++;
+		return object;
+	}
+
+	/* Counts the slots an object gained when its table grew.
+	 * Runs a collection if the heap now passes its limit, and
+	 * prints an error message and exits the program if the
+	 * live objects still pass it after the collection. */
+	public static void grow(int slots) {
+		numSlots += slots;
+		if(numSlots > RunOptions.getHeapLimit()) {
+			collect();
+			checkHeapLimit(0);
+		}
+	}
+
+	// Remembers where the nursery ended when a frame was pushed
+	public static void enterFrame() {
+		if(numFrames == frameMarks.length) {
+			frameMarks = Arrays.copyOf(frameMarks, numFrames * 2);
+		}
+		frameMarks[numFrames++] = nurseryTop;
+	}
+
+	/* Sweeps the objects that were allocated while the
+	 * frame that is being popped ran. */
+	public static void exitFrame() {
+		int frameMark = frameMarks[--numFrames];
+		if(nurseryTop == frameMark) {
+			return;
+		}
+		long start = timed ? System.nanoTime() : 0;
+		markPass++;
+		roots.markGlobals();
+		sweepNursery(frameMark);
+
+		// Count the pause if the sweeps are timed
+		if(timed) {
+			long nanos = System.nanoTime() - start;
+			numSweeps++;
+			sweepNanos += nanos;
+			maxSweepNanos = Math.max(maxSweepNanos, nanos);
+		}
+	}
+
+	// Marks the object a variable points to as live
+	public static void mark(CoreVar var) {
+		if(var != null && var.getReference() != null) {
+			var.getReference().mark(markPass);
+		}
+	}
+
+	/* Marks every object the roots point to, sweeps the
+	 * unmarked ones out of the mature space, and promotes
+	 * the live objects of the nursery. */
+	public static void collect() {
+		long start = timed ? System.nanoTime() : 0;
+		markPass++;
+		roots.markRoots();
+
+		// Move the live objects to the front of the mature space
+		int numLive = 0;
+		for(int i = 0; i < numMature; i++) {
+			ObjectStore object = mature[i];
+			if(object.isMarked(markPass)) {
+				mature[numLive++] = object;
+			} else {
+				free(object);
+			}
+		}
+		Arrays.fill(mature, numLive, numMature, null);
+		numMature = numLive;
+		sweepNursery(0);
+
+		// Every frame now starts with an empty nursery
+		Arrays.fill(frameMarks, 0, numFrames, 0);
+
+		// Wait until the heap has doubled before collecting again
+		threshold = Math.min(Math.max(INITIAL_SLOT_THRESHOLD, 2 * numSlots), RunOptions.getHeapLimit());
+
+		// Count the pause if the collections are timed
+		if(timed) {
+			long nanos = System.nanoTime() - start;
+			numCollections++;
+			collectionNanos += nanos;
+			maxCollectionNanos = Math.max(maxCollectionNanos, nanos);
+		}
+	}
+
+	/* Promotes the marked objects of the nursery from a given
+	 * index on to the mature space and frees the rest. */
+	private static void sweepNursery(int start) {
+		for(int i = start; i < nurseryTop; i++) {
+			ObjectStore object = nursery[i];
+			if(object.isMarked(markPass)) {
+				if(numMature == mature.length) {
+					mature = Arrays.copyOf(mature, numMature * 2);
+				}
+				mature[numMature++] = object;
+			} else {
+				free(object);
+			}
+			nursery[i] = null;
+		}
+		nurseryTop = start;
+	}
+
+	// Adds one to a bin of a histogram, growing the histogram if needed
+	private static int[] countBin(int[] bins, int bin) {
+		if(bin >= bins.length) {
+			bins = Arrays.copyOf(bins, Math.max(bins.length * 2, bin + 1));
+		}
+		bins[bin]++;
+		return bins;
+	}
+
+	// Stops the program if the live objects and a given number of new slots pass the heap limit
+	private static void checkHeapLimit(int newSlots) {
+		if(numSlots + newSlots > RunOptions.getHeapLimit()) {
+			ErrorHandler.handleError("ERROR: Heap limit of " + RunOptions.getHeapLimit() + " key slots reached.");
+		}
+	}
+
+	// Clears an unreachable object and keeps it for reuse if the pool has room
+	private static void free(ObjectStore object) {
+		numSlots -= object.capacity();
+		if(numPooled < MAX_POOLED) {
+			object.clear();
+			pool[numPooled++] = object;
 		}
 	}
 }
@@ -0,0 +1,145 @@
+package CoreLang;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/* This class maps the IDs that the NameTable
+ * gives identifiers to values.
+ * It is an open-addressing hash table with linear
+ * probing over parallel arrays, so a lookup hashes
+ * an int instead of comparing strings, and no
+ * entry objects are allocated.
+ * NOTE: the values are kept in no particular order. */
+public class IdMap<V>{
+	private static final int INITIAL_CAPACITY = 8;
+	private static final int EMPTY = -1;
+	private int[] keys;
+	private Object[] values;
+	private int size;
+
+	// Constructor
+	public IdMap(){
+		this.keys = new int[INITIAL_CAPACITY];
+		this.values = new Object[INITIAL_CAPACITY];
+		this.size = 0;
+		Arrays.fill(this.keys, EMPTY);
+	}
+
+	// Returns the value of an ID, or null if the ID isn't in the map
+	@SuppressWarnings("unchecked")
+	public V get(int id) {
+		int slot = this.find(id);
+		return this.keys[slot] == EMPTY ? null : (V) this.values[slot];
+	}
+
+	// Tells whether an ID is in the map
+	public boolean containsKey(int id) {
+		return this.keys[this.find(id)] != EMPTY;
+	}
+
+	// Maps an ID to a value, replacing the value it had
+	public void put(int id, V value) {
+		int slot = this.find(id);
+
+		// Add the ID if it is new
+		if(this.keys[slot] == EMPTY) {
+			this.keys[slot] = id;
+			this.size++;
+		}
+		this.values[slot] = value;
+
+		// Keep the table at most half full
+		if(this.size * 2 > this.keys.length) {
+			this.rehash();
+		}
+	}
+
+	/* Removes an ID from the map.
+	 * NOTE: the entries after the removed one are moved
+	 * back, so no probe ever runs into a gap that used to
+	 * hold an entry. */
+	public void remove(int id) {
+		int slot = this.find(id);
+		if(this.keys[slot] == EMPTY) {
+			return;
+		}
+		int mask = this.keys.length - 1;
+		int next = (slot + 1) & mask;
+		while(this.keys[next] != EMPTY) {
+
+			// Move an entry back if its home slot isn't between the gap and it
+			int home = hash(this.keys[next]) & mask;
+			if(((next - home) & mask) >= ((next - slot) & mask)) {
+				this.keys[slot] = this.keys[next];
+				this.values[slot] = this.values[next];
+				slot = next;
+			}
+			next = (next + 1) & mask;
+		}
+		this.keys[slot] = EMPTY;
+		this.values[slot] = null;
+		this.size--;
+	}
+
+	// Removes every ID from the map
+	public void clear() {
+		if(this.size > 0) {
+			Arrays.fill(this.keys, EMPTY);
+			Arrays.fill(this.values, null);
+			this.size = 0;
+		}
+	}
+
+	// Returns the number of IDs in the map
+	public int size() {
+		return this.size;
+	}
+
+	// Passes each value of the map to an action
+	@SuppressWarnings("unchecked")
+	public void forEachValue(Consumer<V> action) {
+		for(int slot = 0; slot < this.keys.length && this.size > 0; slot++) {
+			if(this.keys[slot] != EMPTY) {
+				action.accept((V) this.values[slot]);
+			}
+		}
+	}
+
+	// Returns the slot that holds an ID, or the empty slot where it would go
+	private int find(int id) {
+		int mask = this.keys.length - 1;
+		int slot = hash(id) & mask;
+
+		// Probe until we find the ID or an empty slot
+		while(this.keys[slot] != EMPTY && this.keys[slot] != id) {
+			slot = (slot + 1) & mask;
+		}
+		return slot;
+	}
+
+	// Doubles the number of slots and reinserts every entry
+	private void rehash() {
+		int[] oldKeys = this.keys;
+		Object[] oldValues = this.values;
+		this.keys = new int[oldKeys.length * 2];
+		this.values = new Object[oldKeys.length * 2];
+		Arrays.fill(this.keys, EMPTY);
+		int mask = this.keys.length - 1;
+		for(int i = 0; i < oldKeys.length; i++) {
+			if(oldKeys[i] != EMPTY) {
+				int slot = hash(oldKeys[i]) & mask;
+				while(this.keys[slot] != EMPTY) {
+					slot = (slot + 1) & mask;
+				}
+				this.keys[slot] = oldKeys[i];
+				this.values[slot] = oldValues[i];
+			}
+		}
+	}
+
+	// Spreads the bits of an ID, since IDs are handed out in order
+	private static int hash(int id) {
+		int hash = id * 0x9E3779B9;
+		return hash ^ (hash >>> 16);
+	}
+}
@@ -1,27 +1,76 @@
 package CoreLang;
 
-import java.util.Iterator;
-import java.util.LinkedList;
-import java.util.Queue;
+import java.util.List;
 import static CoreLang.ParseInstruction.Instruction.*;
+import CoreLang.Symbol.SymbolType;
 
-// This class manages the instruction set of a symbol
+/* This class manages the instruction set of a node
+ * of the parse tree while it is parsed.
+ * The instruction set itself is shared by every node
+ * of the same type, so this class only holds the parse
+ * state of its own node, which it adds children to in
+ * the AstArena of the tree. */
 public class InstructionManager{
-	private Symbol symbol;
+	private final AstArena arena;
+	private final int node;
 	private boolean doneParsing;
 	private boolean instructionsInvalid;
 	private boolean repeatInstructions;
-	private Queue<ParseInstruction> parseInstructs;
+	private final List<ParseInstruction> parseInstructs;
+	private long skippedInstructs;
 	
 	// Constructor
-	public InstructionManager(Symbol symbol) {
-		this.symbol = symbol;
-		this.parseInstructs = new LinkedList<>();
+	public InstructionManager(AstArena arena, int node) {
+		this.arena = arena;
+		this.node = node;
+		this.parseInstructs = SymbolFactory.getInstructionSet(arena.getType(node));
+		this.skippedInstructs = 0;
 		this.doneParsing = false;
 		this.instructionsInvalid = false;
 		this.repeatInstructions = false;
 	}
 	
+	// Returns the arena the node is in
+	public AstArena getArena() {
+		return this.arena;
+	}
+	
+	// Returns the node that is parsed
+	public int getNode() {
+		return this.node;
+	}
+	
+	// Returns the type of the node
+	public SymbolType getType() {
+		return this.arena.getType(this.node);
+	}
+	
+	// Returns the name of the type of the node, which parse errors are reported with
+	public String getName() {
+		return TreeBuilder.getName(this.arena, this.node);
+	}
+	
+	// Adds the current token of the scanner as a terminal child of the node
+	public void addTerminalChild(CoreScanner scanner) {
+		TreeBuilder.addTerminal(this.arena, this.node, scanner);
+	}
+	
+	// Adds a non-terminal child of a given type to the node and parses it
+	public void parseChild(SymbolType type, CoreScanner scanner) {
+		int child = TreeBuilder.addNonTerminal(this.arena, this.node, type);
+		new InstructionManager(this.arena, child).executeParseInstructions(scanner);
+	}
+	
+	// Returns the string representations of the terminal children of the node
+	public List<String> getTerminalChildren() {
+		return this.arena.getTerminalTexts(this.node);
+	}
+	
+	// Counts how many of a given terminal child the node has
+	public int getTerminalChildCount(String value) {
+		return this.arena.countTerminals(this.node, value);
+	}
+	
 	// Get the value of doneParsing
 	public boolean getDoneParsing() {
 		return this.doneParsing;
@@ -52,46 +101,53 @@ public class InstructionManager{
 		this.repeatInstructions = repeatInstructions;
 	}
 	
-	// Registers a parse instruction
-	public void registerParseInstruct(ParseInstruction instruction) {
-		this.parseInstructs.add(instruction);
-	}
-	
 	/* Executes a symbol's parse instruction set; this 
-	 * is the general methodology for parsing each symbol. */
+	 * is the general methodology for parsing each symbol. 
+	 * NOTE: the instruction set is shared, so instructions
+	 * of an invalid possible instruction set are marked as
+	 * skipped in skippedInstructs (one bit per instruction)
+	 * instead of being removed from the set. */
 	public void executeParseInstructions(CoreScanner scanner) {
-		Iterator<ParseInstruction> iterator = this.parseInstructs.iterator();
+		int index = 0;
 		
-		// Gives the semantic error checker the current symbol's type
-		SemanticChecker.update(symbol);
+		// Gives the semantic error checker the current node's type
+		SemanticChecker.update(this.arena, this.node);
 	
 		// Parse the instruction set
-		while(iterator.hasNext() && !this.doneParsing) {
+		while(index < this.parseInstructs.size() && !this.doneParsing) {
+			
+			// Skip instructions that were found to be invalid
+			if((this.skippedInstructs & (1L << index)) != 0) {
+				index++;
+				continue;
+			}
 			
 			// Get current instruction
-			ParseInstruction currInstruct = iterator.next();
+			ParseInstruction currInstruct = this.parseInstructs.get(index);
 			
-			/* Check if we need to remove remaining parse 
+			/* Check if we need to skip remaining parse 
 			 * operations of a possible parse instruction set, 
-			 * that was found to be invalid, from parseSeq 
-			 * without first executing them. 
+			 * that was found to be invalid, without first
+			 * executing them. 
 			 * At the start of a new possible parse instruction 
 			 * set, we want to reset the value of parseSeqInvalid
-			 * so that we don't remove the rest of the parse
+			 * so that we don't skip the rest of the parse
 			 * operations without investigating and/or 
 			 * evaluating subsequent possible parse sequences. */
 			if(currInstruct.getInstruction().equals(StartNewPossibleInstructionSet) || 
 					!this.instructionsInvalid) {
-				currInstruct.execute(scanner, this.symbol);
+				currInstruct.execute(scanner, this);
 				
 				// Check if we want to repeat the instruction set
 				if(this.repeatInstructions) {
-					iterator = this.parseInstructs.iterator();
+					index = 0;
 					this.repeatInstructions = false;
+					continue;
 				}
 			} else {
-				iterator.remove();
+				this.skippedInstructs |= 1L << index;
 			}
+			index++;
 		}
 	}
 }
@@ -0,0 +1,479 @@
+package CoreLang;
+
+import static CoreLang.BytecodeProgram.*;
+import java.io.ByteArrayOutputStream;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+
+/* This class translates a BytecodeProgram into
+ * JVM bytecode and runs it as a hidden class, so
+ * the JIT compiler can compile Core loops into
+ * native code.
+ * The main procedure and each function become a
+ * static method of the class. Every integer
+ * variable becomes a local variable of its JVM
+ * method, and the operand stack of the
+ * VirtualMachine becomes the JVM operand stack.
+ * Objects, calls, and reads are left to the
+ * helpers of a JvmRuntime, which work on the same
+ * CoreVar objects as the VirtualMachine, so they
+ * are reported to the GarbageCollector exactly
+ * like the tree reports them. A function is
+ * called with the frame the JvmRuntime made for
+ * it, and its integers start out as new locals.
+ * NOTE: the global integers of a program without
+ * functions are locals of the main method, but
+ * once there are functions they are kept by the
+ * JvmRuntime so every method sees them. */
+public final class JvmCompiler{
+	private static final String CLASS_NAME = "CoreLang/CompiledProgram";
+	private static final String HELPER = "CoreLang/JvmRuntime";
+	private static final String RUNTIME = "L" + HELPER + ";";
+	private static final String FRAME = "[LCoreLang/CoreVar;";
+	private static final String DESCRIPTOR = "(" + RUNTIME + FRAME + ")V";
+	private static final int MAX_CODE_LENGTH = Short.MAX_VALUE;
+
+	// JVM opcodes
+	private static final int ICONST_0 = 0x03;
+	private static final int ICONST_1 = 0x04;
+	private static final int BIPUSH = 0x10;
+	private static final int SIPUSH = 0x11;
+	private static final int LDC_W = 0x13;
+	private static final int ILOAD = 0x15;
+	private static final int ALOAD_0 = 0x2a;
+	private static final int ALOAD_1 = 0x2b;
+	private static final int ISTORE = 0x36;
+	private static final int POP_JVM = 0x57;
+	private static final int DUP_JVM = 0x59;
+	private static final int SWAP = 0x5f;
+	private static final int IADD = 0x60;
+	private static final int ISUB = 0x64;
+	private static final int IMUL = 0x68;
+	private static final int IDIV = 0x6c;
+	private static final int IXOR = 0x82;
+	private static final int IFEQ = 0x99;
+	private static final int IFNE = 0x9a;
+	private static final int IF_ICMPNE = 0xa0;
+	private static final int IF_ICMPGE = 0xa2;
+	private static final int GOTO = 0xa7;
+	private static final int RETURN_JVM = 0xb1;
+	private static final int INVOKESTATIC = 0xb8;
+	private static final int WIDE = 0xc4;
+
+	private final BytecodeProgram program;
+	private final ClassFileWriter writer;
+	private final boolean globalLocals;
+	private final int[] offsets;
+	private ByteArrayOutputStream out;
+
+	// Private constructor to prevent instantiation outside of run
+	private JvmCompiler(BytecodeProgram program) {
+		this.program = program;
+		this.writer = new ClassFileWriter();
+		this.globalLocals = program.getFunctionCount() == 0;
+		this.offsets = new int[program.getCode().length + 1];
+	}
+
+	/* Translates a program into JVM bytecode and runs it.
+	 * Returns false without running anything if the program
+	 * can't be translated, so it can be run by the
+	 * VirtualMachine instead. */
+	public static boolean run(BytecodeProgram program, NumericInputReader input) {
+		MethodHandle main = new JvmCompiler(program).define();
+		if(main == null) {
+			return false;
+		}
+		JvmRuntime runtime = new JvmRuntime(program, input);
+		CoreVar[] vars = runtime.start();
+
+		// Run the program (errors in the program itself are passed on)
+		try {
+			main.invokeExact(runtime, vars);
+		} catch(RuntimeException | Error e) {
+			throw e;
+		} catch(Throwable e) {
+			throw new IllegalStateException(e);
+		}
+		return true;
+	}
+
+	/* Translates the program and defines it as a hidden class.
+	 * Returns the method that runs the program, or null if
+	 * the program can't be translated or defined. */
+	private MethodHandle define() {
+		int numFunctions = this.program.getFunctionCount();
+		int codeLength = this.program.getCode().length;
+
+		// Translate the main procedure and then every function
+		for(int function = -1; function < numFunctions; function++) {
+			int start = function < 0 ? 0 : this.program.getFunctionEntry(function);
+			int end = function + 1 < numFunctions ? this.program.getFunctionEntry(function + 1) : codeLength;
+			int maxLocals = 2 + (function < 0 ? this.program.getMainSlots() : this.program.getFunctionSlots(function));
+			if(function < 0 && this.globalLocals) {
+				maxLocals += this.program.getGlobalSlots();
+			}
+			byte[] code = this.translate(start, end, maxLocals);
+			if(code == null) {
+				return null;
+			}
+			this.writer.addMethod(methodName(function), DESCRIPTOR, this.maxStack(start, end), maxLocals, code);
+		}
+		byte[] classFile = this.writer.toByteArray(CLASS_NAME);
+
+		// Load the class and look up its main method
+		try {
+			MethodHandles.Lookup lookup = MethodHandles.lookup().defineHiddenClass(classFile, true);
+			return lookup.findStatic(lookup.lookupClass(), methodName(-1),
+					MethodType.methodType(void.class, JvmRuntime.class, CoreVar[].class));
+		} catch(ReflectiveOperationException | LinkageError e) {
+			return null;
+		}
+	}
+
+	/* Returns the JVM bytecode of the instructions of the
+	 * program from start up to end, or null if they use an
+	 * instruction that isn't translated.
+	 * NOTE: the bytecode is built twice. The first pass finds
+	 * where each instruction starts so the second pass can
+	 * fill in the offsets of the jumps. */
+	private byte[] translate(int start, int end, int maxLocals) {
+		int[] code = this.program.getCode();
+
+		// Make sure every instruction can be translated
+		for(int pc = start; pc < end; pc += length(code[pc], code, pc)) {
+			if(length(code[pc], code, pc) == 0) {
+				return null;
+			}
+		}
+		for(int pass = 0; pass < 2; pass++) {
+			this.out = new ByteArrayOutputStream();
+
+			// Every integer local starts at 0, like a newly declared integer
+			for(int local = 2; local < maxLocals; local++) {
+				this.emit(ICONST_0);
+				this.emitLocal(ISTORE, local);
+			}
+			for(int pc = start; pc < end; pc += length(code[pc], code, pc)) {
+				this.offsets[pc] = this.out.size();
+				this.translateInstruction(code, pc);
+			}
+			this.offsets[end] = this.out.size();
+		}
+
+		// Jumps can't reach across more than 32KB of bytecode
+		if(this.out.size() > MAX_CODE_LENGTH) {
+			return null;
+		}
+		return this.out.toByteArray();
+	}
+
+	// Translates a single instruction into JVM bytecode
+	private void translateInstruction(int[] code, int pc) {
+		switch(code[pc]) {
+			case CONST:
+				this.emitConst(code[pc + 1]);
+				break;
+			case LOAD_INT:
+				this.emitLoadInt(code[pc + 1]);
+				break;
+			case LOAD_DEFAULT:
+				this.emitRuntimeCall("loadDefault", "(" + RUNTIME + FRAME + "I)I", pc);
+				break;
+			case LOAD_KEY:
+				this.emitRuntimeCall("loadKey", "(" + RUNTIME + FRAME + "I)I", pc);
+				break;
+			case ADD:
+				this.emit(IADD);
+				break;
+			case SUBTRACT:
+
+				// The left operand is on top of the stack
+				this.emit(SWAP);
+				this.emit(ISUB);
+				break;
+			case MULTIPLY:
+				this.emit(IMUL);
+				break;
+			case DIVIDE:
+				this.emit(SWAP);
+				this.emit(IDIV);
+				break;
+			case CHECK_DIVISOR:
+				this.emit(DUP_JVM);
+				this.emitBranch(IFNE, 6);
+				this.emitInvoke(INVOKESTATIC, HELPER, "divideByZero", "()V");
+				break;
+			case EQUAL:
+			case LESS:
+
+				// Push 1 if the comparison holds and 0 if it doesn't
+				this.emitBranch(code[pc] == EQUAL ? IF_ICMPNE : IF_ICMPGE, 7);
+				this.emit(ICONST_1);
+				this.emitBranch(GOTO, 4);
+				this.emit(ICONST_0);
+				break;
+			case NOT:
+				this.emit(ICONST_1);
+				this.emit(IXOR);
+				break;
+			case DUP:
+				this.emit(DUP_JVM);
+				break;
+			case POP:
+				this.emit(POP_JVM);
+				break;
+			case JUMP:
+				this.emitJump(GOTO, code[pc + 1]);
+				break;
+			case JUMP_IF_TRUE:
+				this.emitJump(IFNE, code[pc + 1]);
+				break;
+			case JUMP_IF_FALSE:
+				this.emitJump(IFEQ, code[pc + 1]);
+				break;
+			case DECL_INT:
+				this.emit(ICONST_0);
+				this.emitStoreInt(code[pc + 1]);
+				break;
+			case DECL_OBJ:
+				this.emitRuntimeCall("declObj", "(" + RUNTIME + FRAME + "I)V", pc);
+				break;
+			case STORE_INT:
+				this.emitStoreInt(code[pc + 1]);
+				break;
+			case STORE_DEFAULT:
+				this.emitRuntimeCall("storeDefault", "(I" + RUNTIME + FRAME + "I)V", pc);
+				break;
+			case STORE_KEY:
+				this.emitRuntimeCall("storeKey", "(I" + RUNTIME + FRAME + "I)V", pc);
+				break;
+			case NEW_OBJECT:
+				this.emitRuntimeCall("newObject", "(I" + RUNTIME + FRAME + "I)V", pc);
+				break;
+			case CHECK_REF:
+				this.emitRuntimeCall("checkRef", "(" + RUNTIME + FRAME + "I)V", pc);
+				break;
+			case ALIAS:
+				this.emitRuntimeCall("alias", "(" + RUNTIME + FRAME + "I)V", pc);
+				break;
+			case PRINT:
+
+				// Printed values go through the OutputWriter to stay in order with the gc lines
+				this.emitInvoke(INVOKESTATIC, "CoreLang/OutputWriter", "printValue", "(I)V");
+				break;
+			case READ:
+				this.emit(ALOAD_0);
+				this.emitConst(pc);
+				this.emitInvoke(INVOKESTATIC, HELPER, "read", "(" + RUNTIME + "I)I");
+				break;
+			case EXIT_SCOPE:
+				this.emitRuntimeCall("exitScope", "(" + RUNTIME + FRAME + "I)V", pc);
+				break;
+			case CALL:
+
+				// Make the frame of the function, run it, and pop the frame
+				this.emitRuntimeCall("enter", "(" + RUNTIME + FRAME + "I)" + FRAME, pc);
+				this.emit(ALOAD_0);
+				this.emit(SWAP);
+				this.emitInvoke(INVOKESTATIC, CLASS_NAME, methodName(code[pc + 1]), DESCRIPTOR);
+				this.emit(ALOAD_0);
+				this.emitInvoke(INVOKESTATIC, HELPER, "exit", "(" + RUNTIME + ")V");
+				break;
+			default:
+
+				// RETURN and HALT
+				this.emit(RETURN_JVM);
+				break;
+		}
+	}
+
+	/* Returns the number of ints an instruction takes up in
+	 * the program, or 0 if it can't be translated. */
+	private static int length(int opcode, int[] code, int pc) {
+		switch(opcode) {
+			case ADD:
+			case SUBTRACT:
+			case MULTIPLY:
+			case DIVIDE:
+			case CHECK_DIVISOR:
+			case EQUAL:
+			case LESS:
+			case NOT:
+			case DUP:
+			case POP:
+			case PRINT:
+			case RETURN:
+			case HALT:
+				return 1;
+			case CONST:
+			case LOAD_INT:
+			case LOAD_DEFAULT:
+			case JUMP:
+			case JUMP_IF_TRUE:
+			case JUMP_IF_FALSE:
+			case STORE_INT:
+			case STORE_DEFAULT:
+			case CHECK_REF:
+			case EXIT_SCOPE:
+				return 2;
+			case LOAD_KEY:
+			case DECL_INT:
+			case DECL_OBJ:
+			case STORE_KEY:
+			case NEW_OBJECT:
+			case ALIAS:
+			case READ:
+				return 3;
+			case CALL:
+				return 3 + code[pc + 2];
+			default:
+				return 0;
+		}
+	}
+
+	/* Returns how deep the operand stack can get in the
+	 * instructions of the program from start up to end.
+	 * NOTE: the compiled code only jumps forward out of
+	 * a condition with the stack as deep as it is at the
+	 * jump's target, so one pass in order is enough. The
+	 * extra room covers the runtime, frame, and address
+	 * that are pushed for a helper of the JvmRuntime. */
+	private int maxStack(int start, int end) {
+		int[] code = this.program.getCode();
+		int depth = 0;
+		int max = 0;
+		for(int pc = start; pc < end; pc += length(code[pc], code, pc)) {
+			switch(code[pc]) {
+				case CONST:
+				case LOAD_INT:
+				case LOAD_DEFAULT:
+				case LOAD_KEY:
+				case DUP:
+				case READ:
+					depth++;
+					break;
+				case ADD:
+				case SUBTRACT:
+				case MULTIPLY:
+				case DIVIDE:
+				case EQUAL:
+				case LESS:
+				case POP:
+				case JUMP_IF_TRUE:
+				case JUMP_IF_FALSE:
+				case STORE_INT:
+				case STORE_DEFAULT:
+				case STORE_KEY:
+				case NEW_OBJECT:
+				case PRINT:
+					depth--;
+					break;
+				default:
+					break;
+			}
+			max = Math.max(max, depth);
+		}
+		return max + 3;
+	}
+
+	// Returns the name of the method of a function (-1 is the main procedure)
+	private static String methodName(int function) {
+		return function < 0 ? "run" : "function" + function;
+	}
+
+	/* Returns the JVM local of an integer slot (local 0 holds
+	 * the runtime and local 1 the frame of the method). */
+	private int local(int slot) {
+		return slot >= 0 ? 2 + slot : 2 + this.program.getMainSlots() + (-1 - slot);
+	}
+
+	// Pushes the value of an integer variable
+	private void emitLoadInt(int slot) {
+		if(slot >= 0 || this.globalLocals) {
+			this.emitLocal(ILOAD, this.local(slot));
+		} else {
+			this.emit(ALOAD_0);
+			this.emitConst(slot);
+			this.emitInvoke(INVOKESTATIC, HELPER, "getGlobalInt", "(" + RUNTIME + "I)I");
+		}
+	}
+
+	// Pops a value into an integer variable
+	private void emitStoreInt(int slot) {
+		if(slot >= 0 || this.globalLocals) {
+			this.emitLocal(ISTORE, this.local(slot));
+		} else {
+			this.emit(ALOAD_0);
+			this.emitConst(slot);
+			this.emitInvoke(INVOKESTATIC, HELPER, "setGlobalInt", "(I" + RUNTIME + "I)V");
+		}
+	}
+
+	/* Calls a helper of the JvmRuntime with the runtime, the
+	 * frame, and the address of the instruction it runs. */
+	private void emitRuntimeCall(String name, String descriptor, int pc) {
+		this.emit(ALOAD_0);
+		this.emit(ALOAD_1);
+		this.emitConst(pc);
+		this.emitInvoke(INVOKESTATIC, HELPER, name, descriptor);
+	}
+
+	// Pushes a constant using the shortest instruction for it
+	private void emitConst(int value) {
+		if(value >= -1 && value <= 5) {
+			this.emit(ICONST_0 + value);
+		}
+		else if(value >= Byte.MIN_VALUE && value <= Byte.MAX_VALUE) {
+			this.emit(BIPUSH);
+			this.emit(value & 0xff);
+		}
+		else if(value >= Short.MIN_VALUE && value <= Short.MAX_VALUE) {
+			this.emit(SIPUSH);
+			this.emitShort(value);
+		} else {
+			this.emit(LDC_W);
+			this.emitShort(this.writer.integer(value));
+		}
+	}
+
+	// Loads or stores a local, using a wide instruction past local 255
+	private void emitLocal(int opcode, int local) {
+		if(local > 255) {
+			this.emit(WIDE);
+			this.emit(opcode);
+			this.emitShort(local);
+		} else {
+			this.emit(opcode);
+			this.emit(local);
+		}
+	}
+
+	// Emits a jump to an instruction of the program
+	private void emitJump(int opcode, int target) {
+		this.emitBranch(opcode, this.offsets[target] - this.out.size());
+	}
+
+	// Emits a branch with an offset from the start of the branch
+	private void emitBranch(int opcode, int offset) {
+		this.emit(opcode);
+		this.emitShort(offset);
+	}
+
+	// Emits a call to a method
+	private void emitInvoke(int opcode, String owner, String name, String descriptor) {
+		this.emit(opcode);
+		this.emitShort(this.writer.methodRef(owner, name, descriptor));
+	}
+
+	// Appends a byte to the bytecode
+	private void emit(int value) {
+		this.out.write(value);
+	}
+
+	// Appends two bytes to the bytecode
+	private void emitShort(int value) {
+		this.out.write(value >> 8);
+		this.out.write(value);
+	}
+}
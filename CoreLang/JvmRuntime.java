@@ -0,0 +1,224 @@
+package CoreLang;
+
+import static CoreLang.Core.OBJECT;
+import java.util.Arrays;
+import CoreLang.CoreVar.ObjectVar;
+
+/* This class holds what a program that the
+ * JvmCompiler translated needs while it runs,
+ * and the helpers its JVM bytecode calls.
+ * Integers are JVM locals of the compiled code,
+ * but objects are the same CoreVar objects the
+ * VirtualMachine uses, so they are reported to
+ * the GarbageCollector in the same way. Each
+ * helper that works on an object is given the
+ * frame of the running function and the address
+ * of its instruction, and reads the operands of
+ * the instruction from the program just like the
+ * VirtualMachine does. The frames of the calls
+ * that are running are the roots of the
+ * GarbageCollector. */
+public final class JvmRuntime implements GarbageCollector.RootSet{
+	private final BytecodeProgram program;
+	private final int[] code;
+	private final NumericInputReader input;
+	private final int[] keys;
+	private final CoreVar[] globals;
+	private final int[] globalInts;
+	private CoreVar[][] frames;
+	private int depth;
+
+	// Constructor
+	public JvmRuntime(BytecodeProgram program, NumericInputReader input){
+		this.program = program;
+		this.code = program.getCode();
+		this.input = input;
+		this.keys = new int[program.getStringCount()];
+		for(int i = 0; i < this.keys.length; i++) {
+			this.keys[i] = NameTable.intern(program.getString(i));
+		}
+		this.globals = new CoreVar[program.getGlobalSlots()];
+		this.globalInts = new int[program.getGlobalSlots()];
+		this.frames = new CoreVar[16][];
+		this.depth = 0;
+	}
+
+	/* Makes the frame of the main procedure and makes the
+	 * frames of this runtime the roots of the GarbageCollector. */
+	public CoreVar[] start() {
+		CoreVar[] frame = new CoreVar[this.program.getMainSlots()];
+		this.push(frame);
+		GarbageCollector.setRoots(this);
+		return frame;
+	}
+
+	// Helpers called by the compiled program:
+
+	// LOAD_DEFAULT: returns the value of the default key of an object
+	public static int loadDefault(JvmRuntime runtime, CoreVar[] vars, int pc) {
+		CoreVar var = runtime.var(vars, runtime.code[pc + 1]);
+		return var.getValue(var.getDefaultKey());
+	}
+
+	// LOAD_KEY: returns the value of a key of an object
+	public static int loadKey(JvmRuntime runtime, CoreVar[] vars, int pc) {
+		CoreVar var = runtime.var(vars, runtime.code[pc + 1]);
+		int key = runtime.keys[runtime.code[pc + 2]];
+
+		// Check if key exists
+		if(!var.keyExists(key)) {
+			ErrorHandler.handleError("ERROR: key " + NameTable.getName(key) +
+					" for object " + var.getIdentifier() + " does not exist.");
+		}
+		return var.getValue(key);
+	}
+
+	// DECL_OBJ: puts a new object variable in a slot
+	public static void declObj(JvmRuntime runtime, CoreVar[] vars, int pc) {
+		runtime.setVar(vars, runtime.code[pc + 1], new ObjectVar(runtime.keys[runtime.code[pc + 2]]));
+	}
+
+	// STORE_DEFAULT: stores a value in the default key of an object
+	public static void storeDefault(int value, JvmRuntime runtime, CoreVar[] vars, int pc) {
+		CoreVar var = runtime.var(vars, runtime.code[pc + 1]);
+		var.updateVar(var.getDefaultKey(), value, false);
+	}
+
+	// STORE_KEY: stores a value in a key of an object
+	public static void storeKey(int value, JvmRuntime runtime, CoreVar[] vars, int pc) {
+		runtime.var(vars, runtime.code[pc + 1]).updateVar(runtime.keys[runtime.code[pc + 2]], value, false);
+	}
+
+	// NEW_OBJECT: stores a value in a new object with a given default key
+	public static void newObject(int value, JvmRuntime runtime, CoreVar[] vars, int pc) {
+		runtime.var(vars, runtime.code[pc + 1]).updateVar(runtime.keys[runtime.code[pc + 2]], value, true);
+	}
+
+	// CHECK_REF: reports an error if an object has a null reference value
+	public static void checkRef(JvmRuntime runtime, CoreVar[] vars, int pc) {
+		CoreVar var = runtime.var(vars, runtime.code[pc + 1]);
+
+		/* Check if reference is null
+		 * before making a key assignment. */
+		if(var.refIsNull()) {
+			ErrorHandler.handleError("ERROR: Cannot make a key assignment to object " +
+					var.getIdentifier() + " because it has a null reference value.");
+		}
+	}
+
+	// ALIAS: makes an object point to the reference of another object
+	public static void alias(JvmRuntime runtime, CoreVar[] vars, int pc) {
+		runtime.var(vars, runtime.code[pc + 1]).alias(runtime.var(vars, runtime.code[pc + 2]));
+	}
+
+	/* EXIT_SCOPE: updates the references of the variables of a
+	 * scope when leaving it and clears their slots, like the
+	 * VirtualMachine does. */
+	public static void exitScope(JvmRuntime runtime, CoreVar[] vars, int pc) {
+		for(int slot : runtime.program.getScope(runtime.code[pc + 1])) {
+			CoreVar currVar = runtime.var(vars, slot);
+
+			// Check if the variable is an object variable
+			if(currVar != null && currVar.getVarType().equals(OBJECT) && currVar.getRefCount() > 0) {
+				currVar.updateRefCount(false);
+			}
+			runtime.setVar(vars, slot, null);
+		}
+	}
+
+	/* CALL: makes the frame of a function with its formal
+	 * parameters aliased to the arguments and pushes it.
+	 * Returns the frame the compiled function runs with. */
+	public static CoreVar[] enter(JvmRuntime runtime, CoreVar[] vars, int pc) {
+		int function = runtime.code[pc + 1];
+		int numArgs = runtime.code[pc + 2];
+		CoreVar[] frame = new CoreVar[runtime.program.getFunctionSlots(function)];
+		int[] params = runtime.program.getFunctionParams(function);
+		for(int i = 0; i < params.length; i++) {
+			frame[i] = new ObjectVar(runtime.keys[params[i]]);
+		}
+
+		// Copy the values of passed in arguments into formal parameters
+		for(int i = 0; i < numArgs; i++) {
+			frame[i].alias(runtime.var(vars, runtime.code[pc + 3 + i]));
+		}
+		runtime.push(frame);
+		GarbageCollector.enterFrame();
+		return frame;
+	}
+
+	// Pops the frame of a function once it returns
+	public static void exit(JvmRuntime runtime) {
+		runtime.frames[--runtime.depth] = null;
+		GarbageCollector.exitFrame();
+	}
+
+	// Returns the value of a global integer variable
+	public static int getGlobalInt(JvmRuntime runtime, int slot) {
+		return runtime.globalInts[-1 - slot];
+	}
+
+	// Sets the value of a global integer variable
+	public static void setGlobalInt(int value, JvmRuntime runtime, int slot) {
+		runtime.globalInts[-1 - slot] = value;
+	}
+
+	// READ: reads the next input value into a variable
+	public static int read(JvmRuntime runtime, int pc) {
+
+		// Check if end of file has been reached
+		if(!runtime.input.hasNext()) {
+			ErrorHandler.handleError("ERROR: Couldn't read value into " + runtime.program.getString(runtime.code[pc + 2]));
+		}
+		return runtime.input.next();
+	}
+
+	// Reports a divide by zero error
+	public static void divideByZero() {
+		ErrorHandler.handleError("ERROR: Cannot divide by zero.");
+	}
+
+	/* Marks the objects of the global variables and of the
+	 * variables of every frame for the GarbageCollector. */
+	@Override
+	public void markRoots() {
+		this.markGlobals();
+		for(int i = 0; i < this.depth; i++) {
+			for(CoreVar var : this.frames[i]) {
+				GarbageCollector.mark(var);
+			}
+		}
+	}
+
+	// Marks the objects of the global variables for the GarbageCollector
+	@Override
+	public void markGlobals() {
+		for(CoreVar var : this.globals) {
+			GarbageCollector.mark(var);
+		}
+	}
+
+	// Returns the object variable in a slot of a frame or the global scope
+	private CoreVar var(CoreVar[] vars, int slot) {
+		return slot >= 0 ? vars[slot] : this.globals[-1 - slot];
+	}
+
+	// Puts an object variable in a slot of a frame or the global scope
+	private void setVar(CoreVar[] vars, int slot, CoreVar var) {
+		if(slot >= 0) {
+			vars[slot] = var;
+		} else {
+			this.globals[-1 - slot] = var;
+		}
+	}
+
+	// Pushes the frame of a call that starts running
+	private void push(CoreVar[] frame) {
+
+		// Grow the stack of frames if it is full
+		if(this.depth == this.frames.length) {
+			this.frames = Arrays.copyOf(this.frames, this.depth * 2);
+		}
+		this.frames[this.depth++] = frame;
+	}
+}
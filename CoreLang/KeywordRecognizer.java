@@ -0,0 +1,106 @@
+package CoreLang;
+
+import static CoreLang.Core.*;
+import java.util.Locale;
+
+/* This class tells whether a range of characters
+ * is a keyword without building a String.
+ * The keyword table is generated from the keyword
+ * range of the Core enum (AND through THEN) using
+ * a perfect hash of the length, the first character,
+ * and the last character of each keyword, so a
+ * lookup is one hash, one table read, and at most
+ * one character-by-character comparison. */
+public final class KeywordRecognizer{
+	private static final Core[] table;
+	private static final char[][] spellings;
+	private static final int mask;
+	private static final int firstMultiplier;
+	private static final int lastMultiplier;
+
+	/* Generate the table by searching for multipliers that
+	 * give every keyword its own slot. */
+	static {
+		Core[] keywords = new Core[THEN.ordinal() - AND.ordinal() + 1];
+		for(Core token : Core.values()) {
+			if(token.ordinal() >= AND.ordinal() && token.ordinal() <= THEN.ordinal()) {
+				keywords[token.ordinal() - AND.ordinal()] = token;
+			}
+		}
+
+		int size = Integer.highestOneBit(keywords.length) * 2;
+		Core[] candidate = null;
+		int first = 0;
+		int last = 0;
+
+		// Try bigger tables until a perfect hash is found
+		search:
+		while(true) {
+			for(first = 1; first < size; first++) {
+				for(last = 1; last < size; last++) {
+					candidate = tryBuild(keywords, size, first, last);
+					if(candidate != null) {
+						break search;
+					}
+				}
+			}
+			size *= 2;
+		}
+
+		table = candidate;
+		mask = size - 1;
+		firstMultiplier = first;
+		lastMultiplier = last;
+		spellings = new char[size][];
+		for(int slot = 0; slot < size; slot++) {
+			if(table[slot] != null) {
+				spellings[slot] = table[slot].name().toLowerCase(Locale.ROOT).toCharArray();
+			}
+		}
+	}
+
+	// Private constructor to prevent instantiation
+	private KeywordRecognizer() {}
+
+	/* Returns the keyword token stored in the given range of a
+	 * character array.
+	 * Returns an ID token if the characters aren't a keyword. */
+	public static Core recognize(char[] chars, int start, int length) {
+		int slot = hash(chars[start], chars[start + length - 1], length, firstMultiplier, lastMultiplier) & mask;
+		char[] spelling = spellings[slot];
+
+		// Make sure the characters spell the keyword in this slot
+		if(spelling == null || spelling.length != length) {
+			return ID;
+		}
+		for(int i = 0; i < length; i++) {
+			if(spelling[i] != chars[start + i]) {
+				return ID;
+			}
+		}
+		return table[slot];
+	}
+
+	// Hashes a keyword by its first character, last character, and length
+	private static int hash(char first, char last, int length, int firstMultiplier, int lastMultiplier) {
+		return first * firstMultiplier + last * lastMultiplier + length;
+	}
+
+	/* Builds a table of a given size with the given multipliers.
+	 * Returns null if two keywords fall into the same slot. */
+	private static Core[] tryBuild(Core[] keywords, int size, int first, int last) {
+		Core[] candidate = new Core[size];
+		for(Core keyword : keywords) {
+			String spelling = keyword.name().toLowerCase(Locale.ROOT);
+			int slot = hash(spelling.charAt(0), spelling.charAt(spelling.length() - 1),
+					spelling.length(), first, last) & (size - 1);
+
+			// Check for a collision
+			if(candidate[slot] != null) {
+				return null;
+			}
+			candidate[slot] = keyword;
+		}
+		return candidate;
+	}
+}
@@ -0,0 +1,44 @@
+package CoreLang;
+
+/* This class runs two lexer engines over the same
+ * file side by side and makes sure that they
+ * build exactly the same tokens.
+ * It is used for differential testing of the
+ * DfaTokenizer against the reference Tokenizer. */
+public class LexerComparator implements CoreLexer{
+	private final CoreLexer reference;
+	private final CoreLexer candidate;
+	private final String fileName;
+	private int tokenCount;
+
+	// Constructor
+	public LexerComparator(CoreLexer reference, CoreLexer candidate, String fileName){
+		this.reference = reference;
+		this.candidate = candidate;
+		this.fileName = fileName;
+		this.tokenCount = 0;
+	}
+
+	/* Builds the next token with both engines.
+	 * Prints an error message and exits the program
+	 * if the engines disagree. */
+	@Override
+	public Core nextToken() {
+		Core expected = this.reference.nextToken();
+		Core actual = this.candidate.nextToken();
+		this.tokenCount++;
+
+		// Make sure both the tokens and their values match
+		if(!expected.equals(actual) || !this.reference.getTokenText().equals(this.candidate.getTokenText())) {
+			ErrorHandler.handleError("ERROR: Lexers disagree on token " + this.tokenCount + " of " +
+					this.fileName + ". Expected " + expected.toString() + " \'" + this.reference.getTokenText() +
+					"\' but got " + actual.toString() + " \'" + this.candidate.getTokenText() + "\'.");
+		}
+		return expected;
+	}
+
+	@Override
+	public String getTokenText() {
+		return this.reference.getTokenText();
+	}
+}
@@ -5,26 +5,81 @@ import static CoreLang.Symbol.SymbolType.*;
 class Main {
 	public static void main(String[] args) {
 		
+		// Read any options passed in after the file paths
+		RunOptions.parse(args);
+		boolean useCache = RunOptions.getCacheDir() != null && !RunOptions.getBackend().equals("tree");
+		
+		// Run the cached program if the source hasn't changed since it was compiled
+		if(useCache) {
+			BytecodeProgram program = BytecodeCache.load(args[0], RunOptions.getCacheDir());
+			if(program != null) {
+				runProgram(program, new NumericInputReader(args[1]));
+				return;
+			}
+		}
+		
 		// Initialize the scanner with the input file
 		CoreScanner scanner = new CoreScanner(args[0]);
 		
-		// Initialize the file reader
-		CoreScanner reader = new CoreScanner(args[1]);
+		/* Initialize the reader for the input file
+		 * ("-" reads the input from stdin). */
+		NumericInputReader reader = new NumericInputReader(args[1]);
 
-		// Initialize and build parse tree
+		/* Initialize and build parse tree with the instruction-driven
+		 * parser unless the recursive-descent parser was chosen. */
 		Symbol parseTreeRoot = SymbolFactory.createSymbol(Procedure);
-		parseTreeRoot.parse(scanner);
+		if(RunOptions.getParser().equals("descent")) {
+			RecursiveDescentParser.parse(parseTreeRoot, scanner);
+		} else {
+			parseTreeRoot.parse(scanner);
+		}
+		parseTreeRoot.getArena().finish();
 		
 		// Check for semantic errors
 		SemanticChecker.checkForErrors();
 		
-		// Initialize the call stack
-		CallStack.addFrame(new Frame());
+		// Resolve every variable to its slot
+		Resolver.resolve(parseTreeRoot);
+		
+		// Compile the parse tree to bytecode and run it if the VM was chosen
+		if(!RunOptions.getBackend().equals("tree")) {
+			BytecodeProgram program = BytecodeCompiler.compile(parseTreeRoot);
+			if(useCache) {
+				BytecodeCache.store(args[0], RunOptions.getCacheDir(), program);
+			}
+			runProgram(program, reader);
+			return;
+		}
+		
+		// Specialize the parse tree for execution
+		Specializer.specialize(parseTreeRoot);
+		Specializer.checkSpecialized(parseTreeRoot);
+		
+		// Initialize the call stack with a frame for the main procedure
+		CallStack.addFrame(new Frame(parseTreeRoot.getArena().getSlot(parseTreeRoot.getNode())));
 		
 		// Execute the parse tree
 		parseTreeRoot.execute(reader);
 		
 		// Break down the call stack
 		CallStack.removeFrame();
+		finish();
+	}
+	
+	/* Runs a compiled program on the chosen backend
+	 * (the JVM backend falls back to the VM if it can't
+	 * translate the program). */
+	private static void runProgram(BytecodeProgram program, NumericInputReader reader) {
+		if(!RunOptions.getBackend().equals("jvm") || !JvmCompiler.run(program, reader)) {
+			VirtualMachine.run(program, reader);
+		}
+		finish();
+	}
+	
+	/* Prints the gc summary or histogram if one was chosen and
+	 * waits for the output of the program to be written. */
+	private static void finish() {
+		OutputWriter.flush();
+		GarbageCollector.report();
 	}
 }
@@ -37,13 +37,28 @@ public final class MemManagementUnit{
 		return root;
 	}
 	
+	/* Returns the node of a procedure of a given identifier,
+	 * or -1 if it doesn't exist. */
+	public static int getProcedureNode(String identifier) {
+		int procedure = -1;
+		
+		// Make sure procedure exists
+		if(procedureExists(identifier)) {
+			AstArena arena = root.getArena();
+			int declSeq = arena.getNonTerminalChild(root.getNode(), 0);
+			procedure = arena.getChild(declSeq, procedureSignatures.get(identifier));
+		}
+		
+		return procedure;
+	}
+	
 	// Returns a procedure of a given identifier from memory
 	public static Symbol getProcedure(String identifier) {
 		Symbol procedure = null;
 		
 		// Make sure procedure exists
 		if(procedureExists(identifier)) {
-			procedure = root.getNonTerminalChildren().get(0).getChildren().get(procedureSignatures.get(identifier));
+			procedure = root.getArena().getSymbol(getProcedureNode(identifier));
 		}
 		
 		return procedure;
@@ -1,49 +1,53 @@
 package CoreLang;
 
-import java.util.Map;
-import java.util.TreeMap;
 import static CoreLang.Core.*;
 
-// This class represents memory.
+/* This class represents memory.
+ * Variables are kept by the NameTable ID of
+ * their identifier. */
 public class Memory{
-	private Map<String, CoreVar> storage;
+	private IdMap<CoreVar> storage;
 	
 	// Constructor
 	public Memory() {
-		this.storage = new TreeMap<>();
+		this.storage = new IdMap<>();
 	}
 	
 	// Allocate memory for a given variable
 	public void allocateMem(CoreVar var) {
-		this.storage.put(var.getIdentifier(), var);
+		this.storage.put(var.getId(), var);
 	}
 	
-	// Tells if a variable of a given identifier is in memory
-	public boolean memContainsVar(String identifier) {
-		return this.storage.containsKey(identifier);
+	// Tells if a variable with a given identifier ID is in memory
+	public boolean memContainsVar(int id) {
+		return this.storage.containsKey(id);
 	}
 	
-	// Retrieve a variable from memory
-	public CoreVar retrieveVar(String identifier) {
-		return this.storage.get(identifier);
+	// Retrieve a variable from memory by the ID of its identifier
+	public CoreVar retrieveVar(int id) {
+		return this.storage.get(id);
 	}
 	
-	// Remove a variable from memory
-	public void removeVar(String identifier) {
-		this.storage.remove(identifier);
+	// Remove a variable from memory by the ID of its identifier
+	public void removeVar(int id) {
+		this.storage.remove(id);
+	}
+	
+	// Removes every variable from memory so it can be used for another scope
+	public void clear() {
+		this.storage.clear();
 	}
 	
 	// Updates references to variables in storage when leaving scope
 	public void updateReferences() {
 		
 		// Search for any variables with references to them
-		for(Map.Entry<String, CoreVar> entry : this.storage.entrySet()) {
-			CoreVar currVar = entry.getValue();
+		this.storage.forEachValue(currVar -> {
 			
 			// Check if the variable is an object variable
 			if(currVar.getVarType().equals(OBJECT) && currVar.getRefCount() > 0) {
 				currVar.updateRefCount(false);
 			}
-		}
+		});
 	}
 }
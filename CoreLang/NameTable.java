@@ -0,0 +1,119 @@
+package CoreLang;
+
+import java.util.Arrays;
+
+/* This class interns the names that appear in
+ * a Core program (identifiers and the values of
+ * STRING tokens) and gives each distinct name an
+ * integer ID.
+ * Names can be interned straight from a range of
+ * a character array, so the lexer never has to
+ * build a String for a name it has already seen. */
+public final class NameTable{
+	private static final int INITIAL_CAPACITY = 256;
+	private static int[] slots = new int[INITIAL_CAPACITY];
+	private static int[] hashes = new int[INITIAL_CAPACITY];
+	private static String[] names = new String[INITIAL_CAPACITY];
+	private static int size = 0;
+
+	// Private constructor to prevent instantiation
+	private NameTable() {}
+
+	/* Returns the ID of the name stored in the given range of
+	 * a character array, interning the name if it is new. */
+	public static int intern(char[] chars, int start, int length) {
+		int hash = 0;
+
+		// Hash the characters the same way String.hashCode() does
+		for(int i = start; i < start + length; i++) {
+			hash = 31 * hash + chars[i];
+		}
+		int mask = slots.length - 1;
+		int slot = hash & mask;
+
+		// Probe until we find the name or an empty slot
+		while(slots[slot] != 0) {
+			int id = slots[slot] - 1;
+			if(hashes[id] == hash && matches(names[id], chars, start, length)) {
+				return id;
+			}
+			slot = (slot + 1) & mask;
+		}
+		return add(new String(chars, start, length), hash, slot);
+	}
+
+	// Returns the ID of a given name, interning the name if it is new
+	public static int intern(String name) {
+		int hash = name.hashCode();
+		int mask = slots.length - 1;
+		int slot = hash & mask;
+
+		// Probe until we find the name or an empty slot
+		while(slots[slot] != 0) {
+			int id = slots[slot] - 1;
+			if(hashes[id] == hash && names[id].equals(name)) {
+				return id;
+			}
+			slot = (slot + 1) & mask;
+		}
+		return add(name, hash, slot);
+	}
+
+	// Returns the name with the given ID
+	public static String getName(int id) {
+		return names[id];
+	}
+
+	// Returns the number of names that have been interned
+	public static int size() {
+		return size;
+	}
+
+	// Tells whether a String holds the same characters as a range of an array
+	private static boolean matches(String name, char[] chars, int start, int length) {
+
+		// Names of different lengths can't match
+		if(name.length() != length) {
+			return false;
+		}
+		for(int i = 0; i < length; i++) {
+			if(name.charAt(i) != chars[start + i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	// Stores a new name in a given empty slot and returns its ID
+	private static int add(String name, int hash, int slot) {
+		int id = size++;
+
+		// Grow the name storage if it is full
+		if(id == names.length) {
+			names = Arrays.copyOf(names, names.length * 2);
+			hashes = Arrays.copyOf(hashes, hashes.length * 2);
+		}
+		names[id] = name;
+		hashes[id] = hash;
+		slots[slot] = id + 1;
+
+		// Keep the table at most half full
+		if(size * 2 > slots.length) {
+			rehash();
+		}
+		return id;
+	}
+
+	// Doubles the number of slots and reinserts every name
+	private static void rehash() {
+		slots = new int[slots.length * 2];
+		int mask = slots.length - 1;
+		for(int id = 0; id < size; id++) {
+			int slot = hashes[id] & mask;
+			while(slots[slot] != 0) {
+				slot = (slot + 1) & mask;
+			}
+			slots[slot] = id + 1;
+		}
+	}
+}
@@ -0,0 +1,198 @@
+package CoreLang;
+
+import static CoreLang.Core.*;
+import java.io.ByteArrayOutputStream;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+
+/* This class reads the values for read statements
+ * straight from a byte stream.
+ * Values are parsed a byte at a time out of a
+ * large buffer, so no tokens, Strings, or
+ * boxed integers are created per value (the
+ * text of a value is only turned into a String
+ * for an error message).
+ * The input can be a file or, if its path is
+ * "-", the standard input, which lets input be
+ * piped into a program instead of staged to a
+ * file first.
+ * Each value must follow the same rules as a
+ * CONST token. Like the scanner the input used
+ * to be read with, the reader stays one value
+ * ahead: the first value is read when the reader
+ * is created and each read reads the value after
+ * it, so an invalid value is reported at the same
+ * point as before. */
+public class NumericInputReader{
+	private static final int BUFFER_SIZE = 1 << 16;
+	private static final int MAXSTRLEN = 5;
+	private static final int CEILING = 8191;
+	private final InputStream stream;
+	private final String fileName;
+	private final byte[] buffer;
+	private char[] digits;
+	private int position;
+	private int limit;
+	private boolean exhausted;
+	private Core token;
+	private int value;
+
+	// Constructor
+	public NumericInputReader(String fileName){
+		InputStream stream = null;
+		this.fileName = fileName;
+		this.buffer = new byte[BUFFER_SIZE];
+		this.digits = new char[MAXSTRLEN];
+		this.position = 0;
+		this.limit = 0;
+		this.exhausted = false;
+
+		// Read from the standard input if asked to
+		if(fileName.equals("-")) {
+			stream = System.in;
+		} else {
+			try {
+				stream = new FileInputStream(fileName);
+			} catch(FileNotFoundException e) {
+				ErrorHandler.handleError("ERROR: File " + fileName + " not found.", e);
+			}
+		}
+		this.stream = stream;
+
+		// Read the first value
+		this.advance();
+	}
+
+	// Tells whether there is another value to read
+	public boolean hasNext() {
+		return !this.token.equals(EOS);
+	}
+
+	/* Returns the next value and reads the value after it.
+	 * Prints an error message and exits the program if
+	 * the next value isn't a CONST or the value after it
+	 * isn't a valid CONST. */
+	public int next() {
+
+		// Make sure the next value is a CONST
+		if(!this.token.equals(CONST)) {
+			ErrorHandler.handleError("ERROR: Cannot use a CONST token method on a " +
+					this.token.toString() + " token.");
+		}
+		int currValue = this.value;
+		this.advance();
+		return currValue;
+	}
+
+	/* Reads the next value of the input.
+	 * Prints an error message and exits the program
+	 * if the value is a CONST that isn't valid. */
+	private void advance() {
+		int currByte = this.peek();
+
+		// Skip whitespace
+		while(currByte != -1 && currByte < 128 && Character.isWhitespace((char)currByte)) {
+			this.position++;
+			currByte = this.peek();
+		}
+		if(currByte == -1) {
+			this.token = EOS;
+			return;
+		}
+		else if(!isDigit(currByte)) {
+			this.token = this.scanOtherToken();
+			return;
+		}
+
+		int length = 0;
+		this.value = 0;
+		this.token = CONST;
+
+		// Accumulate digits until the value ends
+		while(isDigit(this.peek())) {
+			int digit = this.buffer[this.position++] - '0';
+
+			// Keep the digits for an error message
+			if(length == this.digits.length) {
+				this.digits = Arrays.copyOf(this.digits, length * 2);
+			}
+			this.digits[length++] = (char)('0' + digit);
+
+			// Stop accumulating once the value is too long to be valid
+			if(length < MAXSTRLEN) {
+				this.value = this.value * 10 + digit;
+			}
+		}
+
+		// Check for leading zeroes or too big of a value
+		if(this.digits[0] == '0' && length > 1) {
+			ErrorHandler.handleError("ERROR: " + new String(this.digits, 0, length) + " is an Invalid CONST. "
+					+ "CONST cannot have leading zeroes.");
+		}
+		else if(length >= MAXSTRLEN || this.value > CEILING) {
+			ErrorHandler.handleError("ERROR: " + new String(this.digits, 0, length) + " is an Invalid CONST. "
+					+ "CONST is too big.");
+		}
+	}
+
+	/* Tokenizes the rest of the input from a value that
+	 * doesn't start with a digit and returns the token it
+	 * starts with, so reading it reports the same token
+	 * (and an invalid token reports the same error) as
+	 * the scanner did.
+	 * NOTE: no value after such a token can be read. */
+	private Core scanOtherToken() {
+		ByteArrayOutputStream rest = new ByteArrayOutputStream();
+		rest.write(this.buffer, this.position, this.limit - this.position);
+		while(this.fill()) {
+			rest.write(this.buffer, 0, this.limit);
+		}
+		CharBuffer decoded = Charset.defaultCharset().decode(ByteBuffer.wrap(rest.toByteArray()));
+		return new DfaTokenizer(new SourceBuffer(decoded.array(), decoded.limit())).nextToken();
+	}
+
+	/* Returns the next byte without consuming it.
+	 * Returns -1 once the end of the input has been reached. */
+	private int peek() {
+
+		// Refill the buffer once it has been used up
+		if(this.position == this.limit && (this.exhausted || !this.fill())) {
+			return -1;
+		}
+		return this.buffer[this.position] & 0xFF;
+	}
+
+	/* Reads the next block of the input into the buffer.
+	 * Returns false and closes the input once the end
+	 * of the input has been reached. */
+	private boolean fill() {
+		int read = -1;
+		try {
+			read = this.stream.read(this.buffer, 0, BUFFER_SIZE);
+
+			// Close the input once everything has been read
+			if(read <= 0) {
+				this.exhausted = true;
+				if(this.stream != System.in) {
+					this.stream.close();
+				}
+			}
+		} catch(IOException e) {
+			ErrorHandler.handleError("ERROR: Problem reading from " + this.fileName + ".", e);
+		}
+		this.position = 0;
+		this.limit = Math.max(read, 0);
+		return read > 0;
+	}
+
+	// Tells whether a byte is an ASCII digit
+	private static boolean isDigit(int currByte) {
+		return currByte >= '0' && currByte <= '9';
+	}
+}
@@ -0,0 +1,146 @@
+package CoreLang;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/* This class stores the keys and values of a
+ * Core object.
+ * Keys are the NameTable IDs of the key strings,
+ * so the table is an open-addressing hash table
+ * with linear probing over an int array of keys
+ * and an int array of values. Values are never
+ * boxed, storing a value only looks its key up
+ * once, and a lookup never compares strings.
+ * Objects are allocated by the GarbageCollector,
+ * which reuses the ones it sweeps, and tell it how
+ * many slots they gained whenever their table grows,
+ * since the heap limit counts slots.
+ * NOTE: keys are never removed from an object
+ * that is in use. */
+public class ObjectStore{
+	private static final int INITIAL_CAPACITY = 8;
+	private static final int EMPTY = -1;
+	private int[] keys;
+	private int[] values;
+	private int size;
+	private int markPass;
+
+	// Constructor
+	public ObjectStore(){
+		this.keys = new int[INITIAL_CAPACITY];
+		this.values = new int[INITIAL_CAPACITY];
+		this.size = 0;
+		this.markPass = 0;
+		Arrays.fill(this.keys, EMPTY);
+	}
+
+	// Stores the value of a key, adding the key if it is new
+	public void put(int key, int value) {
+		int slot = this.find(key);
+
+		// Add the key if it is new
+		if(this.keys[slot] == EMPTY) {
+			this.keys[slot] = key;
+			this.size++;
+			this.values[slot] = value;
+
+			// Keep the table at most half full
+			if(this.size * 2 > this.keys.length) {
+				this.rehash();
+			}
+		} else {
+			this.values[slot] = value;
+		}
+	}
+
+	// Tells whether a key is in the object
+	public boolean containsKey(int key) {
+		return this.keys[this.find(key)] != EMPTY;
+	}
+
+	/* Returns the value of a key.
+	 * Throws a NoSuchElementException if the key isn't in
+	 * the object, so callers check for it first. */
+	public int get(int key) {
+		int slot = this.find(key);
+		if(this.keys[slot] == EMPTY) {
+			throw new NoSuchElementException(NameTable.getName(key));
+		}
+		return this.values[slot];
+	}
+
+	// Returns the number of keys in the object
+	public int size() {
+		return this.size;
+	}
+
+	// Returns the number of key slots in the table of the object
+	public int capacity() {
+		return this.keys.length;
+	}
+
+	/* Removes every key from the object so the
+	 * GarbageCollector can reuse it.
+	 * A table that grew large is given back instead
+	 * of being kept for a small object. */
+	public void clear() {
+		if(this.keys.length > INITIAL_CAPACITY * 8) {
+			this.keys = new int[INITIAL_CAPACITY];
+			this.values = new int[INITIAL_CAPACITY];
+		}
+		Arrays.fill(this.keys, EMPTY);
+		this.size = 0;
+	}
+
+	/* Tells whether the GarbageCollector found the object
+	 * to be live in a given marking pass.
+	 * NOTE: each pass has a number of its own, so marks
+	 * never have to be cleared. */
+	public boolean isMarked(int pass) {
+		return this.markPass == pass;
+	}
+
+	// Marks the object as live in a given marking pass of the GarbageCollector
+	public void mark(int pass) {
+		this.markPass = pass;
+	}
+
+	// Returns the slot that holds a key, or the empty slot where it would go
+	private int find(int key) {
+		int mask = this.keys.length - 1;
+		int slot = hash(key) & mask;
+
+		// Probe until we find the key or an empty slot
+		while(this.keys[slot] != EMPTY && this.keys[slot] != key) {
+			slot = (slot + 1) & mask;
+		}
+		return slot;
+	}
+
+	// Doubles the number of slots and reinserts every key
+	private void rehash() {
+		int[] oldKeys = this.keys;
+		int[] oldValues = this.values;
+		this.keys = new int[oldKeys.length * 2];
+		this.values = new int[oldKeys.length * 2];
+		Arrays.fill(this.keys, EMPTY);
+		int mask = this.keys.length - 1;
+		for(int i = 0; i < oldKeys.length; i++) {
+			if(oldKeys[i] != EMPTY) {
+				int slot = hash(oldKeys[i]) & mask;
+				while(this.keys[slot] != EMPTY) {
+					slot = (slot + 1) & mask;
+				}
+				this.keys[slot] = oldKeys[i];
+				this.values[slot] = oldValues[i];
+			}
+		}
+		GarbageCollector.grow(oldKeys.length);
+	}
+
+	// Spreads the bits of a key, since IDs are handed out in order
+	private static int hash(int key) {
+		int hash = key * 0x9E3779B9;
+		return hash ^ (hash >>> 16);
+	}
+}
@@ -0,0 +1,163 @@
+package CoreLang;
+
+import java.util.concurrent.locks.LockSupport;
+
+/* This class writes the output of a running Core
+ * program on a background thread.
+ * The values a program prints and its gc lines
+ * are stored in order in a ring buffer. Only the
+ * thread that runs the program adds to the buffer
+ * and only the writer thread takes from it, so
+ * neither of them ever takes a lock. The writer
+ * takes everything that is in the buffer at once,
+ * formats it into one batch of bytes, and writes
+ * the batch to standard output.
+ * Either side parks when it has to wait for the
+ * other one (the writer when the buffer is empty,
+ * and the program when the buffer is full or it
+ * is flushed), and is unparked by the other side
+ * once there is something to do.
+ * NOTE: anything else that prints to standard
+ * output while a program runs (like an error
+ * message) has to call flush first so the lines
+ * stay in order. */
+public final class OutputWriter{
+	private static final int CAPACITY = 1 << 16;
+	private static final int MAX_BATCH = 1 << 13;
+	private static final long GC_LINE = 1L << 32;
+	private static final byte[] GC_PREFIX = "gc:".getBytes();
+	private static final byte[] LINE_SEPARATOR = System.lineSeparator().getBytes();
+	private static final long[] events = new long[CAPACITY];
+	private static volatile long head = 0;
+	private static volatile long tail = 0;
+	private static volatile boolean sleeping = false;
+	private static volatile Thread waiter = null;
+	private static Thread writer = null;
+
+	// Private constructor to prevent instantiation
+	private OutputWriter() {}
+
+	// Prints a value on a line of its own
+	public static void printValue(int value) {
+		add(value & 0xFFFFFFFFL);
+	}
+
+	// Prints a gc line with the number of reachable objects
+	public static void printGcLine(int numReachableObjs) {
+		add(GC_LINE | (numReachableObjs & 0xFFFFFFFFL));
+	}
+
+	/* Waits until everything that was printed so far has
+	 * been written to standard output. */
+	public static void flush() {
+		awaitHead(tail);
+	}
+
+	// Adds an event to the end of the ring buffer
+	private static void add(long event) {
+		if(writer == null) {
+			start();
+		}
+		long end = tail;
+
+		// Wait for the writer if the buffer is full
+		if(end - head == CAPACITY) {
+			awaitHead(end - CAPACITY + 1);
+		}
+		events[(int) end & (CAPACITY - 1)] = event;
+		tail = end + 1;
+
+		// Wake the writer up if it ran out of events
+		if(sleeping) {
+			LockSupport.unpark(writer);
+		}
+	}
+
+	/* Parks the calling thread until the writer has written
+	 * every event before a given position of the buffer.
+	 * NOTE: the waiter is stored before head is checked again,
+	 * and the writer moves head before it looks for a waiter,
+	 * so one of them always sees the other. Only one thread
+	 * waits at a time: the thread that runs the program, or
+	 * the shutdown hook once the program has stopped. */
+	private static void awaitHead(long position) {
+		while(head < position) {
+			waiter = Thread.currentThread();
+			if(head < position) {
+				LockSupport.park();
+			}
+			waiter = null;
+		}
+	}
+
+	/* Starts the writer thread.
+	 * Whatever is still in the buffer is written before the
+	 * program exits, even if it stops with an exception. */
+	private static void start() {
+		writer = new Thread(OutputWriter::drain, "OutputWriter");
+		writer.setDaemon(true);
+		writer.start();
+		Runtime.getRuntime().addShutdownHook(new Thread(OutputWriter::flush));
+	}
+
+	// Writes the events of the buffer in batches until the program exits
+	private static void drain() {
+		byte[] batch = new byte[MAX_BATCH * 16];
+		while(true) {
+			long start = head;
+			long end = Math.min(tail, start + MAX_BATCH);
+
+			// Sleep until there is something to write
+			if(start == end) {
+				sleeping = true;
+				if(head == tail) {
+					LockSupport.park();
+				}
+				sleeping = false;
+				continue;
+			}
+
+			// Format every event of the batch into bytes
+			int length = 0;
+			for(long i = start; i < end; i++) {
+				long event = events[(int) i & (CAPACITY - 1)];
+				if((event & GC_LINE) != 0) {
+					System.arraycopy(GC_PREFIX, 0, batch, length, GC_PREFIX.length);
+					length += GC_PREFIX.length;
+				}
+				length = appendInt(batch, length, (int) event);
+				System.arraycopy(LINE_SEPARATOR, 0, batch, length, LINE_SEPARATOR.length);
+				length += LINE_SEPARATOR.length;
+			}
+			System.out.write(batch, 0, length);
+			System.out.flush();
+			head = end;
+
+			// Wake up the program if it is waiting for the batch to be written
+			Thread waiting = waiter;
+			if(waiting != null) {
+				LockSupport.unpark(waiting);
+			}
+		}
+	}
+
+	// Writes the digits of a value into a batch and returns the new length of the batch
+	private static int appendInt(byte[] batch, int length, int value) {
+		long remaining = value;
+		if(remaining < 0) {
+			batch[length++] = '-';
+			remaining = -remaining;
+		}
+
+		// Count the digits, then fill them in from the last one
+		int numDigits = 1;
+		for(long power = 10; power <= remaining; power *= 10) {
+			numDigits++;
+		}
+		for(int i = length + numDigits - 1; i >= length; i--) {
+			batch[i] = (byte) ('0' + remaining % 10);
+			remaining /= 10;
+		}
+		return length + numDigits;
+	}
+}
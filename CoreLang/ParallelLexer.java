@@ -0,0 +1,222 @@
+package CoreLang;
+
+import static CoreLang.Core.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/* This class tokenizes a large SourceBuffer on
+ * several threads and stitches the results back
+ * into a single TokenStream.
+ * The buffer is split into chunks at whitespace
+ * characters, and each chunk is tokenized on its
+ * own ForkJoinPool worker with a DfaTokenizer.
+ * A chunk owns every token that begins inside it,
+ * even if the token runs past the end of the chunk.
+ * The only token that can do that is a STRING,
+ * because no other token contains whitespace. When
+ * a STRING runs past a boundary, the next chunk was
+ * tokenized from the middle of that STRING, so its
+ * first tokens are wrong. Those tokens are rebuilt
+ * one at a time from the end of the STRING until the
+ * rebuilt tokens line up with a token of the chunk
+ * again, and the rest of the chunk is used as is.
+ * The result is token-for-token identical to
+ * tokenizing the buffer from start to finish. */
+public final class ParallelLexer{
+	private static final int MIN_CHUNK_SIZE = 1 << 16;
+	private static final int CHUNKS_PER_THREAD = 4;
+
+	// Private constructor to prevent instantiation
+	private ParallelLexer() {}
+
+	/* Tokenizes a buffer on a given number of threads
+	 * and returns the stream of its tokens. */
+	public static TokenStream build(SourceBuffer buffer, int threads) {
+		int chunkSize = Math.max(MIN_CHUNK_SIZE, buffer.length() / (threads * CHUNKS_PER_THREAD) + 1);
+		return build(buffer, threads, chunkSize);
+	}
+
+	/* Tokenizes a buffer on a given number of threads, splitting
+	 * it into chunks of about a given size, and returns the
+	 * stream of its tokens. */
+	public static TokenStream build(SourceBuffer buffer, int threads, int chunkSize) {
+		int[] boundaries = findBoundaries(buffer, chunkSize);
+		int numChunks = boundaries.length - 1;
+
+		// Small buffers aren't worth splitting up
+		if(numChunks < 2) {
+			return TokenStream.build(buffer);
+		}
+
+		// Tokenize every chunk in parallel
+		Chunk[] chunks = new Chunk[numChunks];
+		ForkJoinPool pool = new ForkJoinPool(threads);
+		try {
+			pool.invoke(new LexChunks(buffer, boundaries, chunks, 0, numChunks));
+		} finally {
+			pool.shutdown();
+		}
+
+		return stitch(buffer, boundaries, chunks);
+	}
+
+	/* Returns the positions where the chunks start, followed by
+	 * the length of the buffer.
+	 * Every boundary after the first one is a whitespace character. */
+	private static int[] findBoundaries(SourceBuffer buffer, int chunkSize) {
+		ArrayList<Integer> boundaries = new ArrayList<>();
+		boundaries.add(0);
+		int position = chunkSize;
+
+		// Move each boundary forward to the next whitespace character
+		while(position < buffer.length()) {
+			while(position < buffer.length() && !Character.isWhitespace(buffer.charAt(position))) {
+				position++;
+			}
+			if(position < buffer.length()) {
+				boundaries.add(position);
+			}
+			position += chunkSize;
+		}
+		boundaries.add(buffer.length());
+
+		int[] result = new int[boundaries.size()];
+		for(int i = 0; i < result.length; i++) {
+			result[i] = boundaries.get(i);
+		}
+		return result;
+	}
+
+	/* Stitches the tokens of every chunk into one stream,
+	 * rebuilding the tokens of a chunk that started in the
+	 * middle of a STRING. */
+	private static TokenStream stitch(SourceBuffer buffer, int[] boundaries, Chunk[] chunks) {
+		TokenStream result = new TokenStream(buffer);
+		int end = 0;
+
+		for(int k = 0; k < chunks.length; k++) {
+			Chunk chunk = chunks[k];
+			boolean lastChunk = k == chunks.length - 1;
+			int from = 0;
+
+			// Rebuild tokens if the previous token ran past the start of this chunk
+			if(end > boundaries[k]) {
+				DfaTokenizer tokenizer = new DfaTokenizer(buffer, end);
+				int j = 0;
+				from = chunk.size;
+				while(true) {
+					Core token = tokenizer.scan();
+					int begin = tokenizer.getTokenBegin();
+
+					// Leave tokens that begin in a later chunk to that chunk
+					if(!lastChunk && begin >= boundaries[k + 1]) {
+						break;
+					}
+
+					// Use the rest of the chunk once a token lines up with it
+					while(j < chunk.size && chunk.begins[j] < begin) {
+						j++;
+					}
+					if(j < chunk.size && chunk.begins[j] == begin) {
+						from = j;
+						break;
+					}
+					result.add(token, tokenizer);
+					end = tokenizer.getPosition();
+
+					// Stop at the end of the file or the first invalid token
+					if(token.equals(EOS) || token.equals(ERROR)) {
+						return result;
+					}
+				}
+			}
+
+			// Append the remaining tokens of the chunk
+			if(from < chunk.size) {
+				result.append(chunk.tokens, from);
+				end = chunk.end;
+				Core lastToken = chunk.tokens.getKind(chunk.size - 1);
+				if(lastToken.equals(EOS) || lastToken.equals(ERROR)) {
+					return result;
+				}
+			}
+		}
+		return result;
+	}
+
+	/* This class holds the tokens that begin in one chunk
+	 * of the buffer. */
+	private static class Chunk{
+		private final TokenStream tokens;
+		private int[] begins;
+		private int size;
+		private int end;
+
+		// Constructor
+		private Chunk(SourceBuffer buffer) {
+			this.tokens = new TokenStream(buffer, false);
+			this.begins = new int[256];
+			this.size = 0;
+			this.end = 0;
+		}
+
+		/* Tokenizes the chunk that starts at a given position
+		 * and ends at a given position. */
+		private void lex(SourceBuffer buffer, int start, int end, boolean lastChunk) {
+			DfaTokenizer tokenizer = new DfaTokenizer(buffer, start);
+			Core token;
+
+			// Store tokens until one begins in the next chunk
+			do {
+				token = tokenizer.scan();
+				if(!lastChunk && tokenizer.getTokenBegin() >= end) {
+					break;
+				}
+				this.tokens.add(token, tokenizer);
+				if(this.size == this.begins.length) {
+					this.begins = Arrays.copyOf(this.begins, this.begins.length * 2);
+				}
+				this.begins[this.size++] = tokenizer.getTokenBegin();
+				this.end = tokenizer.getPosition();
+			} while(!token.equals(EOS) && !token.equals(ERROR));
+		}
+	}
+
+	/* This class tokenizes a range of chunks, splitting the
+	 * range in half until it holds a single chunk. */
+	private static class LexChunks extends RecursiveAction{
+		private static final long serialVersionUID = 1L;
+		private final SourceBuffer buffer;
+		private final int[] boundaries;
+		private final Chunk[] chunks;
+		private final int from;
+		private final int to;
+
+		// Constructor
+		private LexChunks(SourceBuffer buffer, int[] boundaries, Chunk[] chunks, int from, int to) {
+			this.buffer = buffer;
+			this.boundaries = boundaries;
+			this.chunks = chunks;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected void compute() {
+
+			// Split the range until it holds a single chunk
+			if(this.to - this.from > 1) {
+				int middle = (this.from + this.to) >>> 1;
+				invokeAll(new LexChunks(this.buffer, this.boundaries, this.chunks, this.from, middle),
+						new LexChunks(this.buffer, this.boundaries, this.chunks, middle, this.to));
+				return;
+			}
+			Chunk chunk = new Chunk(this.buffer);
+			chunk.lex(this.buffer, this.boundaries[this.from], this.boundaries[this.from + 1],
+					this.from == this.chunks.length - 1);
+			this.chunks[this.from] = chunk;
+		}
+	}
+}
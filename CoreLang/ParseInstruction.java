@@ -4,8 +4,8 @@ import static CoreLang.Core.*;
 import static CoreLang.ParseInstruction.Instruction.*;
 import static CoreLang.Symbol.SymbolType.*;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
-import java.util.Queue;
 import CoreLang.Symbol.SymbolType;
 
 /* This interface defines the methods that
@@ -35,8 +35,8 @@ public interface ParseInstruction{
 	// Returns what the parse instruction is
 	public Instruction getInstruction();
 	
-	// Executes the parse instruction
-	public void execute(CoreScanner scanner, Symbol symbol);
+	// Executes the parse instruction on the node a manager parses
+	public void execute(CoreScanner scanner, InstructionManager manager);
 	
 	// Classes that implement the ParseInstruction interface
 	
@@ -63,13 +63,13 @@ public interface ParseInstruction{
 		}
 
 		@Override
-		public void execute(CoreScanner scanner, Symbol symbol) {
+		public void execute(CoreScanner scanner, InstructionManager manager) {
 
 			// Check if token is valid
 			if(scanner.currentToken().equals(this.validToken)) {
 				
 				// Add terminal child to the parse tree
-				symbol.addTerminalChild(scanner);
+				manager.addTerminalChild(scanner);
 				
 				// Advance to the next token
 				if(!scanner.currentToken().equals(EOS)) {
@@ -80,11 +80,11 @@ public interface ParseInstruction{
 				 * to be checked within the parse
 				 * instruction set. */
 				if(this.isFinalToken) {
-					symbol.getInstructionManager().setDoneParsing(true);
+					manager.setDoneParsing(true);
 				}
 				
 			} else {
-				ErrorHandler.handleError("ERROR parsing " + symbol.getNameOrValue() + ": " + scanner.currentToken().toString() + 
+				ErrorHandler.handleError("ERROR parsing " + manager.getName() + ": " + scanner.currentToken().toString() + 
 						" token should be " + String.valueOf(this.validToken) + " token. ");
 			}
 		}
@@ -92,17 +92,17 @@ public interface ParseInstruction{
 	
 	/* This parse instruction checks if
 	 * multiple consecutive tokens from the 
-	 * scanner are equal to a given Queue
+	 * scanner are equal to a given List
 	 * of tokens and EXITS the program
 	 * if any of the consecutive tokens
 	 * from the scanner don't match the
-	 * tokens in the Queue. */
+	 * tokens in the List. */
 	public class ValidateTokensOrExit implements ParseInstruction{
-		private Queue<Core> tokensToValidate;
+		private List<Core> tokensToValidate;
 		private boolean hasFinalToken;
 		
 		// Constructor
-		public ValidateTokensOrExit(Queue<Core>tokensToValidate, boolean hasFinalToken) {
+		public ValidateTokensOrExit(List<Core>tokensToValidate, boolean hasFinalToken) {
 			this.tokensToValidate = tokensToValidate;
 			this.hasFinalToken = hasFinalToken;
 		}
@@ -113,7 +113,7 @@ public interface ParseInstruction{
 		}
 
 		@Override
-		public void execute(CoreScanner scanner, Symbol symbol) {
+		public void execute(CoreScanner scanner, InstructionManager manager) {
 			Iterator<Core> tokenSequence = this.tokensToValidate.iterator();
 			
 			// Validate each token in the sequence
@@ -122,12 +122,12 @@ public interface ParseInstruction{
 				
 				// Handle case of invalid token
 				if(!scanner.currentToken().equals(currToken)) {
-					ErrorHandler.handleError("ERROR parsing " + symbol.getNameOrValue() + ": " + scanner.currentToken().toString() + 
+					ErrorHandler.handleError("ERROR parsing " + manager.getName() + ": " + scanner.currentToken().toString() + 
 							" token should be " + String.valueOf(currToken) + " token. ");
 				}
 				
 				// Add terminal child to the parse tree
-				symbol.addTerminalChild(scanner);
+				manager.addTerminalChild(scanner);
 				
 				// Advance to the next token
 				if(!scanner.currentToken().equals(EOS)) {
@@ -139,11 +139,11 @@ public interface ParseInstruction{
 			 * token to check in the parse 
 			 * instruction set. */
 			if(this.hasFinalToken) {
-				symbol.getInstructionManager().setDoneParsing(true);
+				manager.setDoneParsing(true);
 				
 				// Check the validity of a function call
-				if(symbol.getType().equals(Call)) {
-					SemanticChecker.validateFunctionCall(symbol, symbol.getTerminalChildren().get(1));
+				if(manager.getType().equals(Call)) {
+					SemanticChecker.validateFunctionCall(manager.getArena(), manager.getNode(), manager.getTerminalChildren().get(1));
 				}
 			}
 		}
@@ -169,18 +169,18 @@ public interface ParseInstruction{
 		}
 
 		@Override
-		public void execute(CoreScanner scanner, Symbol symbol) {
+		public void execute(CoreScanner scanner, InstructionManager manager) {
 
 			// Check if instruction set is valid
 			if(scanner.currentToken().equals(this.firstToken)) {
 				
 				// Add terminal child to the parse tree
-				symbol.addTerminalChild(scanner);
+				manager.addTerminalChild(scanner);
 				
 				// Advance to next token
 				scanner.nextToken();
 			} else {
-				symbol.getInstructionManager().setInstructionsInvalid(true);
+				manager.setInstructionsInvalid(true);
 			}
 		}
 	}
@@ -205,15 +205,14 @@ public interface ParseInstruction{
 		}
 
 		@Override
-		public void execute(CoreScanner scanner, Symbol symbol) {
+		public void execute(CoreScanner scanner, InstructionManager manager) {
 			
 			// Check if current token isn't the target token
 			if(!scanner.currentToken().equals(this.possibleNextToken)) {
 				
-				/* Build a symbol of the proper type, 
-				 * add it to the parse tree, and parse it. */
-				symbol.addNonTerminalChild(SymbolFactory.createSymbol(this.type));
-				symbol.getNonTerminalChildren().get(symbol.getNonTerminalChildren().size() - 1).parse(scanner);
+				/* Add a node of the proper type to
+				 * the parse tree, and parse it. */
+				manager.parseChild(this.type, scanner);
 			}
 		}
 	}
@@ -236,11 +235,10 @@ public interface ParseInstruction{
 		}
 
 		@Override
-		public void execute(CoreScanner scanner, Symbol symbol) {
+		public void execute(CoreScanner scanner, InstructionManager manager) {
 			
-			// Add a symbol to the tree and parse it
-			symbol.addNonTerminalChild(SymbolFactory.createSymbol(this.type));
-			symbol.getNonTerminalChildren().get(symbol.getNonTerminalChildren().size() - 1).parse(scanner);
+			// Add a node to the tree and parse it
+			manager.parseChild(this.type, scanner);
 		}
 	}
 	
@@ -266,7 +264,7 @@ public interface ParseInstruction{
 		}
 
 		@Override
-		public void execute(CoreScanner scanner, Symbol symbol) {
+		public void execute(CoreScanner scanner, InstructionManager manager) {
 
 			/* Check if the current token is present in any of the
 			 * first sets for any of the symbols that we can parse. */
@@ -277,23 +275,22 @@ public interface ParseInstruction{
 				 * in between their first appearance and the next potential 
 				 * parse so we do not have any terminal child to consume in 
 				 * those cases. */
-				if(!symbol.getType().equals(Decl) && !symbol.getType().equals(Stmt) &&
-						!symbol.getType().equals(DeclSeq)) {
+				if(!manager.getType().equals(Decl) && !manager.getType().equals(Stmt) &&
+						!manager.getType().equals(DeclSeq)) {
 					
 					// Add terminal child to the parse tree
-					symbol.addTerminalChild(scanner);
+					manager.addTerminalChild(scanner);
 					
 					// Advance to next token
 					scanner.nextToken();
 				}
 				
-				// Add symbol to the parse tree, and parse it
-				symbol.addNonTerminalChild(SymbolFactory.createSymbol(type));
-				symbol.getNonTerminalChildren().get(symbol.getNonTerminalChildren().size() - 1).parse(scanner);
+				// Add a node to the parse tree, and parse it
+				manager.parseChild(type, scanner);
 			} else {
 				
 				// The current token isn't present in any of the first sets.
-				ErrorHandler.handleTokenNotInFirstSet(scanner.currentToken(), this.firstSet.keySet(), symbol.getNameOrValue());
+				ErrorHandler.handleTokenNotInFirstSet(scanner.currentToken(), this.firstSet.keySet(), manager.getName());
 			}
 		}
 	}
@@ -320,7 +317,7 @@ public interface ParseInstruction{
 		}
 
 		@Override
-		public void execute(CoreScanner scanner, Symbol symbol) {
+		public void execute(CoreScanner scanner, InstructionManager manager) {
 
 			/* Check if the current token is present in any of the
 			 * first sets for any of the symbols that we can parse. */
@@ -330,11 +327,11 @@ public interface ParseInstruction{
 				 * their first occurance and the next potential parse so
 				 * we do not have any terminal child to consume in those
 				 * cases. */
-				if(!symbol.getType().equals(Decl) && !symbol.getType().equals(Stmt) &&
-						!symbol.getType().equals(DeclSeq) && !symbol.getType().equals(StmtSeq)) {
+				if(!manager.getType().equals(Decl) && !manager.getType().equals(Stmt) &&
+						!manager.getType().equals(DeclSeq) && !manager.getType().equals(StmtSeq)) {
 					
 					// Add terminal child to the parse tree
-					symbol.addTerminalChild(scanner);
+					manager.addTerminalChild(scanner);
 					
 					// Advance to next token
 					scanner.nextToken();
@@ -342,7 +339,7 @@ public interface ParseInstruction{
 				
 				/* Jump back to the first instruction 
 				 * (which is an unconditional parse). */
-				symbol.getInstructionManager().setRepeatInstructions(true);
+				manager.setRepeatInstructions(true);
 			} else {
 				
 				/* We do not want to restart the instruction 
@@ -350,7 +347,7 @@ public interface ParseInstruction{
 				 * then we do not need to run this method
 				 * again and look for another symbol to
 				 * parse. */
-				symbol.getInstructionManager().setRepeatInstructions(false);
+				manager.setRepeatInstructions(false);
 			}
 		}
 	}
@@ -371,7 +368,7 @@ public interface ParseInstruction{
 		}
 
 		@Override
-		public void execute(CoreScanner scanner, Symbol symbol) {
+		public void execute(CoreScanner scanner, InstructionManager manager) {
 			SymbolType type = this.firstSet.get(scanner.currentToken());
 			
 			/* If the first symbol isn't terminal
@@ -381,7 +378,7 @@ public interface ParseInstruction{
 			while(type == Terminal) {
 				
 				// Add terminal child to the parse tree
-				symbol.addTerminalChild(scanner);
+				manager.addTerminalChild(scanner);
 				
 				// Advance to next token
 				scanner.nextToken();
@@ -409,13 +406,13 @@ public interface ParseInstruction{
 		}
 
 		@Override
-		public void execute(CoreScanner scanner, Symbol symbol) {
+		public void execute(CoreScanner scanner, InstructionManager manager) {
 			
 			/* At the start of a new possible parse 
 			 * instruction set, we haven't determined 
 			 * whether it is invalid or not, so
 			 * invalidInstructionSet needs to be reset. */
-			symbol.getInstructionManager().setInstructionsInvalid(false);
+			manager.setInstructionsInvalid(false);
 		}
 	}
 	
@@ -438,13 +435,13 @@ public interface ParseInstruction{
 		}
 
 		@Override
-		public void execute(CoreScanner scanner, Symbol symbol) {
+		public void execute(CoreScanner scanner, InstructionManager manager) {
 			
 			// Check if token is valid
 			if(scanner.currentToken().equals(this.validToken)) {
 				
 				// Add terminal child to the parse tree
-				symbol.addTerminalChild(scanner);
+				manager.addTerminalChild(scanner);
 				
 				// Advance to the next token
 				if(!scanner.currentToken().equals(EOS)) {
@@ -455,10 +452,10 @@ public interface ParseInstruction{
 				 * the instruction set if necessary. */
 				if(this.restartExecution) {
 					// Restart the execution of the instruction set
-					symbol.getInstructionManager().setRepeatInstructions(true);
+					manager.setRepeatInstructions(true);
 				} else {
 					// Stop parsing if otherwise
-					symbol.getInstructionManager().setDoneParsing(true);
+					manager.setDoneParsing(true);
 				}
 			}
 		}
@@ -478,8 +475,8 @@ public interface ParseInstruction{
 		}
 
 		@Override
-		public void execute(CoreScanner scanner, Symbol symbol) {
-			SemanticChecker.verifyAssignment(symbol.getTerminalChildren());
+		public void execute(CoreScanner scanner, InstructionManager manager) {
+			SemanticChecker.verifyAssignment(manager.getTerminalChildren());
 		}
 	}
 	
@@ -500,8 +497,8 @@ public interface ParseInstruction{
 		}
 
 		@Override
-		public void execute(CoreScanner scanner, Symbol symbol) {
-			SemanticChecker.verifyVarType(symbol.getTerminalChildren().get(0), this.requiredVarType);
+		public void execute(CoreScanner scanner, InstructionManager manager) {
+			SemanticChecker.verifyVarType(manager.getTerminalChildren().get(0), this.requiredVarType);
 		}
 	}
 	
@@ -526,14 +523,14 @@ public interface ParseInstruction{
 		}
 
 		@Override
-		public void execute(CoreScanner scanner, Symbol symbol) {
+		public void execute(CoreScanner scanner, InstructionManager manager) {
 			
 			// Count the amount of children that are the open terminal symbol
-			int numTrailingTerminals = symbol.getTerminalChildCount(this.openTerminal);
+			int numTrailingTerminals = manager.getTerminalChildCount(this.openTerminal);
 			
 			// Consume each trailing closed terminal symbol
 			for(int i = 0; i < numTrailingTerminals; i++) {
-				this.validateToken.execute(scanner, symbol);
+				this.validateToken.execute(scanner, manager);
 			}
 		}
 	}
@@ -0,0 +1,389 @@
+package CoreLang;
+
+import static CoreLang.Core.*;
+import static CoreLang.Symbol.SymbolType.*;
+import java.util.Map;
+import CoreLang.Symbol.SymbolType;
+
+/* This class parses a Core program with a
+ * hand-written recursive-descent parser.
+ * Each non-terminal symbol type has its own
+ * method that walks through the grammar rule
+ * directly instead of interpreting a parse
+ * instruction set, so no first set lookups,
+ * restart flags, or instruction dispatch are
+ * needed for most symbols.
+ * The nodes are added to the AstArena of the
+ * tree directly (see TreeBuilder).
+ * NOTE: the InstructionManager is the reference
+ * parser; this class must build exactly the same
+ * parse tree, make the same semantic checks in the
+ * same order, and report the same error messages. */
+public final class RecursiveDescentParser{
+	private static final Map<Core, SymbolType> declSeqFirstSet = Map.ofEntries(Map.entry(INTEGER, Decl),
+			Map.entry(OBJECT, Decl), Map.entry(PROCEDURE, Function));
+	private static final Map<Core, SymbolType> stmtFirstSet = Map.ofEntries(Map.entry(ID, Assign),
+			Map.entry(IF, If),
+			Map.entry(FOR, Loop),
+			Map.entry(PRINT, Print),
+			Map.entry(READ, Read),
+			Map.entry(INTEGER, Decl),
+			Map.entry(OBJECT, Decl),
+			Map.entry(BEGIN, Call));
+	private static final Map<Core, SymbolType> declFirstSet = Map.ofEntries(Map.entry(INTEGER, DeclInteger),
+			Map.entry(OBJECT, DeclObj));
+	private static final Map<Core, SymbolType> condFirstSet = Map.ofEntries(Map.entry(OR, Cmpr),
+			Map.entry(AND, Cmpr), Map.entry(NOT,Terminal), Map.entry(LSQUARE, Terminal));
+	private static final Map<Core, SymbolType> cmprFirstSet = Map.ofEntries(Map.entry(EQUAL, Expr),
+			Map.entry(LESS, Expr));
+
+	private final AstArena arena;
+	private final CoreScanner scanner;
+
+	// Constructor
+	private RecursiveDescentParser(AstArena arena, CoreScanner scanner) {
+		this.arena = arena;
+		this.scanner = scanner;
+	}
+
+	/* Parses a program into the arena of a given root
+	 * symbol, which hasn't been parsed yet. */
+	public static void parse(Symbol root, CoreScanner scanner) {
+		new RecursiveDescentParser(root.getArena(), scanner).parse(root.getNode());
+	}
+
+	/* Parses a non-terminal node that has already
+	 * been added to the parse tree. */
+	private void parse(int node) {
+
+		// Gives the semantic error checker the current symbol's type
+		SemanticChecker.update(this.arena, node);
+
+		// Parse the node based on its type
+		switch(this.arena.getType(node)) {
+			case Procedure:
+				this.parseProcedure(node);
+				break;
+			case DeclSeq:
+				this.parseDeclSeq(node);
+				break;
+			case StmtSeq:
+				this.parseStmtSeq(node);
+				break;
+			case Decl:
+			case Stmt:
+				this.parseFromFirstSet(node);
+				break;
+			case DeclInteger:
+				this.validateTokens(node, INTEGER, ID, SEMICOLON);
+				break;
+			case DeclObj:
+				this.validateTokens(node, OBJECT, ID, SEMICOLON);
+				break;
+			case Function:
+				this.parseFunction(node);
+				break;
+			case Parameters:
+				this.parseParameters(node);
+				break;
+			case Call:
+				this.parseCall(node);
+				break;
+			case Assign:
+				this.parseAssign(node);
+				break;
+			case Print:
+				this.validateTokens(node, PRINT, LPAREN);
+				this.parseChild(node, Expr);
+				this.validateTokens(node, RPAREN, SEMICOLON);
+				break;
+			case Read:
+				this.validateTokens(node, READ, LPAREN, ID, RPAREN, SEMICOLON);
+				break;
+			case If:
+				this.parseIf(node);
+				break;
+			case Loop:
+				this.parseLoop(node);
+				break;
+			case Cond:
+				this.parseCond(node);
+				break;
+			case Cmpr:
+				this.parseCmpr(node);
+				break;
+			case Expr:
+				this.parseOperation(node, Term, ADD, SUBTRACT);
+				break;
+			case Term:
+				this.parseOperation(node, Factor, MULTIPLY, DIVIDE);
+				break;
+			case Factor:
+				this.parseFactor(node);
+				break;
+			default:
+				ErrorHandler.handleError("ERROR: Cannot parse Symbol because its type is invalid.");
+				break;
+		}
+	}
+
+	// procedure ID is <decl-seq> begin <stmt-seq> end
+	private void parseProcedure(int node) {
+		this.validateTokens(node, PROCEDURE, ID, IS);
+
+		// The declaration sequence is optional
+		if(!this.scanner.currentToken().equals(BEGIN)) {
+			this.parseChild(node, DeclSeq);
+		}
+		this.validateTokens(node, BEGIN);
+		this.parseChild(node, StmtSeq);
+		this.validateTokens(node, END, EOS);
+	}
+
+	// <decl> | <function> followed by any number of others
+	private void parseDeclSeq(int node) {
+		do {
+			this.parseFromFirstSet(node);
+		} while(declSeqFirstSet.containsKey(this.scanner.currentToken()));
+	}
+
+	// <stmt> followed by any number of others
+	private void parseStmtSeq(int node) {
+		do {
+			this.parseChild(node, Stmt);
+		} while(stmtFirstSet.containsKey(this.scanner.currentToken()));
+	}
+
+	/* Parses the child whose first set holds the current
+	 * token. Declaration sequences, declarations, and
+	 * statements have no terminal in front of their child.
+	 * Prints an error message and exits the program if
+	 * no first set holds the current token. */
+	private void parseFromFirstSet(int node) {
+		Map<Core, SymbolType> firstSet = stmtFirstSet;
+		if(this.arena.getType(node).equals(DeclSeq)) {
+			firstSet = declSeqFirstSet;
+		}
+		else if(this.arena.getType(node).equals(Decl)) {
+			firstSet = declFirstSet;
+		}
+		SymbolType type = firstSet.get(this.scanner.currentToken());
+
+		// The current token isn't present in any of the first sets
+		if(type == null) {
+			ErrorHandler.handleTokenNotInFirstSet(this.scanner.currentToken(), firstSet.keySet(), TreeBuilder.getName(this.arena, node));
+		}
+		this.parseChild(node, type);
+	}
+
+	// procedure ID ( object <parameters> ) is <stmt-seq> end
+	private void parseFunction(int node) {
+		this.validateTokens(node, PROCEDURE, ID, LPAREN, OBJECT);
+		this.parseChild(node, Parameters);
+		this.validateTokens(node, RPAREN, IS);
+		this.parseChild(node, StmtSeq);
+		this.validateTokens(node, END);
+	}
+
+	// ID followed by any number of , ID
+	private void parseParameters(int node) {
+		this.validateTokens(node, ID);
+		while(this.consumeIfPresent(node, COMMA)) {
+			this.validateTokens(node, ID);
+		}
+	}
+
+	// begin ID ( <parameters> ) ;
+	private void parseCall(int node) {
+		this.validateTokens(node, BEGIN, ID, LPAREN);
+		this.parseChild(node, Parameters);
+		this.validateTokens(node, RPAREN, SEMICOLON);
+		SemanticChecker.validateFunctionCall(this.arena, node, this.arena.getTerminalTexts(node).get(1));
+	}
+
+	/* ID : ID ;
+	 * | ID [ STRING ] = <expr> ;
+	 * | ID = new object ( STRING , <expr> ) ;
+	 * | ID = <expr> ; */
+	private void parseAssign(int node) {
+		this.validateTokens(node, ID);
+
+		// Decide between the possible assignments by the next token
+		if(this.scanner.currentToken().equals(COLON)) {
+			this.consumeToken(node);
+			this.validateTokens(node, ID);
+			SemanticChecker.verifyAssignment(this.arena.getTerminalTexts(node));
+		}
+		else if(this.scanner.currentToken().equals(LSQUARE)) {
+			this.consumeToken(node);
+			this.validateTokens(node, STRING, RSQUARE, ASSIGN);
+			this.parseChild(node, Expr);
+			SemanticChecker.verifyAssignment(this.arena.getTerminalTexts(node));
+		} else {
+			this.validateTokens(node, ASSIGN);
+
+			// Check for a new object
+			if(this.scanner.currentToken().equals(NEW)) {
+				this.consumeToken(node);
+				this.validateTokens(node, OBJECT, LPAREN, STRING, COMMA);
+				this.parseChild(node, Expr);
+				this.validateTokens(node, RPAREN);
+				SemanticChecker.verifyAssignment(this.arena.getTerminalTexts(node));
+			} else {
+				this.parseChild(node, Expr);
+			}
+		}
+		this.validateTokens(node, SEMICOLON);
+	}
+
+	// if <cond> then <stmt-seq> end | if <cond> then <stmt-seq> else <stmt-seq> end
+	private void parseIf(int node) {
+		this.validateTokens(node, IF);
+		this.parseChild(node, Cond);
+		this.validateTokens(node, THEN);
+		this.parseChild(node, StmtSeq);
+
+		// Check for an else branch
+		if(!this.consumeIfPresent(node, END)) {
+			this.validateTokens(node, ELSE);
+			this.parseChild(node, StmtSeq);
+			this.validateTokens(node, END);
+		}
+	}
+
+	// for ( ID = <expr> ; <cond> ; <expr> ) do <stmt-seq> end
+	private void parseLoop(int node) {
+		this.validateTokens(node, FOR, LPAREN, ID, ASSIGN);
+		this.parseChild(node, Expr);
+		this.validateTokens(node, SEMICOLON);
+		this.parseChild(node, Cond);
+		this.validateTokens(node, SEMICOLON);
+		this.parseChild(node, Expr);
+		this.validateTokens(node, RPAREN, DO);
+		this.parseChild(node, StmtSeq);
+		this.validateTokens(node, END);
+	}
+
+	/* Comparisons joined by "or" and "and", each of which
+	 * can be preceded by any number of "not" and "[".
+	 * Every "[" of the condition is closed at its end. */
+	private void parseCond(int node) {
+		do {
+
+			// Consume leading terminals
+			while(condFirstSet.get(this.scanner.currentToken()) == Terminal) {
+				this.consumeToken(node);
+			}
+			this.parseChild(node, Cmpr);
+		} while(this.consumeIfFirstSetHolds(node, condFirstSet));
+
+		// Consume each trailing closed terminal symbol
+		int numTrailingTerminals = this.arena.countTerminals(node, "[");
+		for(int i = 0; i < numTrailingTerminals; i++) {
+			this.validateTokens(node, RSQUARE);
+		}
+	}
+
+	/* <expr> = <expr> | <expr> < <expr>
+	 * Prints an error message and exits the program if
+	 * the comparison operator is missing. */
+	private void parseCmpr(int node) {
+		this.parseChild(node, Expr);
+
+		// The current token isn't a comparison operator
+		if(!this.consumeIfFirstSetHolds(node, cmprFirstSet)) {
+			ErrorHandler.handleTokenNotInFirstSet(this.scanner.currentToken(), cmprFirstSet.keySet(), TreeBuilder.getName(this.arena, node));
+		}
+		this.parseChild(node, Expr);
+	}
+
+	/* Operands of a given type joined by either of two
+	 * operators (used for both <expr> and <term>). */
+	private void parseOperation(int node, SymbolType operandType,
+			Core firstOperator, Core secondOperator) {
+		do {
+			this.parseChild(node, operandType);
+		} while(this.consumeIfPresent(node, firstOperator) || this.consumeIfPresent(node, secondOperator));
+	}
+
+	// CONST | ( <expr> ) | ID | ID [ STRING ]
+	private void parseFactor(int node) {
+
+		// Check for a constant or an expression in parentheses
+		if(this.consumeIfPresent(node, CONST)) {
+			return;
+		}
+		else if(this.scanner.currentToken().equals(LPAREN)) {
+			this.consumeToken(node);
+			this.parseChild(node, Expr);
+			this.validateTokens(node, RPAREN);
+			return;
+		}
+		this.validateTokens(node, ID);
+
+		// Check for a key of an object
+		if(this.scanner.currentToken().equals(LSQUARE)) {
+			this.consumeToken(node);
+			SemanticChecker.verifyVarType(this.arena.getTerminalTexts(node).get(0), OBJECT);
+			this.validateTokens(node, STRING, RSQUARE);
+		}
+	}
+
+	// Adds a node of a given type to the parse tree and parses it
+	private void parseChild(int node, SymbolType type) {
+		this.parse(TreeBuilder.addNonTerminal(this.arena, node, type));
+	}
+
+	/* Checks that the next tokens are equal to the given
+	 * tokens and adds them to the parse tree.
+	 * Prints an error message and exits the program if
+	 * any of them aren't. */
+	private void validateTokens(int node, Core... tokens) {
+		for(Core token : tokens) {
+
+			// Handle case of invalid token
+			if(!this.scanner.currentToken().equals(token)) {
+				ErrorHandler.handleError("ERROR parsing " + TreeBuilder.getName(this.arena, node) + ": " + this.scanner.currentToken().toString() +
+						" token should be " + String.valueOf(token) + " token. ");
+			}
+
+			// Add terminal child to the parse tree
+			TreeBuilder.addTerminal(this.arena, node, this.scanner);
+
+			// Advance to the next token
+			if(!this.scanner.currentToken().equals(EOS)) {
+				this.scanner.nextToken();
+			}
+		}
+	}
+
+	// Adds the current token to the parse tree and advances to the next token
+	private void consumeToken(int node) {
+		TreeBuilder.addTerminal(this.arena, node, this.scanner);
+		this.scanner.nextToken();
+	}
+
+	/* Consumes the current token if it is equal to a given
+	 * token and tells whether it was. */
+	private boolean consumeIfPresent(int node, Core token) {
+
+		// Check if the token is present
+		if(!this.scanner.currentToken().equals(token)) {
+			return false;
+		}
+		this.consumeToken(node);
+		return true;
+	}
+
+	/* Consumes the current token if it is in a given first
+	 * set and tells whether it was. */
+	private boolean consumeIfFirstSetHolds(int node, Map<Core, SymbolType> firstSet) {
+
+		// Check if the token is in the first set
+		if(!firstSet.containsKey(this.scanner.currentToken())) {
+			return false;
+		}
+		this.consumeToken(node);
+		return true;
+	}
+}
@@ -0,0 +1,217 @@
+package CoreLang;
+
+import static CoreLang.AstArena.NO_SLOT;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import CoreLang.Symbol.SymbolType;
+
+/* This class resolves every variable of a parse
+ * tree to a slot once the tree is finished, so
+ * variables can be found in an array instead of
+ * being looked up by name when they are used.
+ * A variable is resolved the way the name lookup
+ * of a frame used to find it: the innermost scope
+ * of the current frame that declared it wins, and
+ * then the global scope. Each declaration gets a
+ * slot of its own, except that a variable that is
+ * declared again in the same scope replaces the old
+ * one and keeps its slot. Global variables get
+ * negative slots.
+ * Every ID is also marked with the type of the
+ * variable it names, so integers can be kept in
+ * an int array of their own.
+ * NOTE: "ID = new object(...)" in a function makes
+ * a new local copy of the object in the current
+ * scope, so it declares its ID like a declaration
+ * does (if the ID can be found at all). */
+public final class Resolver{
+	private final AstArena arena;
+	private final Map<String, Integer> globals;
+	private final Deque<Map<String, Integer>> blocks;
+	private final Set<Integer> integerSlots;
+	private int frameSlots;
+	private int blockObjects;
+	private boolean inFunction;
+
+	// Private constructor to prevent instantiation outside of resolve
+	private Resolver(AstArena arena) {
+		this.arena = arena;
+		this.globals = new HashMap<>();
+		this.blocks = new ArrayDeque<>();
+		this.integerSlots = new HashSet<>();
+	}
+
+	/* Resolves the variables of the main procedure and its
+	 * functions and stores their slots in the arena. */
+	public static void resolve(Symbol procedure) {
+		new Resolver(procedure.getArena()).resolveProcedure(procedure);
+	}
+
+	// procedure ID is <decl-seq> begin <stmt-seq> end
+	private void resolveProcedure(Symbol procedure) {
+		List<Symbol> children = procedure.getNonTerminalChildren();
+
+		// Declare the global variables
+		if(children.size() > 1) {
+			for(Symbol child : children.get(0).getNonTerminalChildren()) {
+				if(child.getType().equals(SymbolType.Decl)) {
+					Symbol decl = child.getNonTerminalChildren().get(0);
+					Symbol id = decl.getChildren().get(1);
+					int slot = -1 - this.globals.size();
+					this.globals.put(id.getNameOrValue(), slot);
+					this.setSlot(id, slot, decl.getType().equals(SymbolType.DeclInteger));
+				}
+			}
+		}
+
+		// Resolve the main body
+		this.resolveBlock(children.get(children.size() - 1));
+		this.arena.setSlot(procedure.getNode(), this.frameSlots);
+
+		// Resolve each function in a frame of its own
+		this.inFunction = true;
+		if(children.size() > 1) {
+			for(Symbol child : children.get(0).getNonTerminalChildren()) {
+				if(child.getType().equals(SymbolType.Function)) {
+					this.resolveFunction(child);
+				}
+			}
+		}
+	}
+
+	/* procedure ID ( object <parameters> ) is <stmt-seq> end
+	 * (the formal parameters share the scope of the body). */
+	private void resolveFunction(Symbol function) {
+		this.frameSlots = 0;
+		this.integerSlots.removeIf(slot -> slot >= 0);
+		this.blocks.push(new HashMap<>());
+		for(Symbol param : function.getNonTerminalChildren().get(0).getChildren()) {
+			if(this.arena.getToken(param.getNode()).equals(Core.ID)) {
+				this.declare(param, false);
+			}
+		}
+		this.resolveStmtSeq(function.getNonTerminalChildren().get(1));
+		this.blocks.pop();
+		this.arena.setSlot(function.getNode(), this.frameSlots);
+	}
+
+	/* Resolves a stmt-seq symbol in a scope of its own and
+	 * gives it the number of objects the scope declares. */
+	private void resolveBlock(Symbol stmtSeq) {
+		int outerObjects = this.blockObjects;
+		this.blockObjects = 0;
+		this.blocks.push(new HashMap<>());
+		this.resolveStmtSeq(stmtSeq);
+		this.blocks.pop();
+		this.arena.setSlot(stmtSeq.getNode(), this.blockObjects);
+		this.blockObjects = outerObjects;
+	}
+
+	// Resolves each statement of a stmt-seq symbol in order
+	private void resolveStmtSeq(Symbol stmtSeq) {
+		for(Symbol stmt : stmtSeq.getNonTerminalChildren()) {
+			this.resolveStmt(stmt.getNonTerminalChildren().get(0));
+		}
+	}
+
+	// Resolves a statement based on its type
+	private void resolveStmt(Symbol stmt) {
+		List<Symbol> children = stmt.getChildren();
+		switch(stmt.getType()) {
+			case Decl:
+				Symbol decl = stmt.getNonTerminalChildren().get(0);
+				this.declare(decl.getChildren().get(1), decl.getType().equals(SymbolType.DeclInteger));
+				break;
+			case Assign:
+
+				// A new object in a function is a new local variable
+				if(this.inFunction && stmt.getTerminalChildren().contains("new") &&
+						this.find(children.get(0).getNameOrValue()) != NO_SLOT) {
+					this.declare(children.get(0), false);
+				}
+				this.resolveChildren(stmt);
+				break;
+			case If:
+				this.resolveChildren(children.get(1));
+				this.resolveBlock(children.get(3));
+				if(children.size() > 5) {
+					this.resolveBlock(children.get(5));
+				}
+				break;
+			case Loop:
+				this.use(children.get(2));
+				this.resolveChildren(children.get(4));
+				this.resolveChildren(children.get(6));
+				this.resolveChildren(children.get(8));
+				this.resolveBlock(children.get(11));
+				break;
+			case Call:
+				this.resolveChildren(stmt.getNonTerminalChildren().get(0));
+				break;
+			default:
+				this.resolveChildren(stmt);
+				break;
+		}
+	}
+
+	/* Resolves every ID terminal below a symbol that hasn't
+	 * been given a slot yet (for every statement that doesn't
+	 * start a scope, the order of the IDs doesn't matter). */
+	private void resolveChildren(Symbol symbol) {
+		for(Symbol child : symbol.getChildren()) {
+			if(!child.getType().equals(SymbolType.Terminal)) {
+				this.resolveChildren(child);
+			}
+			else if(this.arena.getToken(child.getNode()).equals(Core.ID) &&
+					this.arena.getSlot(child.getNode()) == NO_SLOT) {
+				this.use(child);
+			}
+		}
+	}
+
+	// Gives an ID terminal the slot of the variable it names
+	private void use(Symbol id) {
+		int slot = this.find(id.getNameOrValue());
+		this.setSlot(id, slot, this.integerSlots.contains(slot));
+	}
+
+	/* Declares an integer or object variable an ID terminal
+	 * names in the current scope and gives the ID its slot. */
+	private void declare(Symbol id, boolean integer) {
+		Integer slot = this.blocks.peek().get(id.getNameOrValue());
+		if(slot == null) {
+			slot = this.frameSlots++;
+			this.blocks.peek().put(id.getNameOrValue(), slot);
+		}
+		if(!integer) {
+			this.blockObjects++;
+		}
+		this.setSlot(id, slot, integer);
+	}
+
+	// Stores the slot of an ID terminal and the type of its variable
+	private void setSlot(Symbol id, int slot, boolean integer) {
+		if(integer) {
+			this.integerSlots.add(slot);
+		} else {
+			this.integerSlots.remove(slot);
+		}
+		this.arena.setSlot(id.getNode(), slot);
+		this.arena.setInteger(id.getNode(), integer);
+	}
+
+	// Returns the slot of a variable, or NO_SLOT if it can't be found
+	private int find(String identifier) {
+		for(Map<String, Integer> block : this.blocks) {
+			if(block.containsKey(identifier)) {
+				return block.get(identifier);
+			}
+		}
+		return this.globals.getOrDefault(identifier, NO_SLOT);
+	}
+}
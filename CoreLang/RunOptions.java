@@ -0,0 +1,150 @@
+package CoreLang;
+
+/* This class stores the options that were
+ * passed to the interpreter after the
+ * program file and the input file.
+ * Every option has a default value, so a
+ * program can always be run with only
+ * the two file paths. */
+public final class RunOptions{
+	private static boolean streamSource = false;
+	private static String lexer = "dfa";
+	private static String parser = "instructions";
+	private static String backend = "tree";
+	private static String cacheDir = null;
+	private static String gcOutput = "lines";
+	private static boolean gcLines = true;
+	private static int threads = Runtime.getRuntime().availableProcessors();
+	private static int heapLimit = Integer.MAX_VALUE;
+
+	// Private constructor to prevent instantiation
+	private RunOptions() {}
+
+	/* Reads the options that come after the program file
+	 * and the input file.
+	 * Prints an error message and exits the program
+	 * if an option isn't recognized. */
+	public static void parse(String[] args) {
+
+		// The first two arguments are always the file paths
+		for(int i = 2; i < args.length; i++) {
+			switch(args[i]) {
+				case "-reader=buffer":
+					streamSource = false;
+					break;
+				case "-reader=stream":
+					streamSource = true;
+					break;
+				case "-lexer=dfa":
+				case "-lexer=reference":
+				case "-lexer=compare":
+				case "-lexer=parallel":
+					lexer = args[i].substring(args[i].indexOf('=') + 1);
+					break;
+				case "-parser=descent":
+				case "-parser=instructions":
+					parser = args[i].substring(args[i].indexOf('=') + 1);
+					break;
+				case "-backend=tree":
+				case "-backend=vm":
+				case "-backend=jvm":
+					backend = args[i].substring(args[i].indexOf('=') + 1);
+					break;
+				case "-gc=lines":
+				case "-gc=summary":
+				case "-gc=histogram":
+					gcOutput = args[i].substring(args[i].indexOf('=') + 1);
+					gcLines = gcOutput.equals("lines");
+					break;
+				default:
+					
+					// The cache directory is the only option that takes a path
+					if(args[i].startsWith("-cache=")) {
+						cacheDir = args[i].substring(args[i].indexOf('=') + 1);
+					} else {
+						parseValueOption(args[i]);
+					}
+					break;
+			}
+		}
+	}
+
+	/* Reads an option that takes a number.
+	 * Prints an error message and exits the program
+	 * if the option isn't recognized or its value
+	 * isn't a positive number. */
+	private static void parseValueOption(String arg) {
+		int value = -1;
+
+		// Make sure the option has a positive number as its value
+		try {
+			value = Integer.parseInt(arg.substring(arg.indexOf('=') + 1));
+		} catch(NumberFormatException e) {
+			value = -1;
+		}
+		if(value < 1) {
+			ErrorHandler.handleError("ERROR: Unknown option " + arg + ".");
+		}
+		if(arg.startsWith("-threads=")) {
+			threads = value;
+		} else if(arg.startsWith("-heap=")) {
+			heapLimit = value;
+		} else {
+			ErrorHandler.handleError("ERROR: Unknown option " + arg + ".");
+		}
+	}
+
+	/* Tells whether source files should be read one
+	 * character at a time from the file instead of
+	 * being loaded into memory. */
+	public static boolean streamSource() {
+		return streamSource;
+	}
+
+	/* Returns the name of the lexer engine to use
+	 * ("dfa", "parallel", "reference", or "compare"). */
+	public static String getLexer() {
+		return lexer;
+	}
+
+	/* Returns the name of the parser to use
+	 * ("descent" or "instructions"). */
+	public static String getParser() {
+		return parser;
+	}
+
+	/* Returns the name of the backend that runs the program
+	 * ("tree", "vm", or "jvm"). */
+	public static String getBackend() {
+		return backend;
+	}
+
+	/* Returns the directory compiled programs are cached in,
+	 * or null if they aren't cached. */
+	public static String getCacheDir() {
+		return cacheDir;
+	}
+
+	// Returns the number of threads the parallel lexer can use
+	public static int getThreads() {
+		return threads;
+	}
+
+	/* Returns how the garbage collector reports the number
+	 * of reachable objects ("lines", "summary", or "histogram"). */
+	public static String getGcOutput() {
+		return gcOutput;
+	}
+
+	// Tells whether the garbage collector prints a gc line for every update
+	public static boolean printsGcLines() {
+		return gcLines;
+	}
+
+	/* Returns the largest number of key slots the objects of
+	 * a program can have in the heap at once (no limit by
+	 * default). */
+	public static int getHeapLimit() {
+		return heapLimit;
+	}
+}
@@ -1,47 +1,45 @@
 package CoreLang;
 
-import java.util.Map;
-import java.util.TreeMap;
 import static CoreLang.Core.*;
 
-// This class represents a scope in a Core program.
+/* This class represents a scope in a Core program.
+ * Variables are kept by the NameTable ID of
+ * their identifier. */
 public class Scope{
-	private Map<String, Core> symbolTable;
+	private IdMap<Core> symbolTable;
 	
 	// Constructor
 	public Scope() {
-		this.symbolTable = new TreeMap<>();
+		this.symbolTable = new IdMap<>();
 	}
 	
 	// Adds a variable's identifier and its type to the symbol table
-	public void registerVar(String identifier, Core varType) {
+	public void registerVar(int id, Core varType) {
 		
 		/* If the same given identifier hasn't already 
 		 * been declared, add it to the symbol table. */
-		if(!this.symbolTable.containsKey(identifier)){
-			this.symbolTable.put(identifier, varType);
+		if(!this.symbolTable.containsKey(id)){
+			this.symbolTable.put(id, varType);
 		} else {
 			/* Add error message in case of attempt
 			 * at double variable declaration. */
-			SemanticChecker.registerError("ERROR: identifier \'" + identifier + "\' already in use.");
+			SemanticChecker.registerError("ERROR: identifier \'" + NameTable.getName(id) + "\' already in use.");
 		}
 	}
 	
 	/* Returns the type of the symbol with 
-	 * the given identifier. 
+	 * the given identifier ID. 
 	 * Returns an ERROR token if the variable
 	 * isn't in the symbol table. */
-	public Core getVarType(String identifier) {
+	public Core getVarType(int id) {
 		
 		// Checks if the variable is in the symbol table
-		if(this.symbolTable.containsKey(identifier)) {
-			return this.symbolTable.get(identifier);
-		}
-		return ERROR;
+		Core varType = this.symbolTable.get(id);
+		return varType == null ? ERROR : varType;
 	}
 	
 	// See if a variable was registered in the symbol table
-	public boolean varRegistered(String identifier) {
-		return this.symbolTable.containsKey(identifier);
+	public boolean varRegistered(int id) {
+		return this.symbolTable.containsKey(id);
 	}
 }
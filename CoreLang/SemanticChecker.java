@@ -1,12 +1,13 @@
 package CoreLang;
 
-import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.LinkedList;
+import java.util.List;
 import java.util.Queue;
 import java.util.Stack;
 import static CoreLang.Core.*;
 import static CoreLang.Symbol.SymbolType.*;
+import CoreLang.Symbol.SymbolType;
 
 // This class verifies that the program is semantically valid
 public final class SemanticChecker {
@@ -41,6 +42,13 @@ public final class SemanticChecker {
 	 * not and returns a value of type
 	 * Core if so.*/
 	public static Core verifyVarDeclaration(String identifier) {
+		return verifyVarDeclaration(NameTable.intern(identifier));
+	}
+	
+	/* Checks if a variable with a given 
+	 * identifier ID has been declared in 
+	 * any of the scopes. */
+	public static Core verifyVarDeclaration(int id) {
 		Iterator<Scope> iterator = program.iterator();
 		Core varType = null;
 		
@@ -51,13 +59,14 @@ public final class SemanticChecker {
 			/* Check if the given variable 
 			 * was declared within the current 
 			 * scope. */
-			if(currScope.varRegistered(identifier)) {
-				varType = currScope.getVarType(identifier);
+			if(currScope.varRegistered(id)) {
+				varType = currScope.getVarType(id);
 			}
 		}
 		
 		// Register error if variable was never declared
 		if(varType == null) {
+			String identifier = NameTable.getName(id);
 
 			// Ensure that duplicate messages aren't registered
 			if(!errorMsgs.contains("ERROR: \'" + identifier + "\' is used but never declared.")) {
@@ -70,32 +79,37 @@ public final class SemanticChecker {
 	
 	// Verify that the given variable is of the proper type
 	public static void verifyVarType(String identifier, Core requiredType) {
+		Core varType = verifyVarDeclaration(identifier);
 		
 		// Check if the error has already been caught by the semantic checker
-		if(verifyVarDeclaration(identifier) == null) {
+		if(varType == null) {
 			return;
 		}
 		
 		// Check if the variable is of the required type
-		else if(!verifyVarDeclaration(identifier).equals(requiredType)) {
+		else if(!varType.equals(requiredType)) {
 		registerError("ERROR: \'" + identifier + "\' must be of type " + requiredType.toString().toLowerCase() + ".");
 		}
 	}
 	
 	// Check if an assignment is invalid
-	public static void verifyAssignment(ArrayList<String> terminalChildren) {
+	public static void verifyAssignment(List<String> terminalChildren) {
+		Core targetType = verifyVarDeclaration(terminalChildren.get(0));
 		
 		// Check if the error has already been caught by the semantic checker
-		if(verifyVarDeclaration(terminalChildren.get(0)) == null) {
+		if(targetType == null) {
 			return;
 		}
 		
+		// Only an alias assignment has a second variable
+		Core sourceType = terminalChildren.contains(":") ? verifyVarDeclaration(terminalChildren.get(2)) : null;
+		
 		/* Check for assignment cases in which the variable must have been 
 		 * declared as an object. */
-		else if((terminalChildren.contains(":") && (!verifyVarDeclaration(terminalChildren.get(0)).equals(OBJECT) || 
-				!verifyVarDeclaration(terminalChildren.get(2)).equals(OBJECT)))
-				|| (terminalChildren.contains("new") && !verifyVarDeclaration(terminalChildren.get(0)).equals(OBJECT)) || 
-				(terminalChildren.contains("[") && !verifyVarDeclaration(terminalChildren.get(0)).equals(OBJECT))) {
+		if((terminalChildren.contains(":") && (!targetType.equals(OBJECT) || 
+				!sourceType.equals(OBJECT)))
+				|| (terminalChildren.contains("new") && !targetType.equals(OBJECT)) || 
+				(terminalChildren.contains("[") && !targetType.equals(OBJECT))) {
 			
 			/* Register error messages based on how many 
 			 * variables were supposed to be of type object. */
@@ -103,10 +117,10 @@ public final class SemanticChecker {
 				
 				/* Check which variable wasn't declared as an 
 				 * OBJECT or if neither are of type OBJECT. */
-				if(verifyVarDeclaration(terminalChildren.get(0)).equals(OBJECT)) {
+				if(targetType.equals(OBJECT)) {
 					registerError("ERROR: Invalid assignment. \'" + terminalChildren.get(2) + "\' must be of type Object.");
 				}
-				else if(verifyVarDeclaration(terminalChildren.get(2)).equals(OBJECT)) {
+				else if(sourceType.equals(OBJECT)) {
 					registerError("ERROR: Invalid assignment. \'" + terminalChildren.get(0) + "\' must be of type Object.");
 				} else {
 					registerError("ERROR: Invalid assignment. \'" + terminalChildren.get(0) + "\'" + 
@@ -125,21 +139,22 @@ public final class SemanticChecker {
 	}
 	
 	/* Updates the semantic error checker each time
-	 * we start parsing a new symbol. */
-	public static void update(Symbol symbol) {
+	 * we start parsing a new node of the tree. */
+	public static void update(AstArena arena, int node) {
+		SymbolType type = arena.getType(node);
 		
 		/* Adds a new Scope object because we
 		 * are entering a new scope within the
 		 * program if we are parsing symbols of
 		 * either type. */
-		if(symbol.getType().equals(DeclSeq) || symbol.getType().equals(Function) || 
-				(symbol.getType().equals(StmtSeq) && !symbol.getParent().getType().equals(Function))) {
+		if(type.equals(DeclSeq) || type.equals(Function) || 
+				(type.equals(StmtSeq) && !arena.getType(arena.getParent(node)).equals(Function))) {
 			program.push(new Scope());
 		}
 	}
 	
 	// Checks if the correct amount of parameters were passed into the function
-	public static void validateFunctionCall(Symbol symbol, String identifier) {
+	public static void validateFunctionCall(AstArena arena, int call, String identifier) {
 		
 		/* We don't need to validate a function that's 
 		 * already been proven to not exist. */
@@ -147,19 +162,20 @@ public final class SemanticChecker {
 			return;
 		}
 		
-		Symbol function = MemManagementUnit.getProcedure(symbol.getTerminalChildren().get(1));
-		int requiredNumParams = function.getNonTerminalChildren().get(0).getTerminalChildren().size();
-		int numParamsPassedIn = symbol.getNonTerminalChildren().get(0).getTerminalChildren().size();
+		int requiredParams = arena.getNonTerminalChild(MemManagementUnit.getProcedureNode(identifier), 0);
+		int passedParams = arena.getNonTerminalChild(call, 0);
+		int requiredNumParams = arena.getChildCount(requiredParams);
+		int numParamsPassedIn = arena.getChildCount(passedParams);
 		
 		// Make sure the correct amount of parameters were passed into the function
 		if (requiredNumParams != numParamsPassedIn) {
 			// Remove commas from counts if present
 			if(requiredNumParams > 1) {
-				requiredNumParams = requiredNumParams - function.getNonTerminalChildren().get(0).getTerminalChildCount(",");
+				requiredNumParams = requiredNumParams - arena.countTerminals(requiredParams, ",");
 			}
 			
 			if(numParamsPassedIn > 1) {
-				numParamsPassedIn = numParamsPassedIn - symbol.getNonTerminalChildren().get(0).getTerminalChildCount(",");
+				numParamsPassedIn = numParamsPassedIn - arena.countTerminals(passedParams, ",");
 			}
 			
 			registerError("Error: procedure \'" + identifier + "\' requires " + requiredNumParams + 
@@ -167,37 +183,40 @@ public final class SemanticChecker {
 		}
 	}
 	
-	// This method performs a semantic check on all ID tokens
-	public static void IDTokenSemanticCheck(String identifier, Symbol symbol) {
+	/* This method performs a semantic check on all ID tokens
+	 * (node is the node the ID token was added to). */
+	public static void IDTokenSemanticCheck(int id, AstArena arena, int node) {
+		String identifier = NameTable.getName(id);
+		SymbolType type = arena.getType(node);
 		
 		// Register declared variables or formal parameters
-		if(symbol.getType().equals(DeclInteger) || symbol.getType().equals(DeclObj) || 
-				(symbol.getType().equals(Parameters) && symbol.getParent().getType().equals(Function))) {
+		if(type.equals(DeclInteger) || type.equals(DeclObj) || 
+				(type.equals(Parameters) && arena.getType(arena.getParent(node)).equals(Function))) {
 			
 			/* Register the variable based on
 			 * its declaration type. */
-			if(symbol.getType().equals(DeclInteger)) {
-				program.peek().registerVar(identifier, INTEGER);
+			if(type.equals(DeclInteger)) {
+				program.peek().registerVar(id, INTEGER);
 			} else {
-				program.peek().registerVar(identifier, OBJECT);
+				program.peek().registerVar(id, OBJECT);
 			}
 		}
 		
 		/* Register procedure IDs. No procedure may have identical
 		 * names. */
-		else if(symbol.getType().equals(Procedure) || symbol.getType().equals(Function)) {
+		else if(type.equals(Procedure) || type.equals(Function)) {
 			int address = -1;
 			
 			/* Register procedure ID and its address (-1 represents the 
 			 * address of the root of the parse tree). */
-			if(symbol.getType().equals(Function)) {
-				address = symbol.getParent().getChildren().size() - 1;
+			if(type.equals(Function)) {
+				address = arena.getChildCount(arena.getParent(node)) - 1;
 			}
 			MemManagementUnit.registerProcedure(identifier, address);
 		}
 		
 		// Verify that the procedure being called has been declared
-		else if(symbol.getType().equals(Call)) {
+		else if(type.equals(Call)) {
 			
 			// Register error message if necessary
 			if(!MemManagementUnit.procedureExists(identifier)) {
@@ -208,7 +227,7 @@ public final class SemanticChecker {
 		else {
 			
 			// Verify that the variable was declared
-			verifyVarDeclaration(identifier);
+			verifyVarDeclaration(id);
 		}
 	}
 }
@@ -0,0 +1,123 @@
+package CoreLang;
+
+import java.io.IOException;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/* This class holds the entire contents of a
+ * source file in memory and walks through it
+ * with a cursor.
+ * The file is memory-mapped and decoded in a
+ * single pass, so reading, peeking at, and
+ * unreading a character are all just array
+ * accesses instead of calls into a Reader. */
+public class SourceBuffer{
+	private final char[] chars;
+	private final int length;
+	private int cursor;
+
+	// Constructor
+	public SourceBuffer(char[] chars, int length) {
+		this.chars = chars;
+		this.length = length;
+		this.cursor = 0;
+	}
+
+	/* Maps the given file into memory and decodes it
+	 * into a SourceBuffer.
+	 * Prints an error message and exits the program if
+	 * the file can't be found or read. */
+	public static SourceBuffer load(String fileName) {
+		SourceBuffer buffer = null;
+
+		// Map the file and decode all of its characters at once
+		try(FileChannel channel = FileChannel.open(Paths.get(fileName), StandardOpenOption.READ)) {
+			MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+			CharBuffer decoded = Charset.defaultCharset().decode(mapped);
+			buffer = new SourceBuffer(decoded.array(), decoded.limit());
+		} catch(NoSuchFileException e) {
+			ErrorHandler.handleError("ERROR: File " + fileName + " not found.", e);
+		} catch(IOException e) {
+			ErrorHandler.handleError("ERROR: Problem reading from " + fileName + ".", e);
+		}
+
+		return buffer;
+	}
+
+	/* Returns the next character and advances the cursor.
+	 * Returns -1 if the end of the buffer has been reached. */
+	public int next() {
+
+		// Check if there are characters left to read
+		if(this.cursor < this.length) {
+			return this.chars[this.cursor++];
+		}
+		return -1;
+	}
+
+	/* Returns the next character without advancing the cursor.
+	 * Returns -1 if the end of the buffer has been reached. */
+	public int peek() {
+
+		// Check if there are characters left to read
+		if(this.cursor < this.length) {
+			return this.chars[this.cursor];
+		}
+		return -1;
+	}
+
+	// Moves the cursor back over the last character read
+	public void unread() {
+
+		// Make sure we don't move in front of the buffer
+		if(this.cursor > 0) {
+			this.cursor--;
+		}
+	}
+
+	/* Skips whitespace and returns the first
+	 * non-whitespace character.
+	 * Returns -1 if the end of the buffer is
+	 * reached first. */
+	public int nextNonWhitespace() {
+		int currChar = this.next();
+
+		// Skip all whitespace characters
+		while(currChar != -1 && Character.isWhitespace((char)currChar)) {
+			currChar = this.next();
+		}
+		return currChar;
+	}
+
+	// Returns the current position of the cursor
+	public int getPosition() {
+		return this.cursor;
+	}
+
+	// Moves the cursor to a given position
+	public void setPosition(int position) {
+		this.cursor = position;
+	}
+
+	// Returns the number of characters in the buffer
+	public int length() {
+		return this.length;
+	}
+
+	// Returns the character at a given position
+	public char charAt(int position) {
+		return this.chars[position];
+	}
+
+	/* Returns the characters of the buffer.
+	 * NOTE: only the first length() characters
+	 * are part of the source. */
+	public char[] getChars() {
+		return this.chars;
+	}
+}
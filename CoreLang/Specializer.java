@@ -0,0 +1,143 @@
+package CoreLang;
+
+import static CoreLang.Symbol.SymbolType.*;
+import java.util.List;
+import java.util.Set;
+import CoreLang.Symbol.*;
+
+/* This class rewrites the parse tree once it
+ * has been parsed, so that symbols don't have
+ * to work out what form they have every time
+ * they are executed.
+ * Each assign symbol is replaced by an Alias,
+ * KeyStore, NewObject, or VarStore symbol, and
+ * each factor symbol is replaced by an IntConst,
+ * ParenExpr, KeyLoad, or VarLoad symbol. Expr and
+ * term symbols are replaced by Arithmetic symbols
+ * and cmpr symbols by Comparison symbols, which
+ * hold the tokens of their operators. Call symbols
+ * are replaced by LinkedCall symbols, which are
+ * linked to the function they call. The symbols
+ * of the statements are replaced too: stmt-seq
+ * symbols by Blocks, if symbols by Branches, loop
+ * symbols by ForLoops, cond symbols by Conditions,
+ * print and read symbols by PrintValue and
+ * ReadValue symbols, and decl-integer and decl-obj
+ * symbols by IntDecl and ObjDecl symbols. The
+ * replacements decode their terminal children
+ * once and keep the replacements of the children
+ * they execute in fields, so executing them is a
+ * single call with no list searches, string
+ * comparisons, string parsing, or new views.
+ * NOTE: the replacements are views of the same
+ * nodes as the symbols they replace, so the tree
+ * itself doesn't change. They are the only views
+ * the arena keeps apart from the root. */
+public final class Specializer{
+	// The forms of the symbols that can't execute until they are replaced
+	private static final Set<Class<?>> unspecializedForms = Set.of(Assign.class, Call.class, Cmpr.class,
+			Expr.class, Term.class, Factor.class, Cond.class, StmtSeq.class, If.class, Loop.class,
+			Print.class, Read.class, DeclInteger.class, DeclObj.class);
+	
+	// Private constructor to prevent instantiation
+	private Specializer() {}
+	
+	/* Specializes every symbol below a given symbol that can be specialized.
+	 * NOTE: the children of a symbol are specialized before the
+	 * symbol itself, because the replacements keep the symbols
+	 * they execute in fields of their own. */
+	public static void specialize(Symbol symbol) {
+		List<Symbol> children = symbol.getNonTerminalChildren();
+		
+		// Specialize the children of each child and then replace the child
+		for(int i = 0; i < children.size(); i++) {
+			Symbol child = children.get(i);
+			specialize(child);
+			Symbol replacement = specializeSymbol(child);
+			if(replacement != child) {
+				symbol.replaceChild(child, replacement);
+			}
+		}
+	}
+	
+	/* Checks that no symbol below a given symbol still has
+	 * a form that has to be specialized before it can execute. */
+	public static void checkSpecialized(Symbol symbol) {
+		for(Symbol child : symbol.getNonTerminalChildren()) {
+			if(unspecializedForms.contains(child.getClass())) {
+				throw new IllegalStateException(child.getType() + " symbol was not specialized");
+			}
+			checkSpecialized(child);
+		}
+	}
+	
+	/* Returns the specialized replacement for a symbol, or
+	 * the symbol itself if it can't be specialized.
+	 * NOTE: an assign symbol with a [ is a key assignment
+	 * even if its expression has parentheses, so the forms
+	 * are checked in this order. */
+	private static Symbol specializeSymbol(Symbol symbol) {
+		
+		// Symbols of the other types are run through their children
+		if(symbol.getType().equals(Assign)) {
+			List<String> terminalChildren = symbol.getTerminalChildren();
+			if(terminalChildren.contains("[")) {
+				return new KeyStore(symbol);
+			}
+			else if(terminalChildren.contains("(")) {
+				return new NewObject(symbol);
+			}
+			else if(terminalChildren.contains(":")) {
+				return new Alias(symbol);
+			}
+			return new VarStore(symbol);
+		}
+		else if(symbol.getType().equals(Factor)) {
+			List<String> terminalChildren = symbol.getTerminalChildren();
+			if(terminalChildren.contains("[")) {
+				return new KeyLoad(symbol);
+			}
+			else if(Character.isDigit(terminalChildren.get(0).charAt(0))) {
+				return new IntConst(symbol);
+			}
+			else if(terminalChildren.contains("(")) {
+				return new ParenExpr(symbol);
+			}
+			return new VarLoad(symbol);
+		}
+		else if(symbol.getType().equals(Expr) || symbol.getType().equals(Term)) {
+			return new Arithmetic(symbol);
+		}
+		else if(symbol.getType().equals(Cmpr)) {
+			return new Comparison(symbol);
+		}
+		else if(symbol.getType().equals(Call)) {
+			return new LinkedCall(symbol, (Function) MemManagementUnit.getProcedure(symbol.getTerminalChildren().get(1)));
+		}
+		else if(symbol.getType().equals(Cond)) {
+			return new Condition(symbol);
+		}
+		else if(symbol.getType().equals(StmtSeq)) {
+			return new Block(symbol);
+		}
+		else if(symbol.getType().equals(If)) {
+			return new Branch(symbol);
+		}
+		else if(symbol.getType().equals(Loop)) {
+			return new ForLoop(symbol);
+		}
+		else if(symbol.getType().equals(Print)) {
+			return new PrintValue(symbol);
+		}
+		else if(symbol.getType().equals(Read)) {
+			return new ReadValue(symbol);
+		}
+		else if(symbol.getType().equals(DeclInteger)) {
+			return new IntDecl(symbol);
+		}
+		else if(symbol.getType().equals(DeclObj)) {
+			return new ObjDecl(symbol);
+		}
+		return symbol;
+	}
+}
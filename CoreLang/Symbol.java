@@ -1,8 +1,7 @@
 package CoreLang;
 
 import static CoreLang.Core.*;
-import java.util.ArrayList;
-import java.util.Iterator;
+import java.util.List;
 import CoreLang.CoreVar.*;
 
 /* This interface defines the methods
@@ -54,31 +53,33 @@ public interface Symbol {
 	 * symbol is terminal. */
 	public String getNameOrValue();
 	
-	// Sets the parent node of the symbol
-	public void setParent(Symbol parent);
+	// Makes the symbol a view of a given node of an arena
+	public void bind(AstArena arena, int node);
 	
-	// Returns the parent node of the symbol
-	public Symbol getParent();
+	// Returns the arena that holds the symbol
+	public AstArena getArena();
 	
-	// Returns the symbol's InstructionSetManager
-	public InstructionManager getInstructionManager();
+	// Returns the node of the arena that the symbol is a view of
+	public int getNode();
 	
-	// Adds a terminal child to the parse tree
-	public void addTerminalChild(CoreScanner scanner);
+	/* Replaces a non-terminal child with another symbol
+	 * that is a view of the same node. */
+	public void replaceChild(Symbol child, Symbol replacement);
 	
-	// Adds a non-terminal child to the parse tree
-	public void addNonTerminalChild(Symbol child);
+	/* Get the children of the symbol
+	 * NOTE: once the tree is finished, the List
+	 * can't be modified. */
+	public List<Symbol> getChildren();
 	
-	// Get the children of the symbol
-	public ArrayList<Symbol> getChildren();
+	/* Returns a List of all non-terminal 
+	 * children of a given symbol. 
+	 * NOTE: once the tree is finished, the List
+	 * can't be modified. */
+	public List<Symbol> getNonTerminalChildren();
 	
-	/* Returns an ArrayList of all non-terminal 
-	 * children of a given symbol. */
-	public ArrayList<Symbol> getNonTerminalChildren();
-	
-	/* Returns an ArrayList of all terminal 
+	/* Returns a List of all terminal 
 	 * children of a given symbol.
-	 * NOTE: the ArrayList is of type string because
+	 * NOTE: the List is of type string because
 	 * we only want to store the values of the terminal
 	 * children in the list rather than the symbols objects
 	 * themselves because the only use that these objects
@@ -86,17 +87,18 @@ public interface Symbol {
 	 * the terminal symbol. Directly storing the string
 	 * values of the symbol prevents us from having to
 	 * call a method on a symbol object to access the
-	 * value. */
-	public ArrayList<String> getTerminalChildren();
-	
-	// Counts how many of a given terminal child the symbol has
-	public int getTerminalChildCount(String value);
-	
-	// Parses a symbol
+	 * value. Once the tree is finished, the List
+	 * can't be modified. */
+	public List<String> getTerminalChildren();
+	
+	/* Parses a symbol
+	 * NOTE: the children are added to the arena
+	 * of the symbol as nodes, so no symbols are
+	 * made for them. */
 	public void parse(CoreScanner scanner);
 	
 	// Executes a symbol
-	public void execute(CoreScanner scanner);
+	public void execute(NumericInputReader input);
 	
 	// Executes a symbol
 	public void executeWithFrame(Frame frame);
@@ -121,16 +123,148 @@ public interface Symbol {
 		}
 		
 		@Override
-		public void execute(CoreScanner scanner) {
-			CoreVar var = CallStack.retrieveVar(this.getTerminalChildren().get(0));
+		public void execute(NumericInputReader input) {
+			// The Specializer replaces every assign symbol before the tree runs
+			throw new IllegalStateException("Assign symbol was not specialized");
+		}
+	}
+	
+	/* This class represents an assign symbol of 
+	 * the form ID : ID that was specialized by the
+	 * Specializer. */
+	public class Alias extends Assign {
+		private final int slot;
+		private final int aliasedSlot;
+		
+		// Constructor that specializes a given assign symbol
+		Alias(Symbol assign){
+			super(SymbolType.Assign);
+			this.bind(assign.getArena(), assign.getNode());
+			this.slot = this.getChildSlot(0);
+			this.aliasedSlot = this.getChildSlot(2);
+		}
+		
+		@Override
+		public void execute(NumericInputReader input) {
+			CoreVar var = CallStack.retrieveVar(this.slot);
+			
+			// Make sure var was declared before checking for proper assignment
+			if(var == null) {
+				return;
+			}
+			CoreVar varToAlias = CallStack.retrieveVar(this.aliasedSlot);
+			var.alias(varToAlias);
+		}
+	}
+	
+	/* This class represents an assign symbol of 
+	 * the form ID [ STRING ] = <expr> that was 
+	 * specialized by the Specializer. */
+	public class KeyStore extends Assign {
+		private final int slot;
+		private final int key;
+		private final Symbol expr;
+		
+		// Constructor that specializes a given assign symbol
+		KeyStore(Symbol assign){
+			super(SymbolType.Assign);
+			this.bind(assign.getArena(), assign.getNode());
+			this.slot = this.getChildSlot(0);
+			this.key = NameTable.intern(this.getTerminalChildren().get(2));
+			this.expr = this.getNonTerminalChildren().get(0);
+		}
+		
+		@Override
+		public void execute(NumericInputReader input) {
+			CoreVar var = CallStack.retrieveVar(this.slot);
 			
 			// Make sure var was declared before checking for proper assignment
 			if(var == null) {
 				return;
 			}
 			
-			// Make assignment based on terminal children
-			if(this.getTerminalChildren().contains("[")) {
+			/* Check if reference is null 
+			 * before making a key assignment. */
+			if(var.refIsNull()) {
+				ErrorHandler.handleError("ERROR: Cannot make a key assignment to object " + 
+						var.getIdentifier() + " because it has a null reference value.");
+			}
+			var.updateVar(this.key, this.expr.executeReturnInt(), false);
+		}
+	}
+	
+	/* This class represents an assign symbol of 
+	 * the form ID = new object ( STRING , <expr> ) 
+	 * that was specialized by the Specializer. */
+	public class NewObject extends Assign {
+		private final int identifier;
+		private final int slot;
+		private final int key;
+		private final Symbol expr;
+		
+		// Constructor that specializes a given assign symbol
+		NewObject(Symbol assign){
+			super(SymbolType.Assign);
+			this.bind(assign.getArena(), assign.getNode());
+			this.identifier = this.getChildNameId(0);
+			this.slot = this.getChildSlot(0);
+			this.key = NameTable.intern(this.getTerminalChildren().get(5));
+			this.expr = this.getNonTerminalChildren().get(0);
+		}
+		
+		@Override
+		public void execute(NumericInputReader input) {
+			
+			// Make sure var was declared before checking for proper assignment
+			if(this.slot == AstArena.NO_SLOT) {
+				return;
+			}
+			
+			/* Create a local copy for the stack
+			 * NOTE: the Resolver gave the local copy a
+			 * slot of its own in the current scope. */
+			CoreVar var;
+			if(CallStack.numFrames() > 1) {
+				CallStack.removeVar(this.identifier);
+				var = new ObjectVar(this.identifier);
+				CallStack.allocateMem(this.slot, var);
+			} else {
+				var = CallStack.retrieveVar(this.slot);
+			}
+			var.updateVar(this.key, this.expr.executeReturnInt(), true);
+		}
+	}
+	
+	/* This class represents an assign symbol of 
+	 * the form ID = <expr> that was specialized by 
+	 * the Specializer. */
+	public class VarStore extends Assign {
+		private final int slot;
+		private final boolean integer;
+		private final Symbol expr;
+		
+		// Constructor that specializes a given assign symbol
+		VarStore(Symbol assign){
+			super(SymbolType.Assign);
+			this.bind(assign.getArena(), assign.getNode());
+			this.slot = this.getChildSlot(0);
+			this.integer = this.isChildInteger(0);
+			this.expr = this.getNonTerminalChildren().get(0);
+		}
+		
+		@Override
+		public void execute(NumericInputReader input) {
+			
+			// Make sure var was declared before checking for proper assignment
+			if(this.slot == AstArena.NO_SLOT) {
+				return;
+			}
+			
+			// Update variable based on type
+			if(this.integer) {
+				CallStack.setInt(this.slot, this.expr.executeReturnInt());
+			} else {
+				CoreVar var = CallStack.retrieveVar(this.slot);
 				
 				/* Check if reference is null 
 				 * before making a key assignment. */
@@ -138,36 +272,7 @@ public interface Symbol {
 					ErrorHandler.handleError("ERROR: Cannot make a key assignment to object " + 
 							var.getIdentifier() + " because it has a null reference value.");
 				}
-				var.updateVar(this.getTerminalChildren().get(2), this.getNonTerminalChildren().get(0).executeReturnInt(), false);
-			}
-			else if (this.getTerminalChildren().contains("(")) {
-				
-				// Create a local copy for the stack
-				if(CallStack.numFrames() > 1) {
-					CallStack.removeVar(this.getTerminalChildren().get(0));
-					var = new ObjectVar(this.getTerminalChildren().get(0));
-					CallStack.allocateMem(var);
-				}
-				var.updateVar(this.getTerminalChildren().get(5), this.getNonTerminalChildren().get(0).executeReturnInt(), true);
-			}
-			else if(this.getTerminalChildren().contains(":")) {
-				CoreVar varToAlias = CallStack.retrieveVar(this.getTerminalChildren().get(2));
-				var.alias(varToAlias);
-			} else {
-				
-				// Update variable based on type
-				if(var.getVarType().equals(INTEGER)) {
-					var.updateVar(this.getNonTerminalChildren().get(0).executeReturnInt());
-				} else {
-					
-					/* Check if reference is null 
-					 * before making a key assignment. */
-					if(var.refIsNull()) {
-						ErrorHandler.handleError("ERROR: Cannot make a key assignment to object " + 
-								var.getIdentifier() + " because it has a null reference value.");
-					}
-					var.updateVar(var.getDefaultKey(), this.getNonTerminalChildren().get(0).executeReturnInt(), false);
-				}
+				var.updateVar(var.getDefaultKey(), this.expr.executeReturnInt(), false);
 			}
 		}
 	}
@@ -181,46 +286,39 @@ public interface Symbol {
 		}
 		
 		@Override
-		public void execute(CoreScanner scanner) {
-			Iterator<String> iterator = this.getNonTerminalChildren().get(0).getTerminalChildren().iterator();
-			Frame frame = new Frame();
-			
-			// Add local memory to the frame
-			frame.allocateScopeMem();
-			
-			// Get the function symbol from memory using address from the MMU
-			Symbol function = MemManagementUnit.getProcedure(this.getTerminalChildren().get(1));
-			Iterator<String> formalParams = function.getNonTerminalChildren().get(0).getTerminalChildren().iterator();
-			
-			// Create formal parameters
-			function.getNonTerminalChildren().get(0).executeWithFrame(frame);
-			
-			// Copy the values of passed in arguments into formal parameters
-			while(iterator.hasNext()) {
-				String currId = iterator.next();
-				String formalParam = formalParams.next();
-				
-				// Advance the iterator to the next identifier
-				if(currId.equals(",")) {
-					currId = iterator.next();
-					formalParam = formalParams.next();
+		public void execute(NumericInputReader input) {
+			// The Specializer links every call symbol before the tree runs
+			throw new IllegalStateException("Call symbol was not specialized");
+		}
+	}
+	
+	/* This class represents a call symbol that was
+	 * linked to the function it calls by the 
+	 * Specializer. The slots of the arguments are
+	 * found once, so a call only makes a frame and
+	 * runs the body. */
+	public class LinkedCall extends Call {
+		private final CallTarget target;
+		private final int[] argSlots;
+		
+		// Constructor that links a given call symbol to a given function
+		LinkedCall(Symbol call, Function function){
+			super(SymbolType.Call);
+			this.bind(call.getArena(), call.getNode());
+			this.target = function.createCallTarget();
+			this.argSlots = new int[this.target.getArity()];
+			int arg = 0;
+			for(Symbol child : this.getNonTerminalChildren().get(0).getChildren()) {
+				if(!child.getNameOrValue().equals(",")) {
+					this.argSlots[arg++] = this.arena.getSlot(child.getNode());
 				}
-				
-				/* Get formal parameter from frame and copy the 
-				 * values of the passed in arguments into these 
-				 * parameter. */
-				CoreVar formalParamVar = frame.retrieveVar(formalParam, CallStack.getGlobalMem());
-				CoreVar passedInParam = CallStack.retrieveVar(currId);
-				formalParamVar.alias(passedInParam);
 			}
-			
-			// Push new frame onto the call stack
-			CallStack.addFrame(frame);
-			
-			// Execute the function
-			function.getNonTerminalChildren().get(1).execute(scanner);
-			
-			// Pop frame from the call stack
+		}
+		
+		@Override
+		public void execute(NumericInputReader input) {
+			CallStack.addFrame(this.target.createFrame(this.argSlots));
+			this.target.getBody().execute(input);
 			CallStack.removeFrame();
 		}
 	}
@@ -235,24 +333,36 @@ public interface Symbol {
 		
 		@Override
 		public boolean executeReturnBool(boolean negateResult) {
-			boolean result = false;
-			
-			// Get numeric values to compare
-			int expr1 = this.children.get(0).executeReturnInt();
-			int expr2 = this.children.get(2).executeReturnInt();
-			
-			// Evaluate condition based on child of the symbol
-			if(this.children.get(1).getNameOrValue().equals("==")) {
-				result = expr1 == expr2;
-			} else {
-				result = expr1 < expr2;
-			}
+			// The Specializer replaces every cmpr symbol before the tree runs
+			throw new IllegalStateException("Cmpr symbol was not specialized");
+		}
+	}
+	
+	/* This class represents a cmpr symbol that
+	 * was specialized by the Specializer. The
+	 * comparison operator is decided once. */
+	public class Comparison extends Cmpr {
+		private final Symbol leftExpr;
+		private final Symbol rightExpr;
+		private final boolean equal;
+		
+		// Constructor that specializes a given cmpr symbol
+		Comparison(Symbol cmpr){
+			super(SymbolType.Cmpr);
+			this.bind(cmpr.getArena(), cmpr.getNode());
+			this.leftExpr = this.getChildren().get(0);
+			this.rightExpr = this.getChildren().get(2);
+			this.equal = this.arena.getToken(this.getChildren().get(1).getNode()).equals(EQUAL);
+		}
+		
+		@Override
+		public boolean executeReturnBool(boolean negateResult) {
+			int expr1 = this.leftExpr.executeReturnInt();
+			int expr2 = this.rightExpr.executeReturnInt();
+			boolean result = this.equal ? expr1 == expr2 : expr1 < expr2;
 			
 			// Negate the result if necessary
-			if(negateResult) {
-				result = !result;
-			}
-			return result;
+			return negateResult ? !result : result;
 		}
 	}
 	
@@ -263,6 +373,85 @@ public interface Symbol {
 		Cond(SymbolType type){
 			super(type);
 		}
+		
+		@Override
+		public boolean executeReturnBool(boolean negateResult) {
+			// The Specializer replaces every cond symbol before the tree runs
+			throw new IllegalStateException("Cond symbol was not specialized");
+		}
+	}
+	
+	/* This class represents a cond symbol that was
+	 * specialized by the Specializer. The terminals
+	 * in front of each comparison are decoded once:
+	 * the "not"s in front of the first comparison
+	 * negate the whole condition, the "not"s in front
+	 * of any other comparison negate that comparison,
+	 * and the last "or" or "and" seen so far decides
+	 * how a comparison is joined to the result (the
+	 * first one is joined with "and" if neither was
+	 * seen yet).
+	 * NOTE: the "["s of a condition are all closed at
+	 * its end, so the "]"s after the last comparison
+	 * are skipped. */
+	public class Condition extends Cond {
+		private final Symbol[] comparisons;
+		private final boolean[] negations;
+		private final boolean[] ors;
+		private final boolean outerNegation;
+		
+		// Constructor that specializes a given cond symbol
+		Condition(Symbol cond){
+			super(SymbolType.Cond);
+			this.bind(cond.getArena(), cond.getNode());
+			List<Symbol> children = this.getChildren();
+			int numComparisons = this.getNonTerminalChildren().size();
+			this.comparisons = new Symbol[numComparisons];
+			this.negations = new boolean[numComparisons];
+			this.ors = new boolean[numComparisons];
+			boolean negation = false;
+			boolean or = false;
+			int comparison = 0;
+			
+			// Decode the terminals in front of each comparison
+			for(Symbol child : children) {
+				if(!child.getType().equals(SymbolType.Terminal)) {
+					this.comparisons[comparison] = child;
+					this.negations[comparison] = negation;
+					this.ors[comparison] = or;
+					comparison++;
+					negation = false;
+				}
+				else if(child.getNameOrValue().equals("not")) {
+					negation = !negation;
+				}
+				else if(child.getNameOrValue().equals("or")) {
+					or = true;
+				}
+				else if(child.getNameOrValue().equals("and")) {
+					or = false;
+				}
+			}
+			this.outerNegation = this.negations[0];
+		}
+		
+		@Override
+		public boolean executeReturnBool(boolean negateResult) {
+			boolean result = this.comparisons[0].executeReturnBool(false);
+			
+			// Conduct the other comparisons
+			for(int i = 1; i < this.comparisons.length; i++) {
+				
+				// Short circuit evaluation if applicable
+				if(result == this.ors[i]) {
+					break;
+				}
+				result = this.comparisons[i].executeReturnBool(this.negations[i]);
+			}
+			
+			// Apply final negation
+			return this.outerNegation ? !result : result;
+		}
 	}
 	
 	/* This class represents the non-terminal
@@ -283,9 +472,28 @@ public interface Symbol {
 		}
 		
 		@Override
-		public void execute(CoreScanner scanner) {
-			// Allocate variable to memory
-			CallStack.allocateMem(new IntegerVar(this.children.get(1).getNameOrValue()));
+		public void execute(NumericInputReader input) {
+			// The Specializer replaces every decl-integer symbol before the tree runs
+			throw new IllegalStateException("DeclInteger symbol was not specialized");
+		}
+	}
+	
+	/* This class represents a decl-integer symbol
+	 * that was specialized by the Specializer. */
+	public class IntDecl extends DeclInteger {
+		private final int slot;
+		
+		// Constructor that specializes a given decl-integer symbol
+		IntDecl(Symbol declInteger){
+			super(SymbolType.DeclInteger);
+			this.bind(declInteger.getArena(), declInteger.getNode());
+			this.slot = this.getChildSlot(1);
+		}
+		
+		@Override
+		public void execute(NumericInputReader input) {
+			// Reset the int slot of the variable
+			CallStack.declareInt(this.slot);
 		}
 	}
 	
@@ -298,9 +506,30 @@ public interface Symbol {
 		}
 		
 		@Override
-		public void execute(CoreScanner scanner) {
+		public void execute(NumericInputReader input) {
+			// The Specializer replaces every decl-obj symbol before the tree runs
+			throw new IllegalStateException("DeclObj symbol was not specialized");
+		}
+	}
+	
+	/* This class represents a decl-obj symbol
+	 * that was specialized by the Specializer. */
+	public class ObjDecl extends DeclObj {
+		private final int slot;
+		private final int identifier;
+		
+		// Constructor that specializes a given decl-obj symbol
+		ObjDecl(Symbol declObj){
+			super(SymbolType.DeclObj);
+			this.bind(declObj.getArena(), declObj.getNode());
+			this.slot = this.getChildSlot(1);
+			this.identifier = this.getChildNameId(1);
+		}
+		
+		@Override
+		public void execute(NumericInputReader input) {
 			// Allocate variable to memory
-			CallStack.allocateMem(new ObjectVar(this.children.get(1).getNameOrValue()));
+			CallStack.allocateMem(this.slot, new ObjectVar(this.identifier));
 		}
 	}
 	
@@ -322,6 +551,65 @@ public interface Symbol {
 		}
 	}
 	
+	/* This class represents an expr or term symbol
+	 * that was specialized by the Specializer.
+	 * The operands and the tokens of the operators
+	 * between them are decoded once, so executing
+	 * the symbol only has to switch on each operator.
+	 * NOTE: the operands are folded from right to
+	 * left, so a - b - c is a - (b - c). */
+	public class Arithmetic extends BaseSymbol {
+		private final Symbol[] operands;
+		private final Core[] operators;
+		
+		// Constructor that specializes a given expr or term symbol
+		Arithmetic(Symbol symbol){
+			super(symbol.getType());
+			this.bind(symbol.getArena(), symbol.getNode());
+			List<Symbol> children = this.getChildren();
+			this.operands = new Symbol[(children.size() + 1) / 2];
+			this.operators = new Core[children.size() / 2];
+			
+			// Operands and operators alternate in the children
+			for(int i = 0; i < children.size(); i++) {
+				if(i % 2 == 0) {
+					this.operands[i / 2] = children.get(i);
+				} else {
+					this.operators[i / 2] = this.arena.getToken(children.get(i).getNode());
+				}
+			}
+		}
+		
+		@Override
+		public int executeReturnInt() {
+			int result = this.operands[this.operands.length - 1].executeReturnInt();
+			
+			// Apply each operator to the operand on its left and the result
+			for(int i = this.operators.length - 1; i >= 0; i--) {
+				switch(this.operators[i]) {
+					case ADD:
+						result += this.operands[i].executeReturnInt();
+						break;
+					case SUBTRACT:
+						result = this.operands[i].executeReturnInt() - result;
+						break;
+					case MULTIPLY:
+						result *= this.operands[i].executeReturnInt();
+						break;
+					default:
+						
+						// Report a divide by zero error
+						if(result == 0) {
+							ErrorHandler.handleError("ERROR: Cannot divide by zero.");
+						}
+						result = this.operands[i].executeReturnInt() / result;
+						break;
+				}
+			}
+			return result;
+		}
+	}
+	
 	/* This class represents the non-terminal
 	 * symbol, factor, from the Core language. */
 	public class Factor extends BaseSymbol{
@@ -329,42 +617,100 @@ public interface Symbol {
 		Factor(SymbolType type){
 			super(type);
 		}
+	}
+	
+	/* This class represents a factor symbol of 
+	 * the form CONST that was specialized by the
+	 * Specializer. The constant is parsed once. */
+	public class IntConst extends Factor {
+		private final int value;
+		
+		// Constructor that specializes a given factor symbol
+		IntConst(Symbol factor){
+			super(SymbolType.Factor);
+			this.bind(factor.getArena(), factor.getNode());
+			this.value = Integer.parseInt(this.getTerminalChildren().get(0));
+		}
 		
 		@Override
 		public int executeReturnInt() {
-			int result = 0;
-			
-			// Get the variable from the map
-			if(this.getTerminalChildren().contains("[")) {
-				CoreVar var = CallStack.retrieveVar(this.getTerminalChildren().get(0));
-				
-				// Check if key exists
-				if(!var.keyExists(this.getTerminalChildren().get(2))) {
-					ErrorHandler.handleError("ERROR: key " + this.getTerminalChildren().get(2) + 
-							" for object " + this.getTerminalChildren().get(0) + " does not exist.");
-				}
-				result = var.getValue(this.getTerminalChildren().get(2));
-			}
+			return this.value;
+		}
+	}
+	
+	/* This class represents a factor symbol of 
+	 * the form ( <expr> ) that was specialized by 
+	 * the Specializer. */
+	public class ParenExpr extends Factor {
+		private final Symbol expr;
+		
+		// Constructor that specializes a given factor symbol
+		ParenExpr(Symbol factor){
+			super(SymbolType.Factor);
+			this.bind(factor.getArena(), factor.getNode());
+			this.expr = this.getNonTerminalChildren().get(0);
+		}
+		
+		@Override
+		public int executeReturnInt() {
+			return this.expr.executeReturnInt();
+		}
+	}
+	
+	/* This class represents a factor symbol of 
+	 * the form ID [ STRING ] that was specialized
+	 * by the Specializer. */
+	public class KeyLoad extends Factor {
+		private final String identifier;
+		private final int slot;
+		private final int key;
+		
+		// Constructor that specializes a given factor symbol
+		KeyLoad(Symbol factor){
+			super(SymbolType.Factor);
+			this.bind(factor.getArena(), factor.getNode());
+			this.identifier = this.getTerminalChildren().get(0);
+			this.slot = this.getChildSlot(0);
+			this.key = NameTable.intern(this.getTerminalChildren().get(2));
+		}
+		
+		@Override
+		public int executeReturnInt() {
+			CoreVar var = CallStack.retrieveVar(this.slot);
 			
-			// Parse the const into an integer
-			else if (Character.isDigit(this.getTerminalChildren().get(0).charAt(0))) {
-				result = Integer.parseInt(this.getTerminalChildren().get(0));
+			// Check if key exists
+			if(!var.keyExists(this.key)) {
+				ErrorHandler.handleError("ERROR: key " + NameTable.getName(this.key) + 
+						" for object " + this.identifier + " does not exist.");
 			}
+			return var.getValue(this.key);
+		}
+	}
+	
+	/* This class represents a factor symbol of 
+	 * the form ID that was specialized by the
+	 * Specializer. */
+	public class VarLoad extends Factor {
+		private final int slot;
+		private final boolean integer;
+		
+		// Constructor that specializes a given factor symbol
+		VarLoad(Symbol factor){
+			super(SymbolType.Factor);
+			this.bind(factor.getArena(), factor.getNode());
+			this.slot = this.getChildSlot(0);
+			this.integer = this.isChildInteger(0);
+		}
+		
+		@Override
+		public int executeReturnInt() {
 			
-			// Execute another expression and return its result
-			else if(this.getTerminalChildren().contains("(")) {
-				result = this.getNonTerminalChildren().get(0).executeReturnInt();
-			} else {
-				CoreVar var = CallStack.retrieveVar(this.getTerminalChildren().get(0));
-				
-				// Access variable value based on its type
-				if(var.getVarType().equals(INTEGER)) {
-					result = var.getValue();
-				} else {
-					result = var.getValue(var.getDefaultKey());
-				}
+			// Access variable value based on its type
+			if(this.integer) {
+				return CallStack.getInt(this.slot);
 			}
-			return result;
+			CoreVar var = CallStack.retrieveVar(this.slot);
+			return var.getValue(var.getDefaultKey());
 		}
 	}
 	
@@ -375,6 +721,11 @@ public interface Symbol {
 		Function(SymbolType type){
 			super(type);
 		}
+		
+		// Returns a new description of the function
+		public CallTarget createCallTarget() {
+			return new CallTarget(this);
+		}
 	}
 	
 	/* This class represents the non-terminal
@@ -386,24 +737,41 @@ public interface Symbol {
 		}
 		
 		@Override
-		public void execute(CoreScanner scanner) {
-			Symbol stmtSeqToExecute = null;
+		public void execute(NumericInputReader input) {
+			// The Specializer replaces every if symbol before the tree runs
+			throw new IllegalStateException("If symbol was not specialized");
+		}
+	}
+	
+	/* This class represents an if symbol that was
+	 * specialized by the Specializer. The else
+	 * clause is null if the symbol doesn't have one. */
+	public class Branch extends If {
+		private final Symbol cond;
+		private final Symbol thenClause;
+		private final Symbol elseClause;
+		
+		// Constructor that specializes a given if symbol
+		Branch(Symbol ifSymbol){
+			super(SymbolType.If);
+			this.bind(ifSymbol.getArena(), ifSymbol.getNode());
+			List<Symbol> children = this.getNonTerminalChildren();
+			this.cond = children.get(0);
+			this.thenClause = children.get(1);
+			this.elseClause = children.size() > 2 ? children.get(2) : null;
+		}
+		
+		@Override
+		public void execute(NumericInputReader input) {
 			
 			// Check if the if clause if true
-			if(this.getNonTerminalChildren().get(0).executeReturnBool(false)) {
-				stmtSeqToExecute = this.children.get(3);
+			if(this.cond.executeReturnBool(false)) {
+				this.executeBlock(this.thenClause, input);
 			}
 			
 			// Check if an else clause exists
-			else if(this.getNonTerminalChildren().size() > 2) {
-				stmtSeqToExecute = this.children.get(5);
-			}
-			
-			// Check if there is a statement sequence to execute
-			if(stmtSeqToExecute != null) {
-				CallStack.allocateScopeMem();
-				stmtSeqToExecute.execute(scanner);
-				CallStack.deallocateScopeMem();
+			else if(this.elseClause != null) {
+				this.executeBlock(this.elseClause, input);
 			}
 		}
 	}
@@ -417,36 +785,57 @@ public interface Symbol {
 		}
 		
 		@Override
-		public void execute(CoreScanner scanner) {
-			CoreVar var = CallStack.retrieveVar(this.getChildren().get(2).getNameOrValue());
-			int value = this.children.get(4).executeReturnInt();
-			
-			// Update variable based on variable type
-			if(var.getVarType().equals(INTEGER)) {
-				var.updateVar(value);
-			} else {
-				var.updateVar(var.getDefaultKey(), value, false);
-			}
-			boolean cond = this.children.get(6).executeReturnBool(false);
+		public void execute(NumericInputReader input) {
+			// The Specializer replaces every loop symbol before the tree runs
+			throw new IllegalStateException("Loop symbol was not specialized");
+		}
+	}
+	
+	/* This class represents a loop symbol that was
+	 * specialized by the Specializer. */
+	public class ForLoop extends Loop {
+		private final int slot;
+		private final boolean integer;
+		private final Symbol start;
+		private final Symbol cond;
+		private final Symbol step;
+		private final Symbol body;
+		
+		// Constructor that specializes a given loop symbol
+		ForLoop(Symbol loop){
+			super(SymbolType.Loop);
+			this.bind(loop.getArena(), loop.getNode());
+			this.slot = this.getChildSlot(2);
+			this.integer = this.isChildInteger(2);
+			List<Symbol> children = this.getNonTerminalChildren();
+			this.start = children.get(0);
+			this.cond = children.get(1);
+			this.step = children.get(2);
+			this.body = children.get(3);
+		}
+		
+		@Override
+		public void execute(NumericInputReader input) {
+			CoreVar var = this.integer ? null : CallStack.retrieveVar(this.slot);
+			this.assign(var, this.start.executeReturnInt());
 			
 			// Execute stmtSeq as many times necessary
-			while(cond) {
+			while(this.cond.executeReturnBool(false)) {
 				
 				// Execute statement sequence
-				CallStack.allocateScopeMem();
-				this.getChildren().get(11).execute(scanner);
-				CallStack.deallocateScopeMem();
+				this.executeBlock(this.body, input);
 				
 				// Compute expression
-				value = this.children.get(8).executeReturnInt();
-				
-				// Update variable based on variable type
-				if(var.getVarType().equals(INTEGER)) {
-					var.updateVar(value);
-				} else {
-					var.updateVar(var.getDefaultKey(), value, false);
-				}
-				cond = this.children.get(6).executeReturnBool(false);
+				this.assign(var, this.step.executeReturnInt());
+			}
+		}
+		
+		// Update variable based on variable type
+		private void assign(CoreVar var, int value) {
+			if(this.integer) {
+				CallStack.setInt(this.slot, value);
+			} else {
+				var.updateVar(var.getDefaultKey(), value, false);
 			}
 		}
 	}
@@ -469,8 +858,27 @@ public interface Symbol {
 		}
 		
 		@Override
-		public void execute(CoreScanner scanner) {
-			System.out.println(this.children.get(2).executeReturnInt());
+		public void execute(NumericInputReader input) {
+			// The Specializer replaces every print symbol before the tree runs
+			throw new IllegalStateException("Print symbol was not specialized");
+		}
+	}
+	
+	/* This class represents a print symbol that
+	 * was specialized by the Specializer. */
+	public class PrintValue extends Print {
+		private final Symbol expr;
+		
+		// Constructor that specializes a given print symbol
+		PrintValue(Symbol print){
+			super(SymbolType.Print);
+			this.bind(print.getArena(), print.getNode());
+			this.expr = this.getNonTerminalChildren().get(0);
+		}
+		
+		@Override
+		public void execute(NumericInputReader input) {
+			OutputWriter.printValue(this.expr.executeReturnInt());
 		}
 	}
 	
@@ -492,23 +900,43 @@ public interface Symbol {
 		}
 		
 		@Override
-		public void execute(CoreScanner scanner) {
-			CoreVar var = CallStack.retrieveVar(this.children.get(2).getNameOrValue());
+		public void execute(NumericInputReader input) {
+			// The Specializer replaces every read symbol before the tree runs
+			throw new IllegalStateException("Read symbol was not specialized");
+		}
+	}
+	
+	/* This class represents a read symbol that
+	 * was specialized by the Specializer. */
+	public class ReadValue extends Read {
+		private final String identifier;
+		private final int slot;
+		private final boolean integer;
+		
+		// Constructor that specializes a given read symbol
+		ReadValue(Symbol read){
+			super(SymbolType.Read);
+			this.bind(read.getArena(), read.getNode());
+			this.identifier = this.getTerminalChildren().get(2);
+			this.slot = this.getChildSlot(2);
+			this.integer = this.isChildInteger(2);
+		}
+		
+		@Override
+		public void execute(NumericInputReader input) {
 			
 			// Check if end of file has been reached
-			if(scanner.currentToken().equals(EOS)) {
-				ErrorHandler.handleError("ERROR: Couldn't read value into " + var.getIdentifier());
+			if(!input.hasNext()) {
+				ErrorHandler.handleError("ERROR: Couldn't read value into " + this.identifier);
 			}
 			
 			// Update variable's value based on its type
-			if(var.getVarType().equals(INTEGER)) {
-				var.updateVar(scanner.getConst());
+			if(this.integer) {
+				CallStack.setInt(this.slot, input.next());
 			} else {
-				var.updateVar(var.getDefaultKey(), scanner.getConst(), false);
+				CoreVar var = CallStack.retrieveVar(this.slot);
+				var.updateVar(var.getDefaultKey(), input.next(), false);
 			}
-			
-			// Advance to next value
-			scanner.nextToken();
 		}
 	}
 	
@@ -528,6 +956,44 @@ public interface Symbol {
 		StmtSeq(SymbolType type){
 			super(type);
 		}
+		
+		@Override
+		public void execute(NumericInputReader input) {
+			// The Specializer replaces every stmt-seq symbol before the tree runs
+			throw new IllegalStateException("StmtSeq symbol was not specialized");
+		}
+	}
+	
+	/* This class represents a stmt-seq symbol that
+	 * was specialized by the Specializer. It holds
+	 * the symbol each of its stmt symbols wraps (the
+	 * decl-integer or decl-obj symbol for a decl), so
+	 * running it doesn't go through the stmt and decl
+	 * symbols. */
+	public class Block extends StmtSeq {
+		private final Symbol[] statements;
+		
+		// Constructor that specializes a given stmt-seq symbol
+		Block(Symbol stmtSeq){
+			super(SymbolType.StmtSeq);
+			this.bind(stmtSeq.getArena(), stmtSeq.getNode());
+			List<Symbol> stmts = this.getNonTerminalChildren();
+			this.statements = new Symbol[stmts.size()];
+			for(int i = 0; i < stmts.size(); i++) {
+				Symbol statement = stmts.get(i).getNonTerminalChildren().get(0);
+				if(statement.getType().equals(SymbolType.Decl)) {
+					statement = statement.getNonTerminalChildren().get(0);
+				}
+				this.statements[i] = statement;
+			}
+		}
+		
+		@Override
+		public void execute(NumericInputReader input) {
+			for(Symbol statement : this.statements) {
+				statement.execute(input);
+			}
+		}
 	}
 	
 	/* This class represents the non-terminal
@@ -541,8 +1007,8 @@ public interface Symbol {
 	
 	public class Terminal extends BaseSymbol{
 		// Constructor
-		Terminal(String value){
-			super(value);
+		Terminal(AstArena arena, int node){
+			super(arena, node);
 		}
 	}
 }
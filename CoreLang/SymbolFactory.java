@@ -1,9 +1,9 @@
 package CoreLang;
 
-import java.util.Arrays;
-import java.util.LinkedList;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
 import java.util.Map;
-import java.util.Queue;
 import static CoreLang.Core.*;
 import static CoreLang.Symbol.*;
 import static CoreLang.ParseInstruction.*;
@@ -14,11 +14,30 @@ import static CoreLang.Symbol.SymbolType.*;
  * we use to initialize it within its
  * constructor. 
  * NOTE: We do not create a class for
- * symbols of type Terminal or any
- * parse instruction set because a
- * Terminal symbol is just a string rather
- * than a Symbol object. */
+ * any parse instruction set, and a
+ * Terminal symbol is only created as the
+ * view of a terminal node of an AstArena. */
 public final class SymbolFactory{
+	private static final Map<SymbolType, List<ParseInstruction>> instructionSets = new EnumMap<>(SymbolType.class);
+	
+	/* Build the parse instruction set of every non-terminal
+	 * symbol type once. Parse instructions don't hold any
+	 * parse state, so all symbols of a type share the same
+	 * immutable instruction set.
+	 * NOTE: the InstructionManager tracks skipped
+	 * instructions with one bit of a long each, so an
+	 * instruction set can hold at most 64 instructions. */
+	static {
+		for(SymbolType type : SymbolType.values()) {
+			if(!type.equals(Terminal)) {
+				List<ParseInstruction> instructions = buildInstructionSet(type);
+				if(instructions.size() > Long.SIZE) {
+					ErrorHandler.handleError("ERROR: The parse instruction set of " + type + " is too long.");
+				}
+				instructionSets.put(type, List.copyOf(instructions));
+			}
+		}
+	}
 	
 	// Private constructor to prevent instantiation
 	private SymbolFactory() {}
@@ -101,32 +120,48 @@ public final class SymbolFactory{
 		return symbol;
 	}
 	
-	// Creates and returns a terminal symbol
-	public static Symbol createSymbol(String value) {
-		return new Terminal(value);
+	/* Creates and returns the symbol that is a view of a
+	 * given node of an arena. */
+	public static Symbol createSymbol(AstArena arena, int node) {
+		
+		// Terminal nodes have their own symbol class
+		if(arena.isTerminal(node)) {
+			return new Terminal(arena, node);
+		}
+		Symbol symbol = createSymbol(arena.getType(node));
+		symbol.bind(arena, node);
+		return symbol;
 	}
 	
 	
-	// Registers the parse instruction set for a given non-terminal symbol
-	public static void createInstructionSet(Symbol symbol){
+	/* Returns the shared parse instruction set for a given
+	 * non-terminal symbol type. The returned list can't
+	 * be modified. */
+	public static List<ParseInstruction> getInstructionSet(SymbolType type){
+		return instructionSets.get(type);
+	}
+	
+	// Builds the parse instruction set for a given non-terminal symbol type
+	private static List<ParseInstruction> buildInstructionSet(SymbolType type){
+		List<ParseInstruction> instructions = new ArrayList<>();
 		Map<Core, SymbolType> firstSet;
-		Queue<Core> tokens = null;
+		List<Core> tokens = null;
 		
 		// Creates each instruction set based on the symbol's type
-		switch(symbol.getType()) {
+		switch(type) {
 			case Procedure:
-				tokens = new LinkedList<>(Arrays.asList(PROCEDURE, ID, IS));
-				symbol.getInstructionManager().registerParseInstruct(new ValidateTokensOrExit(tokens, false));
-				symbol.getInstructionManager().registerParseInstruct(new ParseIfTokenInvalid(BEGIN, DeclSeq));
-				symbol.getInstructionManager().registerParseInstruct(new ValidateTokenOrExit(BEGIN, false));
-				symbol.getInstructionManager().registerParseInstruct(new UnconditionalParse(StmtSeq));
-				tokens = new LinkedList<>(Arrays.asList(END, EOS));
-				symbol.getInstructionManager().registerParseInstruct(new ValidateTokensOrExit(tokens, true));
+				tokens = List.of(PROCEDURE, ID, IS);
+				instructions.add(new ValidateTokensOrExit(tokens, false));
+				instructions.add(new ParseIfTokenInvalid(BEGIN, DeclSeq));
+				instructions.add(new ValidateTokenOrExit(BEGIN, false));
+				instructions.add(new UnconditionalParse(StmtSeq));
+				tokens = List.of(END, EOS);
+				instructions.add(new ValidateTokensOrExit(tokens, true));
 				break;
 			case DeclSeq:
 				firstSet = Map.ofEntries(Map.entry(INTEGER, Decl), Map.entry(OBJECT, Decl), Map.entry(PROCEDURE, Function));
-				symbol.getInstructionManager().registerParseInstruct(new ParseOrExit(firstSet));
-				symbol.getInstructionManager().registerParseInstruct(new ParseIfStartTokenValid(firstSet));
+				instructions.add(new ParseOrExit(firstSet));
+				instructions.add(new ParseIfStartTokenValid(firstSet));
 				break;
 			case StmtSeq:
 				firstSet = Map.ofEntries(Map.entry(ID, Stmt), 
@@ -137,33 +172,33 @@ public final class SymbolFactory{
 						Map.entry(INTEGER, Stmt), 
 						Map.entry(OBJECT, Stmt),
 						Map.entry(BEGIN, Stmt));
-				symbol.getInstructionManager().registerParseInstruct(new UnconditionalParse(Stmt));
-				symbol.getInstructionManager().registerParseInstruct(new ParseIfStartTokenValid(firstSet));
+				instructions.add(new UnconditionalParse(Stmt));
+				instructions.add(new ParseIfStartTokenValid(firstSet));
 				break;
 			case Decl:
 				firstSet = Map.ofEntries(Map.entry(INTEGER, DeclInteger), Map.entry(OBJECT, DeclObj));
-				symbol.getInstructionManager().registerParseInstruct(new ParseOrExit(firstSet));
+				instructions.add(new ParseOrExit(firstSet));
 				break;
 			case DeclInteger:
-				tokens = new LinkedList<>(Arrays.asList(INTEGER, ID, SEMICOLON));
-				symbol.getInstructionManager().registerParseInstruct(new ValidateTokensOrExit(tokens, true));
+				tokens = List.of(INTEGER, ID, SEMICOLON);
+				instructions.add(new ValidateTokensOrExit(tokens, true));
 				break;
 			case DeclObj:
-				tokens = new LinkedList<>(Arrays.asList(OBJECT, ID, SEMICOLON));
-				symbol.getInstructionManager().registerParseInstruct(new ValidateTokensOrExit(tokens, true));
+				tokens = List.of(OBJECT, ID, SEMICOLON);
+				instructions.add(new ValidateTokensOrExit(tokens, true));
 				break;
 			case Function:
-				tokens = new LinkedList<>(Arrays.asList(PROCEDURE, ID, LPAREN, OBJECT));
-				symbol.getInstructionManager().registerParseInstruct(new ValidateTokensOrExit(tokens, false));
-				symbol.getInstructionManager().registerParseInstruct(new UnconditionalParse(Parameters));
-				tokens = new LinkedList<>(Arrays.asList(RPAREN, IS));
-				symbol.getInstructionManager().registerParseInstruct(new ValidateTokensOrExit(tokens, false));
-				symbol.getInstructionManager().registerParseInstruct(new UnconditionalParse(StmtSeq));
-				symbol.getInstructionManager().registerParseInstruct(new ValidateTokenOrExit(END, true));
+				tokens = List.of(PROCEDURE, ID, LPAREN, OBJECT);
+				instructions.add(new ValidateTokensOrExit(tokens, false));
+				instructions.add(new UnconditionalParse(Parameters));
+				tokens = List.of(RPAREN, IS);
+				instructions.add(new ValidateTokensOrExit(tokens, false));
+				instructions.add(new UnconditionalParse(StmtSeq));
+				instructions.add(new ValidateTokenOrExit(END, true));
 				break;
 			case Parameters:
-				symbol.getInstructionManager().registerParseInstruct(new ValidateTokenOrExit(ID, false));
-				symbol.getInstructionManager().registerParseInstruct(new CheckIfEndReached(COMMA, true));
+				instructions.add(new ValidateTokenOrExit(ID, false));
+				instructions.add(new CheckIfEndReached(COMMA, true));
 				break;
 			case Stmt:
 				firstSet = Map.ofEntries(Map.entry(ID, Assign), 
@@ -174,114 +209,116 @@ public final class SymbolFactory{
 						Map.entry(INTEGER, Decl), 
 						Map.entry(OBJECT, Decl),
 						Map.entry(BEGIN, Call));
-				symbol.getInstructionManager().registerParseInstruct(new ParseOrExit(firstSet));
+				instructions.add(new ParseOrExit(firstSet));
 				break;
 			case Call:
-				tokens = new LinkedList<>(Arrays.asList(BEGIN, ID, LPAREN));
-				symbol.getInstructionManager().registerParseInstruct(new ValidateTokensOrExit(tokens, false));
-				symbol.getInstructionManager().registerParseInstruct(new UnconditionalParse(Parameters));
-				tokens = new LinkedList<>(Arrays.asList(RPAREN, SEMICOLON));
-				symbol.getInstructionManager().registerParseInstruct(new ValidateTokensOrExit(tokens, true));
+				tokens = List.of(BEGIN, ID, LPAREN);
+				instructions.add(new ValidateTokensOrExit(tokens, false));
+				instructions.add(new UnconditionalParse(Parameters));
+				tokens = List.of(RPAREN, SEMICOLON);
+				instructions.add(new ValidateTokensOrExit(tokens, true));
 				break;
 			case Assign:
-				symbol.getInstructionManager().registerParseInstruct(new ValidateTokenOrExit(ID, false));
-				symbol.getInstructionManager().registerParseInstruct(new DetectInvalidInstructionSet(COLON));
-				symbol.getInstructionManager().registerParseInstruct(new ValidateTokenOrExit(ID, false));
-				symbol.getInstructionManager().registerParseInstruct(new ValidateAssignment());
-				symbol.getInstructionManager().registerParseInstruct(new ValidateTokenOrExit(SEMICOLON, true));
-				symbol.getInstructionManager().registerParseInstruct(new StartNewPossibleInstructionSet());
-				symbol.getInstructionManager().registerParseInstruct(new DetectInvalidInstructionSet(LSQUARE));
-				tokens = new LinkedList<>(Arrays.asList(STRING, RSQUARE, ASSIGN));
-				symbol.getInstructionManager().registerParseInstruct(new ValidateTokensOrExit(tokens, false));
-				symbol.getInstructionManager().registerParseInstruct(new UnconditionalParse(Expr));
-				symbol.getInstructionManager().registerParseInstruct(new ValidateAssignment());
-				symbol.getInstructionManager().registerParseInstruct(new ValidateTokenOrExit(SEMICOLON, true));
-				symbol.getInstructionManager().registerParseInstruct(new StartNewPossibleInstructionSet());
-				symbol.getInstructionManager().registerParseInstruct(new ValidateTokenOrExit(ASSIGN, false));
-				symbol.getInstructionManager().registerParseInstruct(new DetectInvalidInstructionSet(NEW));
-				tokens = new LinkedList<>(Arrays.asList(OBJECT, LPAREN, STRING, COMMA));
-				symbol.getInstructionManager().registerParseInstruct(new ValidateTokensOrExit(tokens, false));
-				symbol.getInstructionManager().registerParseInstruct(new UnconditionalParse(Expr));
-				symbol.getInstructionManager().registerParseInstruct(new ValidateTokenOrExit(RPAREN, false));
-				symbol.getInstructionManager().registerParseInstruct(new ValidateAssignment());
-				symbol.getInstructionManager().registerParseInstruct(new ValidateTokenOrExit(SEMICOLON, true));
-				symbol.getInstructionManager().registerParseInstruct(new StartNewPossibleInstructionSet());
-				symbol.getInstructionManager().registerParseInstruct(new UnconditionalParse(Expr));
-				symbol.getInstructionManager().registerParseInstruct(new ValidateTokenOrExit(SEMICOLON, true));
+				instructions.add(new ValidateTokenOrExit(ID, false));
+				instructions.add(new DetectInvalidInstructionSet(COLON));
+				instructions.add(new ValidateTokenOrExit(ID, false));
+				instructions.add(new ValidateAssignment());
+				instructions.add(new ValidateTokenOrExit(SEMICOLON, true));
+				instructions.add(new StartNewPossibleInstructionSet());
+				instructions.add(new DetectInvalidInstructionSet(LSQUARE));
+				tokens = List.of(STRING, RSQUARE, ASSIGN);
+				instructions.add(new ValidateTokensOrExit(tokens, false));
+				instructions.add(new UnconditionalParse(Expr));
+				instructions.add(new ValidateAssignment());
+				instructions.add(new ValidateTokenOrExit(SEMICOLON, true));
+				instructions.add(new StartNewPossibleInstructionSet());
+				instructions.add(new ValidateTokenOrExit(ASSIGN, false));
+				instructions.add(new DetectInvalidInstructionSet(NEW));
+				tokens = List.of(OBJECT, LPAREN, STRING, COMMA);
+				instructions.add(new ValidateTokensOrExit(tokens, false));
+				instructions.add(new UnconditionalParse(Expr));
+				instructions.add(new ValidateTokenOrExit(RPAREN, false));
+				instructions.add(new ValidateAssignment());
+				instructions.add(new ValidateTokenOrExit(SEMICOLON, true));
+				instructions.add(new StartNewPossibleInstructionSet());
+				instructions.add(new UnconditionalParse(Expr));
+				instructions.add(new ValidateTokenOrExit(SEMICOLON, true));
 				break;
 			case Print:
-				tokens = new LinkedList<>(Arrays.asList(PRINT, LPAREN));
-				symbol.getInstructionManager().registerParseInstruct(new ValidateTokensOrExit(tokens, false));
-				symbol.getInstructionManager().registerParseInstruct(new UnconditionalParse(Expr));
-				tokens = new LinkedList<>(Arrays.asList(RPAREN, SEMICOLON));
-				symbol.getInstructionManager().registerParseInstruct(new ValidateTokensOrExit(tokens, true));
+				tokens = List.of(PRINT, LPAREN);
+				instructions.add(new ValidateTokensOrExit(tokens, false));
+				instructions.add(new UnconditionalParse(Expr));
+				tokens = List.of(RPAREN, SEMICOLON);
+				instructions.add(new ValidateTokensOrExit(tokens, true));
 				break;
 			case Read:
-				tokens = new LinkedList<>(Arrays.asList(READ, LPAREN, ID, RPAREN, SEMICOLON));
-				symbol.getInstructionManager().registerParseInstruct(new ValidateTokensOrExit(tokens, true));
+				tokens = List.of(READ, LPAREN, ID, RPAREN, SEMICOLON);
+				instructions.add(new ValidateTokensOrExit(tokens, true));
 				break;
 			case If:
-				symbol.getInstructionManager().registerParseInstruct(new ValidateTokenOrExit(IF, false));
-				symbol.getInstructionManager().registerParseInstruct(new UnconditionalParse(Cond));
-				symbol.getInstructionManager().registerParseInstruct(new ValidateTokenOrExit(THEN, false));
-				symbol.getInstructionManager().registerParseInstruct(new UnconditionalParse(StmtSeq));
-				symbol.getInstructionManager().registerParseInstruct(new CheckIfEndReached(END, false));
-				symbol.getInstructionManager().registerParseInstruct(new ValidateTokenOrExit(ELSE, false));
-				symbol.getInstructionManager().registerParseInstruct(new UnconditionalParse(StmtSeq));
-				symbol.getInstructionManager().registerParseInstruct(new ValidateTokenOrExit(END, true));
+				instructions.add(new ValidateTokenOrExit(IF, false));
+				instructions.add(new UnconditionalParse(Cond));
+				instructions.add(new ValidateTokenOrExit(THEN, false));
+				instructions.add(new UnconditionalParse(StmtSeq));
+				instructions.add(new CheckIfEndReached(END, false));
+				instructions.add(new ValidateTokenOrExit(ELSE, false));
+				instructions.add(new UnconditionalParse(StmtSeq));
+				instructions.add(new ValidateTokenOrExit(END, true));
 				break;
 			case Loop:
-				tokens = new LinkedList<>(Arrays.asList(FOR, LPAREN, ID, ASSIGN));
-				symbol.getInstructionManager().registerParseInstruct(new ValidateTokensOrExit(tokens, false));
-				symbol.getInstructionManager().registerParseInstruct(new UnconditionalParse(Expr));
-				symbol.getInstructionManager().registerParseInstruct(new ValidateTokenOrExit(SEMICOLON, false));
-				symbol.getInstructionManager().registerParseInstruct(new UnconditionalParse(Cond));
-				symbol.getInstructionManager().registerParseInstruct(new ValidateTokenOrExit(SEMICOLON, false));
-				symbol.getInstructionManager().registerParseInstruct(new UnconditionalParse(Expr));
-				tokens = new LinkedList<>(Arrays.asList(RPAREN, DO));
-				symbol.getInstructionManager().registerParseInstruct(new ValidateTokensOrExit(tokens, false));
-				symbol.getInstructionManager().registerParseInstruct(new UnconditionalParse(StmtSeq));
-				symbol.getInstructionManager().registerParseInstruct(new ValidateTokenOrExit(END, true));
+				tokens = List.of(FOR, LPAREN, ID, ASSIGN);
+				instructions.add(new ValidateTokensOrExit(tokens, false));
+				instructions.add(new UnconditionalParse(Expr));
+				instructions.add(new ValidateTokenOrExit(SEMICOLON, false));
+				instructions.add(new UnconditionalParse(Cond));
+				instructions.add(new ValidateTokenOrExit(SEMICOLON, false));
+				instructions.add(new UnconditionalParse(Expr));
+				tokens = List.of(RPAREN, DO);
+				instructions.add(new ValidateTokensOrExit(tokens, false));
+				instructions.add(new UnconditionalParse(StmtSeq));
+				instructions.add(new ValidateTokenOrExit(END, true));
 				break;
 			case Cond:
 				firstSet = Map.ofEntries(Map.entry(OR, Cmpr), Map.entry(AND, Cmpr), 
 						Map.entry(NOT,Terminal), Map.entry(LSQUARE, Terminal));
-				symbol.getInstructionManager().registerParseInstruct(new ConsumeLeadingTerminals(firstSet));
-				symbol.getInstructionManager().registerParseInstruct(new UnconditionalParse(Cmpr));
-				symbol.getInstructionManager().registerParseInstruct(new ParseIfStartTokenValid(firstSet));
-				symbol.getInstructionManager().registerParseInstruct(new ConsumeTrailingTerminals(RSQUARE, "["));
+				instructions.add(new ConsumeLeadingTerminals(firstSet));
+				instructions.add(new UnconditionalParse(Cmpr));
+				instructions.add(new ParseIfStartTokenValid(firstSet));
+				instructions.add(new ConsumeTrailingTerminals(RSQUARE, "["));
 				break;
 			case Cmpr:
 				firstSet = Map.ofEntries(Map.entry(EQUAL, Expr), Map.entry(LESS, Expr));
-				symbol.getInstructionManager().registerParseInstruct(new UnconditionalParse(Expr));
-				symbol.getInstructionManager().registerParseInstruct(new ParseOrExit(firstSet));
+				instructions.add(new UnconditionalParse(Expr));
+				instructions.add(new ParseOrExit(firstSet));
 				break;
 			case Expr:
 				firstSet = Map.ofEntries(Map.entry(ADD, Term), Map.entry(SUBTRACT, Term));
-				symbol.getInstructionManager().registerParseInstruct(new UnconditionalParse(Term));
-				symbol.getInstructionManager().registerParseInstruct(new ParseIfStartTokenValid(firstSet));
+				instructions.add(new UnconditionalParse(Term));
+				instructions.add(new ParseIfStartTokenValid(firstSet));
 				break;
 			case Term:
 				firstSet = Map.ofEntries(Map.entry(MULTIPLY, Factor), Map.entry(DIVIDE, Factor));
-				symbol.getInstructionManager().registerParseInstruct(new UnconditionalParse(Factor));
-				symbol.getInstructionManager().registerParseInstruct(new ParseIfStartTokenValid(firstSet));
+				instructions.add(new UnconditionalParse(Factor));
+				instructions.add(new ParseIfStartTokenValid(firstSet));
 				break;
 			case Factor:
-				symbol.getInstructionManager().registerParseInstruct(new CheckIfEndReached(CONST, false));
-				symbol.getInstructionManager().registerParseInstruct(new DetectInvalidInstructionSet(LPAREN));
-				symbol.getInstructionManager().registerParseInstruct(new UnconditionalParse(Expr));
-				symbol.getInstructionManager().registerParseInstruct(new ValidateTokenOrExit(RPAREN, true));
-				symbol.getInstructionManager().registerParseInstruct(new StartNewPossibleInstructionSet());
-				symbol.getInstructionManager().registerParseInstruct(new ValidateTokenOrExit(ID, false));
-				symbol.getInstructionManager().registerParseInstruct(new DetectInvalidInstructionSet(LSQUARE));
-				symbol.getInstructionManager().registerParseInstruct(new ValidateVarType(OBJECT));
-				symbol.getInstructionManager().registerParseInstruct(new ValidateTokenOrExit(STRING, false));
-				symbol.getInstructionManager().registerParseInstruct(new ValidateTokenOrExit(RSQUARE, true));
+				instructions.add(new CheckIfEndReached(CONST, false));
+				instructions.add(new DetectInvalidInstructionSet(LPAREN));
+				instructions.add(new UnconditionalParse(Expr));
+				instructions.add(new ValidateTokenOrExit(RPAREN, true));
+				instructions.add(new StartNewPossibleInstructionSet());
+				instructions.add(new ValidateTokenOrExit(ID, false));
+				instructions.add(new DetectInvalidInstructionSet(LSQUARE));
+				instructions.add(new ValidateVarType(OBJECT));
+				instructions.add(new ValidateTokenOrExit(STRING, false));
+				instructions.add(new ValidateTokenOrExit(RSQUARE, true));
 				break;
 			default:
 				ErrorHandler.handleError("ERROR: Cannot build Symbol's parse instruction set "
 						+ "because its type is invalid.");
 				break;
 		}
+		
+		return instructions;
 	}
 }
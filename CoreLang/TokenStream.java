@@ -0,0 +1,173 @@
+package CoreLang;
+
+import static CoreLang.Core.*;
+import java.util.Arrays;
+import java.util.Map;
+
+/* This class stores every token of a file in a
+ * single packed int array instead of one
+ * CoreToken object per token.
+ * Each token takes up four ints: its kind (the
+ * ordinal of its Core token), where its value
+ * starts in the source buffer, the length of
+ * its value, and a payload. The payload is the
+ * NameTable ID of an ID or STRING token and the
+ * value of a CONST token.
+ * NOTE: an invalid token is stored as an ERROR
+ * token and ends the stream. Its error message is
+ * only reported once the scanner reaches it, so
+ * errors are reported in the same order as when
+ * the file is tokenized one token at a time. */
+public class TokenStream{
+	private static final int FIELDS = 4;
+	private static final int KIND = 0;
+	private static final int START = 1;
+	private static final int LENGTH = 2;
+	private static final int PAYLOAD = 3;
+	private static final Core[] KINDS = Core.values();
+	private static final String[] SYMBOL_TEXT = new String[KINDS.length];
+
+	// Precompute the string representation of every symbol token
+	static {
+		for(Map.Entry<Core, Character> entry : CoreCollections.getSymbolsMap().entrySet()) {
+			SYMBOL_TEXT[entry.getKey().ordinal()] = String.valueOf(entry.getValue());
+		}
+		SYMBOL_TEXT[EQUAL.ordinal()] = "==";
+	}
+
+	private final SourceBuffer buffer;
+	private final boolean internNames;
+	private int[] tokens;
+	private int size;
+	private String errorMessage;
+
+	// Constructor
+	public TokenStream(SourceBuffer buffer){
+		this(buffer, true);
+	}
+
+	/* Overloaded constructor that can leave the names
+	 * uninterned (their payload is -1 until the tokens
+	 * are appended to a stream that interns them).
+	 * NOTE: the NameTable isn't thread-safe, so streams
+	 * built on worker threads must not intern names. */
+	public TokenStream(SourceBuffer buffer, boolean internNames){
+		this.buffer = buffer;
+		this.internNames = internNames;
+		this.tokens = new int[FIELDS * 1024];
+		this.size = 0;
+	}
+
+	/* Tokenizes a whole buffer with the DfaTokenizer and
+	 * returns the stream of its tokens. */
+	public static TokenStream build(SourceBuffer buffer) {
+		TokenStream stream = new TokenStream(buffer);
+		DfaTokenizer tokenizer = new DfaTokenizer(buffer);
+		Core token;
+
+		// Store tokens until the end of the file or the first invalid token
+		do {
+			token = tokenizer.scan();
+			stream.add(token, tokenizer);
+		} while(!token.equals(EOS) && !token.equals(ERROR));
+
+		return stream;
+	}
+
+	// Appends the current token of a DfaTokenizer to the stream
+	public void add(Core token, DfaTokenizer tokenizer) {
+		int payload = -1;
+
+		// Pre-parse constants and keep the error message of an invalid token
+		if(token.equals(CONST)) {
+			payload = tokenizer.getConstValue();
+		}
+		else if(token.equals(ERROR)) {
+			this.errorMessage = tokenizer.getErrorMessage();
+		}
+		this.add(token, tokenizer.getTokenStart(), tokenizer.getTokenLength(), payload);
+	}
+
+	/* Appends the tokens of another stream, starting at a given
+	 * index, to this stream. */
+	public void append(TokenStream other, int from) {
+		for(int i = from; i < other.size; i++) {
+			this.add(other.getKind(i), other.getStart(i), other.getLength(i), other.getPayload(i));
+		}
+
+		// Keep the error message if the other stream ends with an invalid token
+		if(other.size > from && other.getKind(other.size - 1).equals(ERROR)) {
+			this.errorMessage = other.errorMessage;
+		}
+	}
+
+	/* Appends a token to the stream.
+	 * Names are interned here if the stream interns them. */
+	private void add(Core token, int start, int length, int payload) {
+
+		// Intern names
+		if(this.internNames && (token.equals(ID) || token.equals(STRING))) {
+			payload = NameTable.intern(this.buffer.getChars(), start, length);
+		}
+
+		// Grow the array if it is full
+		if(this.size * FIELDS == this.tokens.length) {
+			this.tokens = Arrays.copyOf(this.tokens, this.tokens.length * 2);
+		}
+		int index = this.size * FIELDS;
+		this.tokens[index + KIND] = token.ordinal();
+		this.tokens[index + START] = start;
+		this.tokens[index + LENGTH] = length;
+		this.tokens[index + PAYLOAD] = payload;
+		this.size++;
+	}
+
+	// Returns the number of tokens in the stream
+	public int size() {
+		return this.size;
+	}
+
+	// Returns the kind of the token at a given index
+	public Core getKind(int index) {
+		return KINDS[this.tokens[index * FIELDS + KIND]];
+	}
+
+	// Returns where the value of the token at a given index starts
+	public int getStart(int index) {
+		return this.tokens[index * FIELDS + START];
+	}
+
+	// Returns the length of the value of the token at a given index
+	public int getLength(int index) {
+		return this.tokens[index * FIELDS + LENGTH];
+	}
+
+	/* Returns the payload of the token at a given index
+	 * (a NameTable ID or the value of a CONST). */
+	public int getPayload(int index) {
+		return this.tokens[index * FIELDS + PAYLOAD];
+	}
+
+	/* Returns the string representation of the value of the
+	 * token at a given index.
+	 * Names and symbols are shared, so this only builds a
+	 * new String for CONST and keyword tokens. */
+	public String getText(int index) {
+		Core kind = this.getKind(index);
+
+		// Look up the text of names and symbols instead of building it
+		if(kind.equals(ID) || kind.equals(STRING)) {
+			return NameTable.getName(this.getPayload(index));
+		}
+		else if(SYMBOL_TEXT[kind.ordinal()] != null) {
+			return SYMBOL_TEXT[kind.ordinal()];
+		}
+		return new String(this.buffer.getChars(), this.getStart(index), this.getLength(index));
+	}
+
+	/* Returns the error message of the ERROR token
+	 * that ends the stream, if there is one. */
+	public String getErrorMessage() {
+		return this.errorMessage;
+	}
+}
@@ -3,15 +3,30 @@ package CoreLang;
 /* This class creates the tokens for the
  * CoreScanner as well as the string
  * representations of the value of the 
- * tokens. */
-public class Tokenizer {
+ * tokens.
+ * NOTE: this is the reference lexer engine.
+ * The DfaTokenizer must produce exactly the
+ * same tokens. */
+public class Tokenizer implements CoreLexer{
 	private FileReaderHelper reader;
+	private CoreToken currToken;
 	
 	// Constructor
 	Tokenizer(FileReaderHelper reader){
 		this.reader = reader;
 	}
 	
+	@Override
+	public Core nextToken() {
+		this.currToken = this.getCoreToken();
+		return this.currToken.getToken();
+	}
+	
+	@Override
+	public String getTokenText() {
+		return this.currToken.getStrRep().toString();
+	}
+	
 	/* Builds and returns a CoreToken. 
 	 * Will return null token if unable
 	 * to read from the file supplied. */
@@ -0,0 +1,56 @@
+package CoreLang;
+
+import static CoreLang.Core.*;
+import CoreLang.Symbol.SymbolType;
+
+/* This class adds the nodes that both parsers
+ * build straight to the AstArena of the tree,
+ * so no Symbol is made for a node while it is
+ * parsed. Adding a terminal node also makes the
+ * semantic checks that are made for its token. */
+public final class TreeBuilder{
+
+	// Private constructor to prevent instantiation
+	private TreeBuilder() {}
+
+	// Adds a non-terminal node of a given type as the last child of a node and returns it
+	public static int addNonTerminal(AstArena arena, int parent, SymbolType type) {
+		int child = arena.addNonTerminal(type);
+		arena.appendChild(parent, child);
+		return child;
+	}
+
+	/* Adds the current token of the scanner as the last child
+	 * of a node (symbols and keywords are stored as their
+	 * token alone). */
+	public static void addTerminal(AstArena arena, int parent, CoreScanner scanner) {
+		Core token = scanner.currentToken();
+		if(token.equals(ID)) {
+			int nameId = scanner.getNameId();
+			arena.appendChild(parent, arena.addTerminal(ID, nameId));
+			SemanticChecker.IDTokenSemanticCheck(nameId, arena, parent);
+		}
+		else if(token.equals(STRING)) {
+
+			// Intern the value with its quotes, which is how keys are looked up
+			String value = NameTable.getName(scanner.getNameId());
+			arena.appendChild(parent, arena.addTerminal(STRING, NameTable.intern("\'" + value + "\'")));
+		}
+		else if(token.equals(CONST)) {
+			arena.appendChild(parent, arena.addTerminal(CONST, scanner.getConst()));
+		}
+		else if(!token.equals(EOS)) {
+
+			// Check if we're exiting a scope
+			if(token.equals(END)) {
+				SemanticChecker.leaveScope();
+			}
+			arena.appendChild(parent, arena.addTerminal(token, -1));
+		}
+	}
+
+	// Returns the name of the type of a node, which parse errors are reported with
+	public static String getName(AstArena arena, int node) {
+		return arena.getType(node).toString().toLowerCase();
+	}
+}
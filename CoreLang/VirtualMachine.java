@@ -0,0 +1,334 @@
+package CoreLang;
+
+import static CoreLang.BytecodeProgram.*;
+import static CoreLang.Core.OBJECT;
+import java.util.Arrays;
+import CoreLang.CoreVar.ObjectVar;
+
+/* This class runs a BytecodeProgram.
+ * Each frame keeps its variables in arrays of
+ * slots, so no variable is looked up by name
+ * while the program runs. Integer variables are
+ * plain ints in an int array, and objects are
+ * the same CoreVar objects the tree uses, so they
+ * are reported to the GarbageCollector in the
+ * same way, and the objects the frames point to
+ * are the roots of the GarbageCollector while the
+ * program runs. The strings of the program are
+ * interned once when the program starts, so
+ * object keys are looked up by ID. */
+public final class VirtualMachine implements GarbageCollector.RootSet{
+	private final BytecodeProgram program;
+	private final NumericInputReader input;
+	private final int[] keys;
+	private final CoreVar[] globals;
+	private final int[] globalInts;
+	private int[] stack;
+	private int top;
+	private CoreVar[][] frames;
+	private CoreVar[] currentFrame;
+	private int[][] intFrames;
+	private int[] returnAddresses;
+	private int depth;
+
+	// Constructor
+	public VirtualMachine(BytecodeProgram program, NumericInputReader input){
+		this.program = program;
+		this.input = input;
+		this.keys = new int[program.getStringCount()];
+		for(int i = 0; i < this.keys.length; i++) {
+			this.keys[i] = NameTable.intern(program.getString(i));
+		}
+		this.globals = new CoreVar[program.getGlobalSlots()];
+		this.globalInts = new int[program.getGlobalSlots()];
+		this.stack = new int[64];
+		this.top = 0;
+		this.frames = new CoreVar[16][];
+		this.intFrames = new int[16][];
+		this.returnAddresses = new int[16];
+		this.depth = 0;
+	}
+
+	// Runs a program with the values of a given input
+	public static void run(BytecodeProgram program, NumericInputReader input) {
+		new VirtualMachine(program, input).execute();
+	}
+
+	// Runs the program until it halts
+	private void execute() {
+		int[] code = this.program.getCode();
+		CoreVar[] vars = new CoreVar[this.program.getMainSlots()];
+		int[] ints = new int[this.program.getMainSlots()];
+		int pc = 0;
+		this.currentFrame = vars;
+		GarbageCollector.setRoots(this);
+
+		// Dispatch one instruction at a time
+		while(true) {
+			int opcode = code[pc++];
+			switch(opcode) {
+				case CONST:
+					this.push(code[pc++]);
+					break;
+				case LOAD_INT:
+					this.push(this.getInt(ints, code[pc++]));
+					break;
+				case LOAD_DEFAULT: {
+					CoreVar var = this.var(vars, code[pc++]);
+					this.push(var.getValue(var.getDefaultKey()));
+					break;
+				}
+				case LOAD_KEY: {
+					CoreVar var = this.var(vars, code[pc++]);
+					int key = this.keys[code[pc++]];
+
+					// Check if key exists
+					if(!var.keyExists(key)) {
+						ErrorHandler.handleError("ERROR: key " + NameTable.getName(key) +
+								" for object " + var.getIdentifier() + " does not exist.");
+					}
+					this.push(var.getValue(key));
+					break;
+				}
+				case ADD:
+					this.stack[this.top - 2] = this.stack[this.top - 1] + this.stack[this.top - 2];
+					this.top--;
+					break;
+				case SUBTRACT:
+					this.stack[this.top - 2] = this.stack[this.top - 1] - this.stack[this.top - 2];
+					this.top--;
+					break;
+				case MULTIPLY:
+					this.stack[this.top - 2] = this.stack[this.top - 1] * this.stack[this.top - 2];
+					this.top--;
+					break;
+				case DIVIDE:
+					this.stack[this.top - 2] = this.stack[this.top - 1] / this.stack[this.top - 2];
+					this.top--;
+					break;
+				case CHECK_DIVISOR:
+
+					// Report a divide by zero error
+					if(this.stack[this.top - 1] == 0) {
+						ErrorHandler.handleError("ERROR: Cannot divide by zero.");
+					}
+					break;
+				case EQUAL:
+					this.stack[this.top - 2] = this.stack[this.top - 2] == this.stack[this.top - 1] ? 1 : 0;
+					this.top--;
+					break;
+				case LESS:
+					this.stack[this.top - 2] = this.stack[this.top - 2] < this.stack[this.top - 1] ? 1 : 0;
+					this.top--;
+					break;
+				case NOT:
+					this.stack[this.top - 1] ^= 1;
+					break;
+				case DUP:
+					this.push(this.stack[this.top - 1]);
+					break;
+				case POP:
+					this.top--;
+					break;
+				case JUMP:
+					pc = code[pc];
+					break;
+				case JUMP_IF_TRUE:
+					pc = this.stack[--this.top] != 0 ? code[pc] : pc + 1;
+					break;
+				case JUMP_IF_FALSE:
+					pc = this.stack[--this.top] == 0 ? code[pc] : pc + 1;
+					break;
+				case DECL_INT:
+					this.setInt(ints, code[pc], 0);
+					pc += 2;
+					break;
+				case DECL_OBJ:
+					this.setVar(vars, code[pc], new ObjectVar(this.keys[code[pc + 1]]));
+					pc += 2;
+					break;
+				case STORE_INT:
+					this.setInt(ints, code[pc++], this.stack[--this.top]);
+					break;
+				case STORE_DEFAULT: {
+					CoreVar var = this.var(vars, code[pc++]);
+					var.updateVar(var.getDefaultKey(), this.stack[--this.top], false);
+					break;
+				}
+				case STORE_KEY:
+					this.var(vars, code[pc]).updateVar(this.keys[code[pc + 1]], this.stack[--this.top], false);
+					pc += 2;
+					break;
+				case NEW_OBJECT:
+					this.var(vars, code[pc]).updateVar(this.keys[code[pc + 1]], this.stack[--this.top], true);
+					pc += 2;
+					break;
+				case CHECK_REF: {
+					CoreVar var = this.var(vars, code[pc++]);
+
+					/* Check if reference is null
+					 * before making a key assignment. */
+					if(var.refIsNull()) {
+						ErrorHandler.handleError("ERROR: Cannot make a key assignment to object " +
+								var.getIdentifier() + " because it has a null reference value.");
+					}
+					break;
+				}
+				case ALIAS:
+					this.var(vars, code[pc]).alias(this.var(vars, code[pc + 1]));
+					pc += 2;
+					break;
+				case PRINT:
+					OutputWriter.printValue(this.stack[--this.top]);
+					break;
+				case READ:
+
+					// Check if end of file has been reached
+					if(!this.input.hasNext()) {
+						ErrorHandler.handleError("ERROR: Couldn't read value into " + this.program.getString(code[pc + 1]));
+					}
+					this.push(this.input.next());
+					pc += 2;
+					break;
+				case EXIT_SCOPE:
+					this.exitScope(vars, this.program.getScope(code[pc++]));
+					break;
+				case CALL: {
+					int function = code[pc];
+					int numArgs = code[pc + 1];
+					CoreVar[] frame = this.newFrame(function);
+
+					// Copy the values of passed in arguments into formal parameters
+					for(int i = 0; i < numArgs; i++) {
+						frame[i].alias(this.var(vars, code[pc + 2 + i]));
+					}
+
+					// Push the caller's frame and enter the function
+					this.pushFrame(vars, ints, pc + 2 + numArgs);
+					GarbageCollector.enterFrame();
+					vars = frame;
+					this.currentFrame = vars;
+					ints = new int[frame.length];
+					pc = this.program.getFunctionEntry(function);
+					break;
+				}
+				case RETURN:
+					this.depth--;
+					vars = this.frames[this.depth];
+					this.currentFrame = vars;
+					ints = this.intFrames[this.depth];
+					pc = this.returnAddresses[this.depth];
+					this.frames[this.depth] = null;
+					this.intFrames[this.depth] = null;
+					GarbageCollector.exitFrame();
+					break;
+				case HALT:
+					return;
+				default:
+					ErrorHandler.handleError("ERROR: Invalid opcode " + opcode + ".");
+					break;
+			}
+		}
+	}
+
+	// Returns the value of an integer variable in a slot of the current frame or the global scope
+	private int getInt(int[] ints, int slot) {
+		return slot >= 0 ? ints[slot] : this.globalInts[-1 - slot];
+	}
+
+	// Sets the value of an integer variable in a slot of the current frame or the global scope
+	private void setInt(int[] ints, int slot, int value) {
+		if(slot >= 0) {
+			ints[slot] = value;
+		} else {
+			this.globalInts[-1 - slot] = value;
+		}
+	}
+
+	// Returns the object variable in a slot of the current frame or the global scope
+	private CoreVar var(CoreVar[] vars, int slot) {
+		return slot >= 0 ? vars[slot] : this.globals[-1 - slot];
+	}
+
+	// Puts an object variable in a slot of the current frame or the global scope
+	private void setVar(CoreVar[] vars, int slot, CoreVar var) {
+		if(slot >= 0) {
+			vars[slot] = var;
+		} else {
+			this.globals[-1 - slot] = var;
+		}
+	}
+
+	/* Updates the references of the variables of a scope
+	 * when leaving it, like Memory.updateReferences, and
+	 * clears their slots (integer slots hold no object). */
+	private void exitScope(CoreVar[] vars, int[] slots) {
+		for(int slot : slots) {
+			CoreVar currVar = this.var(vars, slot);
+
+			// Check if the variable is an object variable
+			if(currVar != null && currVar.getVarType().equals(OBJECT) && currVar.getRefCount() > 0) {
+				currVar.updateRefCount(false);
+			}
+			this.setVar(vars, slot, null);
+		}
+	}
+
+	// Creates the frame of a function with its formal parameters
+	private CoreVar[] newFrame(int function) {
+		CoreVar[] frame = new CoreVar[this.program.getFunctionSlots(function)];
+		int[] params = this.program.getFunctionParams(function);
+		for(int i = 0; i < params.length; i++) {
+			frame[i] = new ObjectVar(this.keys[params[i]]);
+		}
+		return frame;
+	}
+
+	// Saves the frame of a caller and where it continues
+	private void pushFrame(CoreVar[] vars, int[] ints, int returnAddress) {
+
+		// Grow the call stack if it is full
+		if(this.depth == this.frames.length) {
+			this.frames = Arrays.copyOf(this.frames, this.depth * 2);
+			this.intFrames = Arrays.copyOf(this.intFrames, this.depth * 2);
+			this.returnAddresses = Arrays.copyOf(this.returnAddresses, this.depth * 2);
+		}
+		this.frames[this.depth] = vars;
+		this.intFrames[this.depth] = ints;
+		this.returnAddresses[this.depth] = returnAddress;
+		this.depth++;
+	}
+
+	/* Marks the objects of the global variables and of the
+	 * variables of every frame for the GarbageCollector. */
+	@Override
+	public void markRoots() {
+		this.markGlobals();
+		for(int i = 0; i < this.depth; i++) {
+			for(CoreVar var : this.frames[i]) {
+				GarbageCollector.mark(var);
+			}
+		}
+		for(CoreVar var : this.currentFrame) {
+			GarbageCollector.mark(var);
+		}
+	}
+
+	// Marks the objects of the global variables for the GarbageCollector
+	@Override
+	public void markGlobals() {
+		for(CoreVar var : this.globals) {
+			GarbageCollector.mark(var);
+		}
+	}
+
+	// Pushes a value onto the operand stack
+	private void push(int value) {
+
+		// Grow the stack if it is full
+		if(this.top == this.stack.length) {
+			this.stack = Arrays.copyOf(this.stack, this.top * 2);
+		}
+		this.stack[this.top++] = value;
+	}
+}
@@ -0,0 +1,55 @@
+package CoreLang;
+
+import static CoreLang.Symbol.SymbolType.*;
+import java.lang.management.ManagementFactory;
+
+/* This class measures how much memory running a
+ * Core program on the tree allocates.
+ * It prepares the program the same way Main does,
+ * runs it, and prints the number of bytes the
+ * thread that ran the program allocated while it
+ * ran to standard error (the program's own output
+ * still goes to standard output).
+ * check_loop_allocations.sh runs a program whose
+ * loop count is read from its input twice, with N
+ * and with 2N runs of the loop, to check that a run
+ * of the loop body allocates nothing.
+ * NOTE: the output and the gc lines of a program
+ * are stored in the ring buffer of the OutputWriter
+ * and written by its own thread, so they don't count
+ * towards the bytes of the thread that runs it. */
+public final class AllocationCheck{
+
+	// Private constructor to prevent instantiation
+	private AllocationCheck() {}
+
+	public static void main(String[] args) {
+		RunOptions.parse(args);
+		NumericInputReader reader = new NumericInputReader(args[1]);
+
+		// Parse, check, resolve, and specialize the program like Main does
+		Symbol root = SymbolFactory.createSymbol(Procedure);
+		if(RunOptions.getParser().equals("instructions")) {
+			root.parse(new CoreScanner(args[0]));
+		} else {
+			RecursiveDescentParser.parse(root, new CoreScanner(args[0]));
+		}
+		root.getArena().finish();
+		SemanticChecker.checkForErrors();
+		Resolver.resolve(root);
+		Specializer.specialize(root);
+		Specializer.checkSpecialized(root);
+		CallStack.addFrame(new Frame(root.getArena().getSlot(root.getNode())));
+
+		// Run the program and count the bytes its thread allocates
+		com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+		long before = threads.getCurrentThreadAllocatedBytes();
+		root.execute(reader);
+		long allocated = threads.getCurrentThreadAllocatedBytes() - before;
+		CallStack.removeFrame();
+
+		// Report the bytes once the output of the program is written
+		OutputWriter.flush();
+		System.err.println(allocated);
+	}
+}
@@ -0,0 +1,30 @@
+package CoreLang;
+
+/* This class times the garbage collector while a
+ * Core program runs.
+ * It runs the program the same way Main does, with
+ * the frame sweeps and collections of the garbage
+ * collector timed, and prints the number of objects
+ * the program allocated per second and the pause
+ * times of the collector to standard error (the
+ * program's own output still goes to standard output).
+ * Usage: GcPauseCheck PROGRAM INPUT [options]
+ * gc_pauses.sh runs it on the deep recursion and the
+ * loop allocation programs in Checks/Programs.
+ * NOTE: the time of the run includes parsing and
+ * preparing the program, which is small next to
+ * running these programs. */
+public final class GcPauseCheck{
+
+	// Private constructor to prevent instantiation
+	private GcPauseCheck() {}
+
+	public static void main(String[] args) {
+		GarbageCollector.timePauses();
+
+		// Run the program like Main does and report once its output is written
+		long start = System.nanoTime();
+		Main.main(args);
+		GarbageCollector.reportPauses(System.nanoTime() - start);
+	}
+}
@@ -0,0 +1,74 @@
+package CoreLang;
+
+import java.lang.ref.Reference;
+import java.util.TreeMap;
+
+/* This class measures how many bytes of heap a key
+ * of a Core object takes.
+ * It fills OBJECTS objects with KEYS keys each, once
+ * as ObjectStores (what objects are stored in now)
+ * and once as TreeMaps from the key strings to boxed
+ * values (what objects used to be stored in), and
+ * prints the heap each set of objects keeps alive
+ * divided by the number of keys.
+ * Usage: KeyMemoryCheck OBJECTS KEYS
+ * key_memory.sh runs it along with the KeyHeavy
+ * program in Checks/Programs.
+ * NOTE: the key strings are shared by every object,
+ * like the keys of a program are, so they aren't
+ * counted. */
+public final class KeyMemoryCheck{
+
+	// Private constructor to prevent instantiation
+	private KeyMemoryCheck() {}
+
+	public static void main(String[] args) {
+		int numObjects = Integer.parseInt(args[0]);
+		int numKeys = Integer.parseInt(args[1]);
+		String[] names = new String[numKeys];
+		int[] ids = new int[numKeys];
+		for(int key = 0; key < numKeys; key++) {
+			names[key] = "'k" + key + "'";
+			ids[key] = NameTable.intern(names[key]);
+		}
+
+		// Fill the objects as ObjectStores
+		long before = usedHeap();
+		ObjectStore[] stores = new ObjectStore[numObjects];
+		for(int i = 0; i < numObjects; i++) {
+			stores[i] = new ObjectStore();
+			for(int key = 0; key < numKeys; key++) {
+				stores[i].put(ids[key], i + key + 1000);
+			}
+		}
+		long storeBytes = usedHeap() - before;
+
+		// Keep the objects alive until the heap was measured
+		Reference.reachabilityFence(stores);
+		System.out.println("ObjectStore: " + storeBytes / ((long) numObjects * numKeys) + " bytes per key");
+		stores = null;
+
+		// Fill the same objects as TreeMaps
+		before = usedHeap();
+		@SuppressWarnings("unchecked")
+		TreeMap<String, Integer>[] maps = new TreeMap[numObjects];
+		for(int i = 0; i < numObjects; i++) {
+			maps[i] = new TreeMap<>();
+			for(int key = 0; key < numKeys; key++) {
+				maps[i].put(names[key], i + key + 1000);
+			}
+		}
+		long mapBytes = usedHeap() - before;
+		Reference.reachabilityFence(maps);
+		System.out.println("TreeMap: " + mapBytes / ((long) numObjects * numKeys) + " bytes per key");
+	}
+
+	// Returns the bytes of heap in use once the garbage is collected
+	private static long usedHeap() {
+		Runtime runtime = Runtime.getRuntime();
+		for(int i = 0; i < 3; i++) {
+			System.gc();
+		}
+		return runtime.totalMemory() - runtime.freeMemory();
+	}
+}
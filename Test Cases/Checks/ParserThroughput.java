@@ -0,0 +1,58 @@
+package CoreLang;
+
+import static CoreLang.Core.*;
+import static CoreLang.Symbol.SymbolType.*;
+
+/* This class times how long it takes to tokenize a
+ * Core program, or to tokenize and parse it with the
+ * chosen parser, and prints the number of tokens of
+ * the program and the nanoseconds it took.
+ * Usage: ParserThroughput PROGRAM lex|parse [options]
+ * parser_throughput.sh runs it several times with
+ * each parser and reports the tokens per second.
+ * NOTE: the program is only parsed once per run,
+ * since the semantic checker keeps the scopes and
+ * procedures of the program it checked, so the time
+ * includes the JIT warming up, just like a run of
+ * the interpreter does. */
+public final class ParserThroughput{
+
+	// Private constructor to prevent instantiation
+	private ParserThroughput() {}
+
+	public static void main(String[] args) {
+		RunOptions.parse(args);
+		int tokens = 0;
+		long start = System.nanoTime();
+
+		// Tokenize the program
+		CoreScanner scanner = new CoreScanner(args[0]);
+		if(args[1].equals("lex")) {
+			while(!scanner.currentToken().equals(EOS)) {
+				scanner.nextToken();
+				tokens++;
+			}
+			System.out.println(tokens + " " + (System.nanoTime() - start));
+			return;
+		}
+
+		// Tokenize and parse the program
+		Symbol root = SymbolFactory.createSymbol(Procedure);
+		if(RunOptions.getParser().equals("descent")) {
+			RecursiveDescentParser.parse(root, scanner);
+		} else {
+			root.parse(scanner);
+		}
+		AstArena arena = root.getArena();
+		arena.finish();
+		long nanos = System.nanoTime() - start;
+
+		// Every token the parser consumed is a terminal node of the tree
+		for(int node = 0; node < arena.size(); node++) {
+			if(arena.isTerminal(node)) {
+				tokens++;
+			}
+		}
+		System.out.println(tokens + " " + nanos);
+	}
+}
@@ -0,0 +1,120 @@
+package CoreLang;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/* This class writes mutants of Core programs for
+ * fuzz_parsers.sh to parse with both parsers.
+ * A program is split into its tokens, and each
+ * mutant makes one to three random edits to them:
+ * a token is deleted, repeated, swapped with the
+ * next token, or replaced by a keyword, a symbol,
+ * or another token of the program. Most mutants
+ * have syntax or semantic errors, so they check
+ * that both parsers stop at the same token with
+ * the same error.
+ * Usage: ProgramMutator OUTDIR COUNT SEED PROGRAM...
+ * writes COUNT mutants of each program to OUTDIR.
+ * The same seed always writes the same mutants. */
+public final class ProgramMutator{
+	private static final String[] VOCABULARY = {"procedure", "is", "begin", "end", "integer",
+			"object", "if", "then", "else", "for", "do", "print", "read", "new", "not", "or",
+			"and", ";", "(", ")", ",", "=", "==", "<", "+", "-", "*", "/", "[", "]", ":",
+			"'key'", "0", "7"};
+
+	// Private constructor to prevent instantiation
+	private ProgramMutator() {}
+
+	public static void main(String[] args) throws IOException {
+		Path outDir = Paths.get(args[0]);
+		int count = Integer.parseInt(args[1]);
+		Random random = new Random(Long.parseLong(args[2]));
+		Files.createDirectories(outDir);
+
+		// Write the mutants of each program
+		for(int i = 3; i < args.length; i++) {
+			Path program = Paths.get(args[i]);
+			List<String> tokens = split(Files.readString(program));
+			for(int n = 0; n < count; n++) {
+				List<String> mutant = mutate(tokens, random);
+				Files.writeString(outDir.resolve(program.getFileName() + ".mutant" + n), join(mutant));
+			}
+		}
+	}
+
+	// Makes one to three random edits to a copy of the tokens of a program
+	private static List<String> mutate(List<String> tokens, Random random) {
+		List<String> mutant = new ArrayList<>(tokens);
+		int edits = 1 + random.nextInt(3);
+		for(int i = 0; i < edits && mutant.size() > 1; i++) {
+			int index = random.nextInt(mutant.size() - 1);
+			switch(random.nextInt(5)) {
+				case 0:
+					mutant.remove(index);
+					break;
+				case 1:
+					mutant.add(index, mutant.get(index));
+					break;
+				case 2:
+					mutant.set(index, mutant.set(index + 1, mutant.get(index)));
+					break;
+				case 3:
+					mutant.set(index, VOCABULARY[random.nextInt(VOCABULARY.length)]);
+					break;
+				default:
+					mutant.set(index, tokens.get(random.nextInt(tokens.size())));
+					break;
+			}
+		}
+		return mutant;
+	}
+
+	/* Splits the source of a program into tokens: names and
+	 * keywords, constants, strings, "==", and single symbols. */
+	private static List<String> split(String source) {
+		List<String> tokens = new ArrayList<>();
+		int i = 0;
+		while(i < source.length()) {
+			char c = source.charAt(i);
+			int start = i;
+			if(Character.isWhitespace(c)) {
+				i++;
+				continue;
+			}
+			else if(Character.isLetterOrDigit(c)) {
+				while(i < source.length() && Character.isLetterOrDigit(source.charAt(i))) {
+					i++;
+				}
+			}
+			else if(c == '\'') {
+				i = source.indexOf('\'', i + 1) + 1;
+				if(i == 0) {
+					i = source.length();
+				}
+			}
+			else if(source.startsWith("==", i)) {
+				i += 2;
+			} else {
+				i++;
+			}
+			tokens.add(source.substring(start, i));
+		}
+		return tokens;
+	}
+
+	// Joins the tokens of a mutant with a line break after each statement
+	private static String join(List<String> tokens) {
+		StringBuilder source = new StringBuilder();
+		for(String token : tokens) {
+			source.append(token);
+			source.append(token.equals(";") || token.equals("is") || token.equals("then")
+					|| token.equals("else") || token.equals("do") || token.equals("begin") ? "\n" : " ");
+		}
+		return source.toString();
+	}
+}
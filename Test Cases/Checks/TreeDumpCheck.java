@@ -0,0 +1,55 @@
+package CoreLang;
+
+import static CoreLang.Symbol.SymbolType.*;
+
+/* This class prints the parse tree that the chosen
+ * parser builds for a Core program, one node per
+ * line: the name of the type of a non-terminal node
+ * or the text of a terminal node, indented by its
+ * depth in the tree. The semantic errors of the
+ * program are printed after the tree, and a program
+ * with a syntax error only prints its error.
+ * compare_parsers.sh and fuzz_parsers.sh print the
+ * tree of every program with both parsers and
+ * compare them.
+ * NOTE: the program isn't run. */
+public final class TreeDumpCheck{
+
+	// Private constructor to prevent instantiation
+	private TreeDumpCheck() {}
+
+	public static void main(String[] args) {
+		RunOptions.parse(args);
+
+		// Parse the program with the chosen parser
+		Symbol root = SymbolFactory.createSymbol(Procedure);
+		if(RunOptions.getParser().equals("descent")) {
+			RecursiveDescentParser.parse(root, new CoreScanner(args[0]));
+		} else {
+			root.parse(new CoreScanner(args[0]));
+		}
+		AstArena arena = root.getArena();
+		arena.finish();
+
+		// Print the tree and then the semantic errors
+		StringBuilder dump = new StringBuilder();
+		dumpNode(arena, root.getNode(), 0, dump);
+		System.out.print(dump);
+		SemanticChecker.checkForErrors();
+	}
+
+	// Adds a node and the nodes below it to the dump
+	private static void dumpNode(AstArena arena, int node, int depth, StringBuilder dump) {
+		for(int i = 0; i < depth; i++) {
+			dump.append("  ");
+		}
+		if(arena.isTerminal(node)) {
+			dump.append(arena.getText(node)).append('\n');
+			return;
+		}
+		dump.append(arena.getType(node)).append('\n');
+		for(int child = arena.getFirstChild(node); child != -1; child = arena.getNextSibling(child)) {
+			dumpNode(arena, child, depth + 1, dump);
+		}
+	}
+}
@@ -0,0 +1,39 @@
+#!/bin/bash
+# Runs the loop of Checks/Programs/AllocationLoop on the tree with N and
+# with 2N thousand runs of the loop body (N is 20 unless another count
+# is given) and checks that the second run doesn't allocate more memory
+# than the first one, apart from less than a byte per run of the loop.
+# Any single object the loop allocated per run would take 16 bytes or
+# more, so this fails if executing the loop body allocates anything.
+# Usage (from the root of the repository):
+#   bash "Test Cases/Checks/check_loop_allocations.sh" [N] [options]
+# The options are passed on to the runs (like -parser=instructions).
+# Exits with status 1 if the check fails.
+
+cd "$(dirname "$0")/../.." || exit 1
+count=${1:-20}
+shift
+classes=$(mktemp -d)
+trap 'rm -rf "$classes"' EXIT
+
+# Compile the interpreter together with the check
+javac -d "$classes" CoreLang/*.java "Test Cases/Checks/AllocationCheck.java" || exit 1
+
+# Run the loop with both counts and keep the bytes each run allocated
+program="Test Cases/Checks/Programs/AllocationLoop"
+echo "$count" > "$classes/input1"
+echo "$((count * 2))" > "$classes/input2"
+bytes1=$(java -cp "$classes" CoreLang.AllocationCheck "$program" "$classes/input1" "$@" 2>&1 >/dev/null) || exit 1
+bytes2=$(java -cp "$classes" CoreLang.AllocationCheck "$program" "$classes/input2" "$@" 2>&1 >/dev/null) || exit 1
+# Both runs must have reported their bytes (N is read as a CONST, so 2N can't be more than 8191)
+if ! [[ "$bytes1" =~ ^[0-9]+$ && "$bytes2" =~ ^[0-9]+$ ]]; then
+	echo "FAIL: the runs didn't report their bytes: $bytes1 $bytes2"
+	exit 1
+fi
+growth=$((bytes2 - bytes1))
+echo "${count}000 runs: $bytes1 bytes, $((count * 2))000 runs: $bytes2 bytes, difference: $growth bytes"
+if [ "$growth" -ge "$((count * 1000))" ]; then
+	echo "FAIL: the loop allocates memory on every run"
+	exit 1
+fi
+echo "PASS"
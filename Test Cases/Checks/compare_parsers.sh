@@ -0,0 +1,51 @@
+#!/bin/bash
+# Runs every test case and every program in Checks/Errors with both
+# parsers (-parser=instructions and -parser=descent) and compares
+# everything they print, and prints the parse tree each parser builds
+# for the program with TreeDumpCheck and compares the trees, so the
+# two parsers can be checked for the same trees and the same error
+# messages.
+# Usage (from the root of the repository):
+#   bash "Test Cases/Checks/compare_parsers.sh" [more options...]
+# Prints a diff for each program the parsers disagree on and exits
+# with status 1 if there were any.
+
+cd "$(dirname "$0")/../.." || exit 1
+classes=$(mktemp -d)
+trap 'rm -rf "$classes"' EXIT
+
+# Compile the interpreter together with the tree dump
+javac -d "$classes" CoreLang/*.java "Test Cases/Checks/TreeDumpCheck.java" || exit 1
+
+failures=0
+programs=0
+for program in "Test Cases"/Case* "Test Cases/Checks/Errors"/*; do
+
+	# Skip the expected output files
+	case "$program" in
+		*expectedoutput) continue ;;
+	esac
+	programs=$((programs + 1))
+
+	# Compare what running the program prints
+	instructions=$(java -cp "$classes" CoreLang.Main "$program" "Test Cases/input" -parser=instructions "$@" 2>&1)
+	descent=$(java -cp "$classes" CoreLang.Main "$program" "Test Cases/input" -parser=descent "$@" 2>&1)
+	if [ "$instructions" != "$descent" ]; then
+		echo "DIFFERENT OUTPUT: $program"
+		diff <(echo "$instructions") <(echo "$descent")
+		failures=$((failures + 1))
+		continue
+	fi
+
+	# Compare the parse trees
+	instructions=$(java -cp "$classes" CoreLang.TreeDumpCheck "$program" "Test Cases/input" -parser=instructions "$@" 2>&1)
+	descent=$(java -cp "$classes" CoreLang.TreeDumpCheck "$program" "Test Cases/input" -parser=descent "$@" 2>&1)
+	if [ "$instructions" != "$descent" ]; then
+		echo "DIFFERENT TREE: $program"
+		diff <(echo "$instructions") <(echo "$descent")
+		failures=$((failures + 1))
+	fi
+done
+
+echo "$programs programs, $failures different"
+[ "$failures" -eq 0 ]
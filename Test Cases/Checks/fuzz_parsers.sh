@@ -0,0 +1,53 @@
+#!/bin/bash
+# Writes mutants of every test case and every program in Checks/Errors
+# with ProgramMutator (N of each, 10 unless another count is given,
+# from a given seed, 1 by default) and prints the parse tree each of
+# the two parsers builds for every mutant with TreeDumpCheck. The
+# trees and the errors of both parsers must be the same. The mutants
+# are only parsed, so a mutant that would run forever can't hang it.
+# Usage (from the root of the repository):
+#   bash "Test Cases/Checks/fuzz_parsers.sh" [N] [SEED]
+# Prints a diff for each mutant the parsers disagree on, keeps the
+# mutants in Checks/Mutants if there are any such mutants, and exits
+# with status 1.
+
+cd "$(dirname "$0")/../.." || exit 1
+count=${1:-10}
+seed=${2:-1}
+classes=$(mktemp -d)
+trap 'rm -rf "$classes"' EXIT
+
+# Compile the interpreter together with the tree dump and the mutator
+javac -d "$classes" CoreLang/*.java "Test Cases/Checks/TreeDumpCheck.java" \
+	"Test Cases/Checks/ProgramMutator.java" || exit 1
+
+# Write the mutants
+programs=()
+for program in "Test Cases"/Case* "Test Cases/Checks/Errors"/*; do
+	case "$program" in
+		*expectedoutput) ;;
+		*) programs+=("$program") ;;
+	esac
+done
+java -cp "$classes" CoreLang.ProgramMutator "$classes/mutants" "$count" "$seed" "${programs[@]}" || exit 1
+
+failures=0
+mutants=0
+for mutant in "$classes/mutants"/*; do
+	mutants=$((mutants + 1))
+	instructions=$(timeout 20 java -cp "$classes" CoreLang.TreeDumpCheck "$mutant" "Test Cases/input" -parser=instructions 2>&1)
+	descent=$(timeout 20 java -cp "$classes" CoreLang.TreeDumpCheck "$mutant" "Test Cases/input" -parser=descent 2>&1)
+	if [ "$instructions" != "$descent" ]; then
+		echo "DIFFERENT: $(basename "$mutant")"
+		diff <(echo "$instructions") <(echo "$descent") | head -20
+		failures=$((failures + 1))
+	fi
+done
+
+# Keep the mutants the parsers disagreed on
+if [ "$failures" -ne 0 ]; then
+	rm -rf "Test Cases/Checks/Mutants"
+	cp -r "$classes/mutants" "Test Cases/Checks/Mutants"
+fi
+echo "$mutants mutants (seed $seed), $failures different"
+[ "$failures" -eq 0 ]
@@ -0,0 +1,36 @@
+#!/bin/bash
+# Runs Checks/Programs/DeepRecursion (N hundred calls of a recursion 100
+# calls deep, with two new objects per call) and Checks/Programs/LoopAllocation
+# (N thousand runs of a loop with two new objects per run) with GcPauseCheck
+# (N is 30 unless another count is given), and prints how many objects
+# each program allocated per second and the number, total time, and
+# longest time of the frame sweeps and the collections of the garbage
+# collector.
+# Usage (from the root of the repository):
+#   bash "Test Cases/Checks/gc_pauses.sh" [N] [options]
+# The options are passed on to the runs (like -backend=vm or -heap=N).
+# The gc lines are only counted (-gc=summary), so printing them doesn't
+# slow the programs down.
+
+cd "$(dirname "$0")/../.." || exit 1
+count=${1:-30}
+shift
+classes=$(mktemp -d)
+trap 'rm -rf "$classes"' EXIT
+
+# Compile the interpreter together with the check
+javac -d "$classes" CoreLang/*.java "Test Cases/Checks/GcPauseCheck.java" || exit 1
+
+echo "$count" > "$classes/input"
+for program in DeepRecursion LoopAllocation; do
+	echo "$program ($count):"
+	java -cp "$classes" CoreLang.GcPauseCheck "Test Cases/Checks/Programs/$program" "$classes/input" \
+		-gc=summary "$@" > "$classes/output" 2> "$classes/report"
+
+	# A program that stopped with an error (like the heap limit) prints no report
+	if [ -s "$classes/report" ]; then
+		sed 's/^/  /' "$classes/report"
+	else
+		echo "  FAIL: $(grep -m1 ERROR "$classes/output")"
+	fi
+done
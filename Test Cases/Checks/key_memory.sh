@@ -0,0 +1,36 @@
+#!/bin/bash
+# Runs Checks/Programs/KeyHeavy, which stores 2000 keys in an object and
+# reads 1000 of them back N times (200 unless another count is given),
+# on the tree and on the VM, and prints the median time of R runs (3
+# unless another count is given) of each. Then prints how many bytes of
+# heap a key takes in 200 objects of 2000 keys each with KeyMemoryCheck,
+# for the ObjectStore objects are stored in and for the TreeMap they
+# used to be stored in.
+# Usage (from the root of the repository):
+#   bash "Test Cases/Checks/key_memory.sh" [N] [R]
+
+cd "$(dirname "$0")/../.." || exit 1
+count=${1:-200}
+runs=${2:-3}
+classes=$(mktemp -d)
+trap 'rm -rf "$classes"' EXIT
+
+# Compile the interpreter together with the check
+javac -d "$classes" CoreLang/*.java "Test Cases/Checks/KeyMemoryCheck.java" || exit 1
+
+# Time the program on each backend
+echo "$count" > "$classes/input"
+for backend in tree vm; do
+	times=()
+	for ((run = 0; run < runs; run++)); do
+		start=$(date +%s%N)
+		java -cp "$classes" CoreLang.Main "Test Cases/Checks/Programs/KeyHeavy" "$classes/input" \
+			-backend=$backend > /dev/null || exit 1
+		times+=("$((($(date +%s%N) - start) / 1000000))")
+	done
+	median=$(printf '%s\n' "${times[@]}" | sort -n | sed -n "$(((runs + 1) / 2))p")
+	echo "KeyHeavy ($count) on the $backend: ${median}ms"
+done
+
+# Measure the bytes per key
+java -cp "$classes" CoreLang.KeyMemoryCheck 200 2000
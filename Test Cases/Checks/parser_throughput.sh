@@ -0,0 +1,74 @@
+#!/bin/bash
+# Writes a large Core program (N blocks of statements, 2000 unless
+# another count is given) and times how fast ParserThroughput can
+# tokenize it, and tokenize and parse it with each of the two parsers
+# (-parser=instructions and -parser=descent). Each one is run R times
+# (5 unless another count is given) and the median tokens per second
+# of the runs is printed.
+# Usage (from the root of the repository):
+#   bash "Test Cases/Checks/parser_throughput.sh" [N] [R]
+# Every run is a new JVM, so the times include the JIT warming up,
+# just like a run of the interpreter does.
+
+cd "$(dirname "$0")/../.." || exit 1
+blocks=${1:-2000}
+runs=${2:-5}
+classes=$(mktemp -d)
+trap 'rm -rf "$classes"' EXIT
+
+# Compile the interpreter together with the timer
+javac -d "$classes" CoreLang/*.java "Test Cases/Checks/ParserThroughput.java" || exit 1
+
+# Write the program: a function and N blocks that use every kind of statement
+program="$classes/Throughput"
+{
+	echo "procedure Throughput is"
+	echo "	procedure f(object p, q) is"
+	echo "		p['k'] = q + 1;"
+	echo "	end"
+	echo "	integer x;"
+	echo "	object o;"
+	echo "begin"
+	echo "	x = 0;"
+	echo "	o = new object('k', 0);"
+	for ((i = 0; i < blocks; i++)); do
+		echo "	integer y$i;"
+		echo "	y$i = (x + $((i % 100))) * 2 - x / 3;"
+		echo "	if [y$i < 10 and not [x == 3]] then"
+		echo "		x = x + 1;"
+		echo "	else"
+		echo "		x = 0;"
+		echo "	end"
+		echo "	for (y$i = 0; y$i < 2; y$i + 1) do"
+		echo "		o['k'] = o['k'] + y$i;"
+		echo "	end"
+		echo "	o : o;"
+		echo "	begin f(o, o);"
+		echo "	print(x);"
+		echo "	read(y$i);"
+	done
+	echo "end"
+} > "$program"
+
+# Prints the median tokens per second of the runs of one mode
+median() {
+	local rates=()
+	local tokens nanos
+	for ((run = 0; run < runs; run++)); do
+		read -r tokens nanos < <(java -cp "$classes" CoreLang.ParserThroughput "$program" "$@")
+		if ! [[ "$tokens" =~ ^[0-9]+$ && "$nanos" =~ ^[0-9]+$ ]]; then
+			echo "FAIL: the run didn't report its tokens and time" >&2
+			exit 1
+		fi
+		rates+=("$((tokens * 1000000000 / nanos)) $tokens")
+	done
+	printf '%s\n' "${rates[@]}" | sort -n | sed -n "$(((runs + 1) / 2))p"
+}
+
+read -r rate tokens < <(median lex) || exit 1
+echo "$tokens tokens, median of $runs runs"
+echo "lex:                  $rate tokens/s"
+read -r rate tokens < <(median parse -parser=instructions) || exit 1
+echo "parse (instructions): $rate tokens/s"
+read -r rate tokens < <(median parse -parser=descent) || exit 1
+echo "parse (descent):      $rate tokens/s"